@@ -0,0 +1,69 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.adapters.memory.InMemoryWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.AllocateOrdersUseCase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation throughput of {@link AllocateOrdersUseCase}, in batches per second; multiply by
+ * {@code lines} for order lines per second. Each store orders four lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllocationBenchmark {
+
+  @Param({"1000", "100000"})
+  int lines;
+
+  @Param({"200"})
+  int warehouseCount;
+
+  private AllocateOrdersUseCase useCase;
+  private List<OrderLine> batch;
+
+  @Setup
+  public void setUp() {
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    for (int i = 0; i < warehouseCount; i++) {
+      var warehouse = Fixtures.warehouse(i);
+      // enough stock that most lines fit in one warehouse, not enough for the whole batch
+      warehouse.stock = lines / 10 + 20;
+      store.create(warehouse);
+    }
+    useCase =
+        new AllocateOrdersUseCase(store, orderLines -> Map.of(), ValidationRejectionListener.NONE);
+
+    Random random = new Random(42);
+    batch = new ArrayList<>(lines);
+    for (int i = 0; i < lines; i++) {
+      batch.add(new OrderLine((long) random.nextInt(500), 1 + random.nextInt(20), (long) i / 4));
+    }
+  }
+
+  @Benchmark
+  public AllocationResult allocateBatch() {
+    return useCase.allocate(batch);
+  }
+}
@@ -0,0 +1,28 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON to {@code target/jmh-result.json}, unless
+ * the command line chooses another result format or file. All other JMH options pass through.
+ */
+public final class BenchmarkMain {
+
+  static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+  private BenchmarkMain() {}
+
+  public static void main(String[] args) throws Exception {
+    List<String> options = new ArrayList<>(Arrays.asList(args));
+    if (!options.contains("-rf")) {
+      options.addAll(List.of("-rf", "json"));
+    }
+    if (!options.contains("-rff")) {
+      options.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+    }
+    Main.main(options.toArray(String[]::new));
+  }
+}
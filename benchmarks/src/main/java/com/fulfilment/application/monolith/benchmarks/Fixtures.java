@@ -0,0 +1,48 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.adapters.memory.InMemoryWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Synthetic warehouses spread over the predefined locations. */
+final class Fixtures {
+
+  static final List<String> LOCATIONS =
+      List.of(
+          "ZWOLLE-001",
+          "ZWOLLE-002",
+          "AMSTERDAM-001",
+          "AMSTERDAM-002",
+          "TILBURG-001",
+          "HELMOND-001",
+          "EINDHOVEN-001",
+          "VETSBY-001");
+
+  private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private Fixtures() {}
+
+  static Warehouse warehouse(int i) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code(i);
+    warehouse.location = LOCATIONS.get(i % LOCATIONS.size());
+    // every location allows at least 40
+    warehouse.capacity = 10 + i % 31;
+    warehouse.stock = i % 10;
+    warehouse.createdAt = EPOCH.plusMinutes(i);
+    return warehouse;
+  }
+
+  static String code(int i) {
+    return "MWH." + i;
+  }
+
+  static InMemoryWarehouseStore store(int size) {
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    for (int i = 0; i < size; i++) {
+      store.create(warehouse(i));
+    }
+    return store;
+  }
+}
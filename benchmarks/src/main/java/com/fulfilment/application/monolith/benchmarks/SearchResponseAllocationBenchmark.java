@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseApiMapper;
+import com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseRowsResponse;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseRowPage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A search page from result columns to JSON: through entities, domain models and API beans
+ * ({@code mapped}), and written straight from a {@link WarehouseRowPage} ({@code direct}). Run
+ * with {@code -prof gc}; {@code gc.alloc.rate.norm} is the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResponseAllocationBenchmark {
+
+  @Param({"10", "100"})
+  int pageSize;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  // the server writes into a buffer it reuses, so the output does not count here
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+  // the columns a result set hands out
+  private String[] codes;
+  private String[] locations;
+  private Integer[] capacities;
+  private Integer[] stocks;
+  private LocalDateTime[] createdAts;
+
+  @Setup
+  public void setUp() {
+    codes = new String[pageSize];
+    locations = new String[pageSize];
+    capacities = new Integer[pageSize];
+    stocks = new Integer[pageSize];
+    createdAts = new LocalDateTime[pageSize];
+    for (int i = 0; i < pageSize; i++) {
+      Warehouse warehouse = Fixtures.warehouse(i);
+      codes[i] = warehouse.businessUnitCode;
+      locations[i] = warehouse.location;
+      capacities[i] = warehouse.capacity;
+      stocks[i] = warehouse.stock;
+      createdAts[i] = warehouse.createdAt;
+    }
+  }
+
+  /** The repository, use case and resource steps of the mapped search, as they run there. */
+  @Benchmark
+  public int mapped() throws IOException {
+    List<DbWarehouse> entities = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      DbWarehouse entity = new DbWarehouse();
+      entity.id = (long) i;
+      entity.version = 0L;
+      entity.businessUnitCode = codes[i];
+      entity.location = locations[i];
+      entity.capacity = capacities[i];
+      entity.stock = stocks[i];
+      entity.createdAt = createdAts[i];
+      entities.add(entity);
+    }
+    SearchWarehouseResult result =
+        new SearchWarehouseResult(
+            entities.stream().map(DbWarehouse::toWarehouse).toList(), 10_000, 0, pageSize);
+    List<com.warehouse.api.beans.Warehouse> page =
+        result.getWarehouses().stream().map(WarehouseApiMapper::toResponse).toList();
+    return write(
+        WarehouseApiMapper.toSearchResponse(
+            page, result.getTotalCount(), result.getPage(), result.getPageSize()));
+  }
+
+  @Benchmark
+  public int direct() throws IOException {
+    WarehouseRowPage rows = new WarehouseRowPage(pageSize, 10_000);
+    for (int i = 0; i < pageSize; i++) {
+      rows.add(codes[i], locations[i], capacities[i], true, stocks[i], true);
+    }
+    return write(new WarehouseRowsResponse(rows, 0, pageSize));
+  }
+
+  private int write(Object response) throws IOException {
+    out.reset();
+    objectMapper.writeValue(out, response);
+    return out.size();
+  }
+}
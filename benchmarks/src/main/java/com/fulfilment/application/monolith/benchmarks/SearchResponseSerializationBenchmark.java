@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseApiMapper;
+import com.warehouse.api.beans.SearchWarehouseResponse;
+import com.warehouse.api.beans.Warehouse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** JSON serialization of a {@link SearchWarehouseResponse} page, as the search endpoint does. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResponseSerializationBenchmark {
+
+  @Param({"10", "100"})
+  int pageSize;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SearchWarehouseResponse response;
+
+  @Setup
+  public void setUp() {
+    List<Warehouse> page = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      page.add(WarehouseApiMapper.toResponse(Fixtures.warehouse(i)));
+    }
+    response = WarehouseApiMapper.toSearchResponse(page, 10_000, 0, pageSize);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+}
@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.restapi.WarehouseApiMapper;
+import com.warehouse.api.beans.Warehouse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The read path mapping chain: {@code DbWarehouse} to domain warehouse to API bean. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseMappingBenchmark {
+
+  @Param({"1", "100"})
+  int rows;
+
+  private List<DbWarehouse> entities;
+
+  @Setup
+  public void setUp() {
+    entities = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      DbWarehouse entity = new DbWarehouse();
+      entity.id = (long) i;
+      entity.version = 0L;
+      entity.businessUnitCode = Fixtures.code(i);
+      entity.location = Fixtures.LOCATIONS.get(i % Fixtures.LOCATIONS.size());
+      entity.capacity = 40;
+      entity.stock = i % 40;
+      entity.createdAt = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i);
+      entities.add(entity);
+    }
+  }
+
+  @Benchmark
+  public List<Warehouse> mapToApiBeans() {
+    return entities.stream()
+        .map(DbWarehouse::toWarehouse)
+        .map(WarehouseApiMapper::toResponse)
+        .toList();
+  }
+}
@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.adapters.memory.InMemoryWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.SearchWarehouseUseCase;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** The warehouse use cases against an in-memory store, with the real location gateway. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseUseCaseBenchmark {
+
+  @Param({"1000", "100000"})
+  int warehouses;
+
+  private InMemoryWarehouseStore store;
+  private CreateWarehouseUseCase create;
+  private ReplaceWarehouseUseCase replace;
+  private ArchiveWarehouseUseCase archive;
+  private SearchWarehouseUseCase search;
+  private int next;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    store = Fixtures.store(warehouses);
+    LocationGateway locations = new LocationGateway();
+    create = new CreateWarehouseUseCase(store, locations, ValidationRejectionListener.NONE);
+    replace = new ReplaceWarehouseUseCase(store, locations, ValidationRejectionListener.NONE);
+    archive = new ArchiveWarehouseUseCase(store, ValidationRejectionListener.NONE);
+    search = new SearchWarehouseUseCase(store);
+    next = 0;
+  }
+
+  @Benchmark
+  public int createWarehouse() {
+    create.create(Fixtures.warehouse(warehouses + next++));
+    return store.size();
+  }
+
+  @Benchmark
+  public void replaceWarehouse() {
+    Warehouse replacement = Fixtures.warehouse(next++ % warehouses);
+    replacement.capacity = 40 - next % 10;
+    replace.replace(replacement);
+  }
+
+  /** Archives a warehouse and restores it through the store, so the data set never runs out. */
+  @Benchmark
+  public void archiveWarehouse() {
+    Warehouse warehouse = Fixtures.warehouse(next++ % warehouses);
+    archive.archive(warehouse);
+    store.update(warehouse);
+  }
+
+  @Benchmark
+  public SearchWarehouseResult searchByLocationSortedByCapacity() {
+    String location = Fixtures.LOCATIONS.get(next++ % Fixtures.LOCATIONS.size());
+    return search.search(new SearchWarehouseQuery(location, 20, null, "capacity", "desc", 0, 10));
+  }
+}
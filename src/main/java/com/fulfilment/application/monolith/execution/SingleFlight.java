@@ -0,0 +1,69 @@
+package com.fulfilment.application.monolith.execution;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load and callers that
+ * arrive while it is in flight wait for its result, or its exception, instead of loading again.
+ * A waiter that has not been answered within the timeout runs the load itself. Nothing is kept
+ * once the load completes, so a later call always loads afresh.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final long timeoutNanos;
+  private final Runnable onCoalesced;
+
+  /** {@code onCoalesced} runs for every call answered by another caller's load. */
+  public SingleFlight(Duration timeout, Runnable onCoalesced) {
+    this.timeoutNanos = timeout.toNanos();
+    this.onCoalesced = onCoalesced;
+  }
+
+  public V load(K key, Supplier<V> loader) {
+    CompletableFuture<V> own = new CompletableFuture<>();
+    CompletableFuture<V> leader = inFlight.putIfAbsent(key, own);
+    if (leader == null) {
+      try {
+        V value = loader.get();
+        own.complete(value);
+        return value;
+      } catch (RuntimeException | Error e) {
+        own.completeExceptionally(e);
+        throw e;
+      } finally {
+        inFlight.remove(key, own);
+      }
+    }
+
+    V value;
+    try {
+      value = leader.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      return loader.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a load of " + key, e);
+    } catch (ExecutionException e) {
+      onCoalesced.run();
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw (Error) e.getCause();
+    }
+    onCoalesced.run();
+    return value;
+  }
+
+  /** Loads in flight, for tests. */
+  int inFlight() {
+    return inFlight.size();
+  }
+}
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.execution;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Blocking REST endpoints that run on a virtual thread per request when virtual threads are
+ * enabled; see {@link VirtualThreadDispatcher}.
+ */
+@NameBinding
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface VirtualThreadDispatch {}
@@ -0,0 +1,40 @@
+package com.fulfilment.application.monolith.execution;
+
+import io.quarkus.virtual.threads.VirtualThreads;
+import jakarta.inject.Inject;
+import java.util.concurrent.ExecutorService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveContainerRequestContext;
+
+/**
+ * Hands requests to {@link VirtualThreadDispatch} endpoints from the event loop to a new virtual
+ * thread, where they stay up to the response, instead of to the worker pool. Nothing then bounds
+ * the number of requests in flight but the datasource pool they wait on.
+ *
+ * This is what {@code @RunOnVirtualThread} does, but switched at runtime with {@code
+ * quarkus.virtual-threads.enabled}: Quarkus REST fails the build on the annotation unless the
+ * build runs on JDK 21. On an older JDK the executor falls back to the worker pool.
+ */
+public class VirtualThreadDispatcher {
+
+  @Inject @VirtualThreads ExecutorService virtualThreads;
+
+  @ConfigProperty(name = "quarkus.virtual-threads.enabled")
+  boolean enabled;
+
+  // non-blocking filters run on the event loop ahead of the hand-off to the worker pool, which is
+  // skipped for a request that is already on a thread that may block
+  @VirtualThreadDispatch
+  @ServerRequestFilter(nonBlocking = true)
+  public void dispatch(ResteasyReactiveContainerRequestContext context) {
+    if (!enabled) {
+      return;
+    }
+    ResteasyReactiveRequestContext request =
+        (ResteasyReactiveRequestContext) context.getServerRequestContext();
+    request.suspend();
+    request.resume(virtualThreads);
+  }
+}
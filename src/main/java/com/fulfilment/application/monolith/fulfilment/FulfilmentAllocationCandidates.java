@@ -0,0 +1,37 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationCandidates;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/** Allocation candidates from the fulfilment assignments, read in one query per batch. */
+@ApplicationScoped
+public class FulfilmentAllocationCandidates implements AllocationCandidates {
+
+  @Inject FulfilmentAssignmentRepository assignmentRepository;
+
+  @Override
+  public Map<StoreProduct, List<String>> warehousesFor(Collection<OrderLine> lines) {
+    Set<Long> stores = lines.stream().map(OrderLine::storeId).collect(Collectors.toSet());
+    Map<StoreProduct, List<String>> warehouses = new HashMap<>();
+    if (stores.isEmpty()) {
+      return warehouses;
+    }
+    for (FulfilmentAssignment assignment :
+        assignmentRepository.list("storeId in ?1", new ArrayList<>(stores))) {
+      warehouses
+          .computeIfAbsent(
+              new StoreProduct(assignment.storeId, assignment.productId), key -> new ArrayList<>())
+          .add(assignment.warehouseBusinessUnitCode);
+    }
+    return warehouses;
+  }
+}
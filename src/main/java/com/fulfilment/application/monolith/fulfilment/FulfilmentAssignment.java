@@ -0,0 +1,45 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+
+/** A warehouse fulfilling a product for a store. */
+@Entity
+@Table(
+    name = "fulfilment_assignment",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "fulfilment_assignment_uk",
+            columnNames = {"storeId", "productId", "warehouseBusinessUnitCode"}),
+    indexes =
+        @Index(name = "fulfilment_warehouse_idx", columnList = "warehouseBusinessUnitCode"))
+public class FulfilmentAssignment {
+
+  @Id @GeneratedValue public Long id;
+
+  @Column(nullable = false)
+  public Long storeId;
+
+  @Column(nullable = false)
+  public Long productId;
+
+  @Column(nullable = false)
+  public String warehouseBusinessUnitCode;
+
+  @Column(nullable = false)
+  public Instant createdAt;
+
+  public FulfilmentAssignment() {}
+
+  public FulfilmentAssignment(Long storeId, Long productId, String warehouseBusinessUnitCode) {
+    this.storeId = storeId;
+    this.productId = productId;
+    this.warehouseBusinessUnitCode = warehouseBusinessUnitCode;
+  }
+}
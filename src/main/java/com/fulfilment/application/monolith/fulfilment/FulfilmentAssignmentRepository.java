@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class FulfilmentAssignmentRepository implements PanacheRepository<FulfilmentAssignment> {}
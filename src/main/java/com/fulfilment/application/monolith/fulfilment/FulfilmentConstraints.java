@@ -0,0 +1,164 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * In-memory counters behind the fulfilment limits.
+ *
+ * For every store/product, store and warehouse the counters hold how many distinct warehouses or
+ * products it is associated with, so an assignment is checked and recorded in O(1) instead of with
+ * COUNT queries. Check and increment happen under one lock, so two concurrent assignments can never
+ * both take the last free place. Assignments are counted from the moment they are reserved; a
+ * reservation whose transaction rolls back must be released.
+ *
+ * The counters live in this instance only, so the limits hold per instance: two instances can
+ * each take the last free place. The unique constraint on the assignment table still rejects the
+ * same assignment made twice.
+ */
+@ApplicationScoped
+public class FulfilmentConstraints {
+
+  @ConfigProperty(name = "fulfilment.max-warehouses-per-product-per-store")
+  int maxWarehousesPerProductPerStore;
+
+  @ConfigProperty(name = "fulfilment.max-warehouses-per-store")
+  int maxWarehousesPerStore;
+
+  @ConfigProperty(name = "fulfilment.max-products-per-warehouse")
+  int maxProductsPerWarehouse;
+
+  public record Key(Long storeId, Long productId, String warehouseBusinessUnitCode) {}
+
+  private record StoreProduct(Long storeId, Long productId) {
+    static StoreProduct of(Key key) {
+      return new StoreProduct(key.storeId(), key.productId());
+    }
+  }
+
+  private record StoreWarehouse(Long storeId, String warehouse) {
+    static StoreWarehouse of(Key key) {
+      return new StoreWarehouse(key.storeId(), key.warehouseBusinessUnitCode());
+    }
+  }
+
+  private record WarehouseProduct(String warehouse, Long productId) {
+    static WarehouseProduct of(Key key) {
+      return new WarehouseProduct(key.warehouseBusinessUnitCode(), key.productId());
+    }
+  }
+
+  private final Set<Key> assignments = new HashSet<>();
+  // assignments per pair, so a pair is only counted once towards the distinct totals
+  private final Map<StoreProduct, Integer> warehousesPerStoreProduct = new HashMap<>();
+  private final Map<StoreWarehouse, Integer> assignmentsPerStoreWarehouse = new HashMap<>();
+  private final Map<WarehouseProduct, Integer> assignmentsPerWarehouseProduct = new HashMap<>();
+  private final Map<Long, Integer> warehousesPerStore = new HashMap<>();
+  private final Map<String, Integer> productsPerWarehouse = new HashMap<>();
+
+  public FulfilmentConstraints() {}
+
+  FulfilmentConstraints(
+      int maxWarehousesPerProductPerStore, int maxWarehousesPerStore, int maxProductsPerWarehouse) {
+    this.maxWarehousesPerProductPerStore = maxWarehousesPerProductPerStore;
+    this.maxWarehousesPerStore = maxWarehousesPerStore;
+    this.maxProductsPerWarehouse = maxProductsPerWarehouse;
+  }
+
+  /** Replaces the counters with the given committed assignments, without checking limits. */
+  public synchronized void load(List<Key> committed) {
+    assignments.clear();
+    warehousesPerStoreProduct.clear();
+    assignmentsPerStoreWarehouse.clear();
+    assignmentsPerWarehouseProduct.clear();
+    warehousesPerStore.clear();
+    productsPerWarehouse.clear();
+    committed.forEach(this::add);
+  }
+
+  /** Counts the assignment, or throws 409 if it exists already or would break a limit. */
+  public synchronized void reserve(Key key) {
+    if (assignments.contains(key)) {
+      throw new WebApplicationException(
+          "Warehouse " + key.warehouseBusinessUnitCode() + " already fulfils product "
+              + key.productId() + " for store " + key.storeId() + ".",
+          409);
+    }
+    if (warehousesPerStoreProduct.getOrDefault(StoreProduct.of(key), 0)
+        >= maxWarehousesPerProductPerStore) {
+      throw limit(
+          "Product " + key.productId() + " is already fulfilled by "
+              + maxWarehousesPerProductPerStore + " warehouses for store " + key.storeId() + ".");
+    }
+    StoreWarehouse storeWarehouse = StoreWarehouse.of(key);
+    if (!assignmentsPerStoreWarehouse.containsKey(storeWarehouse)
+        && warehousesPerStore.getOrDefault(key.storeId(), 0) >= maxWarehousesPerStore) {
+      throw limit(
+          "Store " + key.storeId() + " is already fulfilled by " + maxWarehousesPerStore
+              + " warehouses.");
+    }
+    WarehouseProduct warehouseProduct = WarehouseProduct.of(key);
+    if (!assignmentsPerWarehouseProduct.containsKey(warehouseProduct)
+        && productsPerWarehouse.getOrDefault(key.warehouseBusinessUnitCode(), 0)
+            >= maxProductsPerWarehouse) {
+      throw limit(
+          "Warehouse " + key.warehouseBusinessUnitCode() + " already stores "
+              + maxProductsPerWarehouse + " product types.");
+    }
+    add(key);
+  }
+
+  /** Forgets an assignment that was rolled back or removed. */
+  public synchronized void release(Key key) {
+    if (!assignments.remove(key)) {
+      return;
+    }
+    decrement(warehousesPerStoreProduct, StoreProduct.of(key));
+    StoreWarehouse storeWarehouse = StoreWarehouse.of(key);
+    if (decrement(assignmentsPerStoreWarehouse, storeWarehouse)) {
+      decrement(warehousesPerStore, key.storeId());
+    }
+    WarehouseProduct warehouseProduct = WarehouseProduct.of(key);
+    if (decrement(assignmentsPerWarehouseProduct, warehouseProduct)) {
+      decrement(productsPerWarehouse, key.warehouseBusinessUnitCode());
+    }
+  }
+
+  public synchronized int warehousesOfStore(Long storeId) {
+    return warehousesPerStore.getOrDefault(storeId, 0);
+  }
+
+  public synchronized int productsOfWarehouse(String warehouseBusinessUnitCode) {
+    return productsPerWarehouse.getOrDefault(warehouseBusinessUnitCode, 0);
+  }
+
+  private void add(Key key) {
+    if (!assignments.add(key)) {
+      return;
+    }
+    warehousesPerStoreProduct.merge(StoreProduct.of(key), 1, Integer::sum);
+    StoreWarehouse storeWarehouse = StoreWarehouse.of(key);
+    if (assignmentsPerStoreWarehouse.merge(storeWarehouse, 1, Integer::sum) == 1) {
+      warehousesPerStore.merge(key.storeId(), 1, Integer::sum);
+    }
+    WarehouseProduct warehouseProduct = WarehouseProduct.of(key);
+    if (assignmentsPerWarehouseProduct.merge(warehouseProduct, 1, Integer::sum) == 1) {
+      productsPerWarehouse.merge(key.warehouseBusinessUnitCode(), 1, Integer::sum);
+    }
+  }
+
+  /** Decrements a counter, dropping it at zero; returns whether it reached zero. */
+  private static <K> boolean decrement(Map<K, Integer> counters, K key) {
+    return counters.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1) == null;
+  }
+
+  private static WebApplicationException limit(String message) {
+    return new WebApplicationException(message, 409);
+  }
+}
@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+
+/** Which warehouses fulfil which products for which stores. */
+@Path("fulfilment")
+@ApplicationScoped
+@Produces("application/json")
+public class FulfilmentResource {
+
+  @Inject FulfilmentService fulfilmentService;
+
+  public record AssignmentRequest(Long storeId, Long productId, String warehouseBusinessUnitCode) {}
+
+  @GET
+  public List<FulfilmentAssignment> list(
+      @QueryParam("storeId") Long storeId,
+      @QueryParam("productId") Long productId,
+      @QueryParam("warehouse") String warehouse) {
+    return fulfilmentService.list(storeId, productId, warehouse);
+  }
+
+  @POST
+  @Consumes("application/json")
+  public Response assign(AssignmentRequest request) {
+    if (request == null
+        || request.storeId() == null
+        || request.productId() == null
+        || request.warehouseBusinessUnitCode() == null) {
+      throw new WebApplicationException(
+          "Store id, product id and warehouse business unit code must be set on request.", 422);
+    }
+    FulfilmentAssignment assignment =
+        fulfilmentService.assign(
+            request.storeId(), request.productId(), request.warehouseBusinessUnitCode());
+    return Response.ok(assignment).status(201).build();
+  }
+
+  @DELETE
+  @Path("{id}")
+  public Response unassign(Long id) {
+    fulfilmentService.unassign(id);
+    return Response.status(204).build();
+  }
+}
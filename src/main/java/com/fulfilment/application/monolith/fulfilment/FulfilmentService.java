@@ -0,0 +1,173 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import com.fulfilment.application.monolith.products.ProductChangedEvent;
+import com.fulfilment.application.monolith.products.ProductRepository;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.stores.StoreDeletedEvent;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseArchivedEvent;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.jboss.logging.Logger;
+
+/**
+ * Assigns warehouses to fulfil products for stores, within the limits kept by {@link
+ * FulfilmentConstraints}. The counters are loaded from the table at startup and afterwards follow
+ * every assignment and removal, including the ones whose transaction rolls back. Deleting a
+ * product or store, or archiving a warehouse, removes its assignments in the same transaction.
+ */
+@ApplicationScoped
+public class FulfilmentService {
+
+  private static final Logger LOGGER = Logger.getLogger(FulfilmentService.class.getName());
+
+  @Inject FulfilmentAssignmentRepository assignmentRepository;
+
+  @Inject FulfilmentConstraints constraints;
+
+  @Inject ProductRepository productRepository;
+
+  @Inject WarehouseStore warehouseStore;
+
+  @Inject TransactionSynchronizationRegistry transactions;
+
+  void onStart(@Observes StartupEvent event) {
+    List<FulfilmentConstraints.Key> committed =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    assignmentRepository.listAll().stream().map(FulfilmentService::key).toList());
+    constraints.load(committed);
+    LOGGER.info("Loaded " + committed.size() + " fulfilment assignments");
+  }
+
+  @Transactional
+  public FulfilmentAssignment assign(
+      Long storeId, Long productId, String warehouseBusinessUnitCode) {
+    if (Store.findById(storeId) == null) {
+      throw new WebApplicationException("Store with id of " + storeId + " does not exist.", 404);
+    }
+    if (productRepository.findById(productId) == null) {
+      throw new WebApplicationException(
+          "Product with id of " + productId + " does not exist.", 404);
+    }
+    Warehouse warehouse = warehouseStore.findByBusinessUnitCode(warehouseBusinessUnitCode);
+    if (warehouse == null || warehouse.archivedAt != null) {
+      throw new WebApplicationException(
+          "Warehouse " + warehouseBusinessUnitCode + " does not exist or is archived.", 404);
+    }
+
+    FulfilmentAssignment assignment =
+        new FulfilmentAssignment(storeId, productId, warehouseBusinessUnitCode);
+    FulfilmentConstraints.Key key = key(assignment);
+    constraints.reserve(key);
+    afterCompletion(
+        committed -> {
+          if (!committed) {
+            constraints.release(key);
+          }
+        });
+    assignment.createdAt = Instant.now();
+    assignmentRepository.persist(assignment);
+    return assignment;
+  }
+
+  @Transactional
+  public void unassign(Long id) {
+    FulfilmentAssignment assignment = assignmentRepository.findById(id);
+    if (assignment == null) {
+      throw new WebApplicationException(
+          "Fulfilment assignment with id of " + id + " does not exist.", 404);
+    }
+    assignmentRepository.delete(assignment);
+    // the place only frees up once the removal is committed
+    FulfilmentConstraints.Key key = key(assignment);
+    afterCompletion(
+        committed -> {
+          if (committed) {
+            constraints.release(key);
+          }
+        });
+  }
+
+  void onProductChanged(@Observes ProductChangedEvent event) {
+    if (event.type() == ProductChangedEvent.Type.DELETED) {
+      removeAll("productId", event.id());
+    }
+  }
+
+  void onStoreDeleted(@Observes StoreDeletedEvent event) {
+    removeAll("storeId", event.id());
+  }
+
+  void onWarehouseArchived(@Observes WarehouseArchivedEvent event) {
+    removeAll("warehouseBusinessUnitCode", event.businessUnitCode());
+  }
+
+  /** Deletes the assignments matching {@code field}; their places free up on commit. */
+  private void removeAll(String field, Object value) {
+    List<FulfilmentConstraints.Key> keys =
+        assignmentRepository.list(field, value).stream().map(FulfilmentService::key).toList();
+    if (keys.isEmpty()) {
+      return;
+    }
+    assignmentRepository.delete(field, value);
+    afterCompletion(
+        committed -> {
+          if (committed) {
+            keys.forEach(constraints::release);
+          }
+        });
+    LOGGER.info("Removed " + keys.size() + " fulfilment assignments of " + field + " " + value);
+  }
+
+  public List<FulfilmentAssignment> list(Long storeId, Long productId, String warehouse) {
+    StringBuilder query = new StringBuilder("1 = 1");
+    Map<String, Object> parameters = new HashMap<>();
+    if (storeId != null) {
+      query.append(" and storeId = :storeId");
+      parameters.put("storeId", storeId);
+    }
+    if (productId != null) {
+      query.append(" and productId = :productId");
+      parameters.put("productId", productId);
+    }
+    if (warehouse != null) {
+      query.append(" and warehouseBusinessUnitCode = :warehouse");
+      parameters.put("warehouse", warehouse);
+    }
+    return assignmentRepository.list(query + " order by id", parameters);
+  }
+
+  private void afterCompletion(Consumer<Boolean> callback) {
+    transactions.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {}
+
+          @Override
+          public void afterCompletion(int status) {
+            callback.accept(status == Status.STATUS_COMMITTED);
+          }
+        });
+  }
+
+  private static FulfilmentConstraints.Key key(FulfilmentAssignment assignment) {
+    return new FulfilmentConstraints.Key(
+        assignment.storeId, assignment.productId, assignment.warehouseBusinessUnitCode);
+  }
+}
@@ -22,6 +22,11 @@ public class LocationGateway implements LocationResolver {
     locations.add(new Location("VETSBY-001", 1, 90));
   }
 
+  /** All predefined locations, in a fixed order. */
+  public List<Location> locations() {
+    return List.copyOf(locations);
+  }
+
   @Override
   public Location resolveByIdentifier(String identifier) {
     // Simple repository pattern: search through the predefined locations
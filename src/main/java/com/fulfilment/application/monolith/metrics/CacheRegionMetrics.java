@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Per-region second-level cache gauges on top of the hit, miss and put counters that
+ * quarkus.hibernate-orm.metrics already publishes. Hibernate does not count evictions, so they show
+ * up as puts that are no longer reflected in the region size.
+ */
+@Startup
+@ApplicationScoped
+public class CacheRegionMetrics {
+
+  @Inject SessionFactory sessionFactory;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @PostConstruct
+  void register() {
+    Statistics statistics = sessionFactory.getStatistics();
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      Gauge.builder("hibernate.cache.region.size", statistics, s -> size(s, region))
+          .description("Entries currently held in the second-level cache region")
+          .tag("region", region)
+          .register(meterRegistry);
+      Gauge.builder("hibernate.cache.region.hit.ratio", statistics, s -> hitRatio(s, region))
+          .description("Share of second-level cache lookups in the region that were hits")
+          .tag("region", region)
+          .register(meterRegistry);
+    }
+  }
+
+  private static double size(Statistics statistics, String region) {
+    CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+    return stats == null ? 0 : Math.max(0, stats.getElementCountInMemory());
+  }
+
+  private static double hitRatio(Statistics statistics, String region) {
+    CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+    if (stats == null) {
+      return 0;
+    }
+    long lookups = stats.getHitCount() + stats.getMissCount();
+    return lookups == 0 ? 0 : (double) stats.getHitCount() / lookups;
+  }
+}
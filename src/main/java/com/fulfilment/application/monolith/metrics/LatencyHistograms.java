@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import java.util.Set;
+
+/**
+ * Publishes p50, p99 and p99.9 latencies, and a percentile histogram for aggregation across
+ * instances, for the HTTP server, the REST operations and the warehouse store.
+ */
+@Singleton
+public class LatencyHistograms {
+
+  /** Timer of the {@code @Timed} REST resources, tagged with class and method. */
+  public static final String REST_OPERATION = "rest.operation";
+
+  /** Timer of the {@code WarehouseStore} adapters, tagged with class and method. */
+  public static final String WAREHOUSE_STORE = "warehouse.store";
+
+  private static final Set<String> TIMERS =
+      Set.of("http.server.requests", REST_OPERATION, WAREHOUSE_STORE);
+
+  @Produces
+  @Singleton
+  MeterFilter latencyPercentiles() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          Meter.Id id, DistributionStatisticConfig config) {
+        if (!TIMERS.contains(id.getName())) {
+          return config;
+        }
+        return DistributionStatisticConfig.builder()
+            .percentiles(0.5, 0.99, 0.999)
+            .percentilesHistogram(true)
+            .build()
+            .merge(config);
+      }
+    };
+  }
+}
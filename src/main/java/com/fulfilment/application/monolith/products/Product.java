@@ -6,13 +6,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import java.math.BigDecimal;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Cacheable
+@NaturalIdCache
 public class Product {
 
   @Id @GeneratedValue public Long id;
 
+  @NaturalId(mutable = true)
   @Column(length = 40, unique = true)
   public String name;
 
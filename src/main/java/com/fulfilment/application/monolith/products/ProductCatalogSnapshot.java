@@ -0,0 +1,159 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * The product listing, pre-encoded.
+ *
+ * The sorted catalog is serialized once into JSON bytes (and gzipped bytes) with a content ETag, so
+ * serving {@code GET /product} is a byte copy or a 304. A product write invalidates the snapshot
+ * synchronously when its transaction commits and schedules a rebuild on a background thread; a read
+ * that arrives before the rebuild has finished builds the snapshot itself, so a client never sees
+ * the catalog as it was before its own write.
+ */
+@ApplicationScoped
+public class ProductCatalogSnapshot {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductCatalogSnapshot.class.getName());
+
+  @Inject ProductRepository productRepository;
+
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "product.catalog.gzip")
+  boolean gzipEnabled;
+
+  /** Encoded catalog; {@code gzip} is null when gzip is disabled. */
+  public record Snapshot(long generation, String etag, byte[] json, byte[] gzip) {
+
+    /** The ETag of the gzipped bytes, which are a different representation of the same JSON. */
+    public String gzipEtag() {
+      return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+  }
+
+  // bumped on every product write; a snapshot of an older generation is stale
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+  private final ExecutorService rebuilder =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "product-catalog-rebuild");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // not a monitor: building queries the database, which would pin a virtual thread's carrier
+  private final ReentrantLock buildLock = new ReentrantLock();
+  private volatile Snapshot snapshot;
+
+  void onStart(@Observes StartupEvent event) {
+    current();
+  }
+
+  void onProductChanged(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+    invalidate();
+  }
+
+  /** Marks the snapshot stale and rebuilds it in the background. */
+  public void invalidate() {
+    generation.incrementAndGet();
+    // one queued rebuild covers any number of writes that happen before it starts
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      rebuilder.execute(
+          () -> {
+            rebuildScheduled.set(false);
+            try {
+              current();
+            } catch (RuntimeException e) {
+              LOGGER.warn("Product catalog rebuild failed; the next read will retry", e);
+            }
+          });
+    }
+  }
+
+  /** The snapshot of the current catalog, built now if the last one is stale. */
+  public Snapshot current() {
+    Snapshot current = snapshot;
+    if (current != null && current.generation() == generation.get()) {
+      return current;
+    }
+    buildLock.lock();
+    try {
+      current = snapshot;
+      long wanted = generation.get();
+      if (current != null && current.generation() == wanted) {
+        return current;
+      }
+      // writes that commit while building bump the generation, so this snapshot is never reused
+      // for them
+      current = build(wanted);
+      snapshot = current;
+      return current;
+    } finally {
+      buildLock.unlock();
+    }
+  }
+
+  private Snapshot build(long generation) {
+    List<Product> products =
+        QuarkusTransaction.requiringNew().call(() -> productRepository.listAll(Sort.by("name")));
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(products);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+    LOGGER.debug("Built product catalog snapshot of " + products.size() + " products");
+    return new Snapshot(generation, etag(json), json, gzipEnabled ? gzip(json) : null);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    rebuilder.shutdownNow();
+  }
+
+  private static String etag(byte[] json) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+      return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.products;
+
+import java.math.BigDecimal;
+
+/** Fired by {@link ProductResource} inside the transaction that changes a product. */
+public record ProductChangedEvent(
+    Type type, Long id, String name, String description, BigDecimal price, int stock) {
+
+  public enum Type {
+    UPSERTED,
+    DELETED
+  }
+
+  public static ProductChangedEvent upserted(Product product) {
+    return new ProductChangedEvent(
+        Type.UPSERTED, product.id, product.name, product.description, product.price, product.stock);
+  }
+
+  public static ProductChangedEvent deleted(Product product) {
+    return new ProductChangedEvent(
+        Type.DELETED, product.id, product.name, product.description, product.price, product.stock);
+  }
+}
@@ -0,0 +1,301 @@
+package com.fulfilment.application.monolith.products;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Compact index for price and stock range queries.
+ *
+ * Products are kept in parallel primitive arrays sorted by price in cents, so a price band is
+ * found with two binary searches and stock is filtered by a sequential scan of that band. A
+ * histogram of fixed-width price buckets is maintained next to the arrays. The arrays form an
+ * immutable snapshot that readers use without locking. Product writes are staged and merged into a
+ * new snapshot in one sorted pass, when a read needs them or once {@link #MAX_PENDING} have
+ * piled up, so a burst of writes costs one copy rather than one per write. A product's position is
+ * found by binary search on its indexed price.
+ */
+@ApplicationScoped
+public class ProductRangeIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductRangeIndex.class.getName());
+
+  // products without a price sort first and never match a price bound
+  static final long NO_PRICE = -1;
+
+  // staged writes are merged at the latest when this many have piled up
+  static final int MAX_PENDING = 1024;
+
+  @Inject ProductRepository productRepository;
+
+  private final long bucketWidthCents;
+  private final int bucketCount;
+
+  private volatile Snapshot snapshot;
+
+  // guarded by this: price of every product in the snapshot, and writes not yet merged into it
+  private final Map<Long, Long> indexedPrices = new HashMap<>();
+  private final Map<Long, Write> pending = new LinkedHashMap<>();
+  private volatile boolean dirty;
+
+  @Inject
+  public ProductRangeIndex(
+      @ConfigProperty(name = "product.range-index.bucket-width") BigDecimal bucketWidth,
+      @ConfigProperty(name = "product.range-index.buckets") int bucketCount) {
+    this.bucketWidthCents = toCents(bucketWidth);
+    this.bucketCount = bucketCount;
+    if (bucketWidthCents <= 0 || bucketCount <= 0) {
+      throw new IllegalArgumentException("Price histogram bucket width and count must be positive");
+    }
+    this.snapshot = Snapshot.empty(bucketCount);
+  }
+
+  /** A price band of the histogram; {@code to} is null for the open-ended last band. */
+  public record PriceBucket(BigDecimal from, BigDecimal to, int count) {}
+
+  /** Ids of the first {@code limit} matches in price order, and the total number of matches. */
+  public record Matches(List<Long> ids, int count) {}
+
+  /** A staged product write; {@code stock} is ignored for removals. */
+  private record Write(long cents, int stock, boolean removed) {}
+
+  private static final Write REMOVED = new Write(NO_PRICE, 0, true);
+
+  void onStart(@Observes StartupEvent event) {
+    List<Product> products =
+        QuarkusTransaction.requiringNew().call(() -> productRepository.listAll());
+    synchronized (this) {
+      products.forEach(p -> pending.put(p.id, new Write(toCents(p.price), p.stock, false)));
+      merge();
+    }
+    LOGGER.info("Indexed " + products.size() + " products for range queries");
+  }
+
+  void onProductChanged(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+    if (event.type() == ProductChangedEvent.Type.DELETED) {
+      remove(event.id());
+    } else {
+      put(event.id(), event.price(), event.stock());
+    }
+  }
+
+  public synchronized void put(Long id, BigDecimal price, int stock) {
+    stage(id, new Write(toCents(price), stock, false));
+  }
+
+  public synchronized void remove(Long id) {
+    stage(id, REMOVED);
+  }
+
+  private void stage(Long id, Write write) {
+    // re-staged products move to the end, so equal prices keep the order of the last writes
+    pending.remove(id);
+    pending.put(id, write);
+    dirty = true;
+    if (pending.size() >= MAX_PENDING) {
+      merge();
+    }
+  }
+
+  /** The snapshot with every staged write merged in; locks only when there are staged writes. */
+  private Snapshot current() {
+    if (dirty) {
+      synchronized (this) {
+        merge();
+      }
+    }
+    return snapshot;
+  }
+
+  /** Merges the staged writes into a new snapshot in one pass over the current one. */
+  private void merge() {
+    if (pending.isEmpty()) {
+      dirty = false;
+      return;
+    }
+    Snapshot current = snapshot;
+    boolean[] dropped = new boolean[current.size];
+    int droppedCount = 0;
+    List<Map.Entry<Long, Write>> added = new ArrayList<>(pending.size());
+    for (Map.Entry<Long, Write> entry : pending.entrySet()) {
+      Long indexed = indexedPrices.remove(entry.getKey());
+      if (indexed != null) {
+        dropped[current.indexOf(entry.getKey(), indexed)] = true;
+        droppedCount++;
+      }
+      if (!entry.getValue().removed()) {
+        added.add(entry);
+        indexedPrices.put(entry.getKey(), entry.getValue().cents());
+      }
+    }
+
+    // stable, so products written with equal prices keep the order they were written in
+    added.sort(Comparator.comparingLong(entry -> entry.getValue().cents()));
+
+    int n = current.size - droppedCount + added.size();
+    long[] prices = new long[n];
+    int[] stocks = new int[n];
+    long[] ids = new long[n];
+    int[] buckets = new int[n];
+    int[] histogram = current.histogram.clone();
+    int out = 0;
+    int next = 0;
+    for (int i = 0; i <= current.size; i++) {
+      // new entries go after existing entries with the same price
+      long until = i < current.size ? current.prices[i] : Long.MAX_VALUE;
+      while (next < added.size() && added.get(next).getValue().cents() < until) {
+        Write write = added.get(next).getValue();
+        prices[out] = write.cents();
+        stocks[out] = write.stock();
+        ids[out] = added.get(next).getKey();
+        buckets[out] = bucket(write.cents());
+        if (buckets[out] >= 0) {
+          histogram[buckets[out]]++;
+        }
+        out++;
+        next++;
+      }
+      if (i == current.size) {
+        break;
+      }
+      if (dropped[i]) {
+        if (current.buckets[i] >= 0) {
+          histogram[current.buckets[i]]--;
+        }
+        continue;
+      }
+      prices[out] = current.prices[i];
+      stocks[out] = current.stocks[i];
+      ids[out] = current.ids[i];
+      buckets[out] = current.buckets[i];
+      out++;
+    }
+    snapshot = new Snapshot(prices, stocks, ids, buckets, histogram, n);
+    pending.clear();
+    dirty = false;
+  }
+
+  /**
+   * Products priced within [{@code minPrice}, {@code maxPrice}] with at most {@code maxStock} in
+   * stock. Null bounds are open; any price bound excludes products without a price.
+   */
+  public Matches find(BigDecimal minPrice, BigDecimal maxPrice, Integer maxStock, int limit) {
+    Snapshot current = current();
+    int from = 0;
+    int to = current.size;
+    if (minPrice != null || maxPrice != null) {
+      long minCents = minPrice == null ? 0 : Math.max(0, toCents(minPrice));
+      from = current.lowerBound(minCents);
+      to = maxPrice == null ? current.size : current.lowerBound(toCents(maxPrice) + 1);
+    }
+
+    List<Long> ids = new ArrayList<>(Math.min(limit, Math.max(0, to - from)));
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      if (maxStock == null || current.stocks[i] <= maxStock) {
+        if (count < limit) {
+          ids.add(current.ids[i]);
+        }
+        count++;
+      }
+    }
+    return new Matches(ids, count);
+  }
+
+  /** Price histogram buckets that overlap [{@code minPrice}, {@code maxPrice}]. */
+  public List<PriceBucket> histogram(BigDecimal minPrice, BigDecimal maxPrice) {
+    int[] counts = current().histogram;
+    int first = minPrice == null ? 0 : bucket(Math.max(0, toCents(minPrice)));
+    int last = maxPrice == null ? bucketCount - 1 : bucket(toCents(maxPrice));
+    List<PriceBucket> buckets = new ArrayList<>();
+    for (int b = first; b <= last; b++) {
+      BigDecimal lower = BigDecimal.valueOf(b * bucketWidthCents, 2);
+      BigDecimal upper =
+          b == bucketCount - 1 ? null : BigDecimal.valueOf((b + 1) * bucketWidthCents, 2);
+      buckets.add(new PriceBucket(lower, upper, counts[b]));
+    }
+    return buckets;
+  }
+
+  public int size() {
+    return current().size;
+  }
+
+  /** Histogram bucket of a price; products without a price are not counted. */
+  private int bucket(long cents) {
+    if (cents == NO_PRICE) {
+      return -1;
+    }
+    return (int) Math.min(bucketCount - 1, cents / bucketWidthCents);
+  }
+
+  static long toCents(BigDecimal price) {
+    if (price == null) {
+      return NO_PRICE;
+    }
+    return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  private static final class Snapshot {
+    private final long[] prices;
+    private final int[] stocks;
+    private final long[] ids;
+    private final int[] buckets;
+    private final int[] histogram;
+    private final int size;
+
+    private Snapshot(
+        long[] prices, int[] stocks, long[] ids, int[] buckets, int[] histogram, int size) {
+      this.prices = prices;
+      this.stocks = stocks;
+      this.ids = ids;
+      this.buckets = buckets;
+      this.histogram = histogram;
+      this.size = size;
+    }
+
+    static Snapshot empty(int bucketCount) {
+      return new Snapshot(
+          new long[0], new int[0], new long[0], new int[0], new int[bucketCount], 0);
+    }
+
+    /** First position whose price is at least {@code cents}. */
+    int lowerBound(long cents) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (prices[mid] < cents) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /** Position of a product indexed at {@code cents}: a binary search, then its price's run. */
+    int indexOf(long id, long cents) {
+      for (int i = lowerBound(cents); i < size && prices[i] == cents; i++) {
+        if (ids[i] == id) {
+          return i;
+        }
+      }
+      throw new IllegalStateException("Product " + id + " is not indexed at " + cents);
+    }
+  }
+}
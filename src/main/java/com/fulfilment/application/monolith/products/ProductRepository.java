@@ -1,7 +1,47 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fulfilment.application.monolith.replica.ReadRouting;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
 
 @ApplicationScoped
-public class ProductRepository implements PanacheRepository<Product> {}
+public class ProductRepository implements PanacheRepository<Product> {
+
+  @Inject ReadRouting readRouting;
+
+  /**
+   * Loads products in the order of {@code ids}, through the second-level cache, skipping ids that
+   * no longer exist.
+   */
+  public List<Product> findByIds(List<Long> ids) {
+    return readRouting.read(
+        session ->
+            session.byMultipleIds(Product.class).multiLoad(ids).stream()
+                .filter(Objects::nonNull)
+                .toList());
+  }
+
+  /**
+   * Loads products from the database with a write lock held until the transaction ends, skipping
+   * ids that no longer exist.
+   */
+  public List<Product> findByIdsForUpdate(List<Long> ids) {
+    return getSession()
+        .byMultipleIds(Product.class)
+        .with(new LockOptions(LockMode.PESSIMISTIC_WRITE))
+        .multiLoad(ids)
+        .stream()
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  /** The product for display, read where the current request may read; null when there is none. */
+  public Product findForRead(Long id) {
+    return readRouting.read(session -> session.get(Product.class, id));
+  }
+}
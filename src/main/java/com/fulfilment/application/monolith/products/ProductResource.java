@@ -2,19 +2,29 @@ package com.fulfilment.application.monolith.products;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.quarkus.panache.common.Sort;
+import com.fulfilment.application.monolith.execution.VirtualThreadDispatch;
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.replica.ReplicaReads;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 import org.jboss.logging.Logger;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Path("product")
+@Timed(LatencyHistograms.REST_OPERATION)
+@VirtualThreadDispatch
+@ReplicaReads
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
@@ -22,17 +32,91 @@ public class ProductResource {
 
   @Inject ProductRepository productRepository;
 
+  @Inject ProductSearchIndex searchIndex;
+
+  @Inject ProductRangeIndex rangeIndex;
+
+  @Inject ProductCatalogSnapshot catalog;
+
+  @Inject Event<ProductChangedEvent> productChanged;
+
   private static final Logger LOGGER = Logger.getLogger(ProductResource.class.getName());
 
+  /**
+   * The catalog from the pre-encoded snapshot: gzipped when the client accepts it, and a 304 when
+   * the client already has the current version. Each encoding has its own ETag.
+   */
+  @GET
+  public Response catalog(
+      @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+      @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+    ProductCatalogSnapshot.Snapshot snapshot = catalog.current();
+    boolean gzip =
+        snapshot.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+    String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+    if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+      return Response.notModified()
+          .header(HttpHeaders.ETAG, etag)
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+    Response.ResponseBuilder response =
+        Response.ok()
+            .type(MediaType.APPLICATION_JSON_TYPE)
+            .header(HttpHeaders.ETAG, etag)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .header(HttpHeaders.CACHE_CONTROL, "no-cache");
+    if (gzip) {
+      return response.entity(snapshot.gzip()).header(HttpHeaders.CONTENT_ENCODING, "gzip").build();
+    }
+    return response.entity(snapshot.json()).build();
+  }
+
+  /** Ranked full-text search over product names and descriptions, with prefix matching. */
+  @GET
+  @Path("search")
+  public List<Product> search(
+      @QueryParam("q") String query, @QueryParam("limit") @DefaultValue("20") int limit) {
+    if (query == null || query.isBlank()) {
+      throw new WebApplicationException("Search query was not set on request.", 400);
+    }
+    List<Long> ids =
+        searchIndex.search(query, Math.min(100, Math.max(1, limit))).stream()
+            .map(ProductSearchIndex.Hit::id)
+            .toList();
+    return ids.isEmpty() ? List.of() : productRepository.findByIds(ids);
+  }
+
+  /** Products in a price band and/or below a stock level, answered from the range index. */
   @GET
-  public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+  @Path("range")
+  public ProductRangeResult range(
+      @QueryParam("minPrice") BigDecimal minPrice,
+      @QueryParam("maxPrice") BigDecimal maxPrice,
+      @QueryParam("maxStock") Integer maxStock,
+      @QueryParam("limit") @DefaultValue("100") int limit) {
+    if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+      throw new WebApplicationException("minPrice must not be greater than maxPrice.", 400);
+    }
+    ProductRangeIndex.Matches matches =
+        rangeIndex.find(minPrice, maxPrice, maxStock, Math.min(1000, Math.max(1, limit)));
+    List<Product> products =
+        matches.ids().isEmpty() ? List.of() : productRepository.findByIds(matches.ids());
+    return new ProductRangeResult(
+        matches.count(), products, rangeIndex.histogram(minPrice, maxPrice));
   }
 
+  /**
+   * Result of a range query: the total number of matches, the first page of them in price order,
+   * and the price histogram of the requested band (not filtered by stock).
+   */
+  public record ProductRangeResult(
+      int count, List<Product> products, List<ProductRangeIndex.PriceBucket> histogram) {}
+
   @GET
   @Path("{id}")
   public Product getSingle(Long id) {
-    Product entity = productRepository.findById(id);
+    Product entity = productRepository.findForRead(id);
     if (entity == null) {
       throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
     }
@@ -50,6 +134,8 @@ public class ProductResource {
       throw new WebApplicationException("Product with name " + product.name + " already exists.", 409);
     }
     productRepository.persist(product);
+    // the search and range indexes pick this up once the transaction commits
+    productChanged.fire(ProductChangedEvent.upserted(product));
     return Response.ok(product).status(201).build();
   }
 
@@ -73,6 +159,7 @@ public class ProductResource {
     entity.stock = product.stock;
 
     productRepository.persist(entity);
+    productChanged.fire(ProductChangedEvent.upserted(entity));
 
     return entity;
   }
@@ -86,9 +173,20 @@ public class ProductResource {
       throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
     }
     productRepository.delete(entity);
+    productChanged.fire(ProductChangedEvent.deleted(entity));
     return Response.status(204).build();
   }
 
+  private static boolean matches(String ifNoneMatch, String etag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Provider
   public static class ErrorMapper implements ExceptionMapper<Exception> {
 
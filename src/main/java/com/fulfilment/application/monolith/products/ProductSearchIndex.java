@@ -0,0 +1,187 @@
+package com.fulfilment.application.monolith.products;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.jboss.logging.Logger;
+
+/**
+ * In-memory inverted index over product names and descriptions.
+ *
+ * Text is lower-cased, stripped of accents and split on anything that is not a letter or digit.
+ * Every query token must match a term of the product, either exactly or as a prefix; name matches
+ * weigh more than description matches and exact matches more than prefix matches. The index is
+ * built once at startup and then kept current from {@link ProductChangedEvent}s after commit.
+ */
+@ApplicationScoped
+public class ProductSearchIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductSearchIndex.class.getName());
+
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  static final int NAME_WEIGHT = 3;
+  static final int DESCRIPTION_WEIGHT = 1;
+
+  @Inject ProductRepository productRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // term -> product id -> weight of the term in that product
+  private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+  // product id -> its terms, so a product can be removed without scanning the postings
+  private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+  /** A matching product id and its relevance; higher scores rank first. */
+  public record Hit(Long id, double score) {}
+
+  void onStart(@Observes StartupEvent event) {
+    List<Product> products =
+        QuarkusTransaction.requiringNew().call(() -> productRepository.listAll());
+    products.forEach(p -> index(p.id, p.name, p.description));
+    LOGGER.info("Indexed " + products.size() + " products for search");
+  }
+
+  void onProductChanged(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+    if (event.type() == ProductChangedEvent.Type.DELETED) {
+      remove(event.id());
+    } else {
+      index(event.id(), event.name(), event.description());
+    }
+  }
+
+  public void index(Long id, String name, String description) {
+    Map<String, Integer> weights = new HashMap<>();
+    tokenize(description).forEach(t -> weights.merge(t, DESCRIPTION_WEIGHT, Integer::sum));
+    tokenize(name).forEach(t -> weights.merge(t, NAME_WEIGHT, Integer::sum));
+
+    lock.writeLock().lock();
+    try {
+      removeLocked(id);
+      weights.forEach(
+          (term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+      documentTerms.put(id, weights.keySet());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long id) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Products matching every token of {@code query}, best first, at most {@code limit}. */
+  public List<Hit> search(String query, int limit) {
+    List<String> tokens = tokenize(query);
+    if (tokens.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, Double> scores = null;
+    lock.readLock().lock();
+    try {
+      for (String token : tokens) {
+        Map<Long, Double> tokenScores = score(token);
+        if (scores == null) {
+          scores = tokenScores;
+        } else {
+          // all tokens must match: keep only products seen for every token so far
+          Map<Long, Double> matched = scores;
+          scores = new HashMap<>();
+          for (Map.Entry<Long, Double> entry : tokenScores.entrySet()) {
+            Double previous = matched.get(entry.getKey());
+            if (previous != null) {
+              scores.put(entry.getKey(), previous + entry.getValue());
+            }
+          }
+        }
+        if (scores.isEmpty()) {
+          return List.of();
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<Hit> hits = new ArrayList<>(scores.size());
+    scores.forEach((id, score) -> hits.add(new Hit(id, score)));
+    hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+    return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documentTerms.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Best score of {@code token} per product: an exact term match counts full, a prefix half. */
+  private Map<Long, Double> score(String token) {
+    Map<Long, Double> scores = new HashMap<>();
+    for (Map.Entry<String, Map<Long, Integer>> entry :
+        postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+      double factor = entry.getKey().equals(token) ? 1.0 : 0.5;
+      entry.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+    }
+    return scores;
+  }
+
+  private void removeLocked(Long id) {
+    Set<String> terms = documentTerms.remove(id);
+    if (terms == null) {
+      return;
+    }
+    for (String term : terms) {
+      Map<Long, Integer> ids = postings.get(term);
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        postings.remove(term);
+      }
+    }
+  }
+
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+    String folded =
+        COMBINING_MARKS
+            .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+    List<String> tokens = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    for (String token : SEPARATORS.split(folded)) {
+      if (!token.isEmpty() && seen.add(token)) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+}
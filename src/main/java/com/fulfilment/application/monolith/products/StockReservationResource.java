@@ -0,0 +1,52 @@
+package com.fulfilment.application.monolith.products;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+
+/**
+ * Reserve, commit and release product stock for checkout. A reservation holds its quantity until
+ * it is committed, released or its TTL runs out.
+ */
+@Path("reservation")
+@ApplicationScoped
+@Produces("application/json")
+public class StockReservationResource {
+
+  @Inject StockReservations reservations;
+
+  public record ReservationRequest(Long productId, int quantity, Long ttlSeconds) {}
+
+  @POST
+  @Consumes("application/json")
+  public Response reserve(ReservationRequest request) {
+    if (request == null || request.productId() == null) {
+      throw new WebApplicationException("Product id was not set on request.", 422);
+    }
+    Duration ttl = request.ttlSeconds() == null ? null : Duration.ofSeconds(request.ttlSeconds());
+    StockReservations.Reservation reservation =
+        reservations.reserve(request.productId(), request.quantity(), ttl);
+    return Response.ok(reservation).status(201).build();
+  }
+
+  @GET
+  @Path("{id}")
+  public StockReservations.Reservation get(String id) {
+    return reservations.get(id);
+  }
+
+  @POST
+  @Path("{id}/commit")
+  public StockReservations.Reservation commit(String id) {
+    return reservations.commit(id);
+  }
+
+  @DELETE
+  @Path("{id}")
+  public Response release(String id) {
+    reservations.release(id);
+    return Response.status(204).build();
+  }
+}
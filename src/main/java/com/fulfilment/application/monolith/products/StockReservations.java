@@ -0,0 +1,281 @@
+package com.fulfilment.application.monolith.products;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Stock reservations for checkout, held in memory.
+ *
+ * Every product in use has an atomic counter of the stock that can still be reserved. Reserving
+ * takes from it with a compare-and-set loop, releasing or expiring gives back, and committing makes
+ * the deduction permanent. Committed quantities are written to the {@code product} table by a
+ * periodic reconciliation, and a last one on shutdown, which also fold stock changes made through
+ * the product API back into the counters. Reservations that are neither committed nor released expire through a timing
+ * wheel.
+ *
+ * Counters live in this process only: with several instances each one reserves against its own
+ * view of the stock until the next reconciliation.
+ */
+@ApplicationScoped
+public class StockReservations {
+
+  private static final Logger LOGGER = Logger.getLogger(StockReservations.class.getName());
+
+  @Inject ProductRepository productRepository;
+
+  @Inject Event<ProductChangedEvent> productChanged;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @ConfigProperty(name = "product.reservations.default-ttl")
+  Duration defaultTtl;
+
+  @ConfigProperty(name = "product.reservations.max-ttl")
+  Duration maxTtl;
+
+  @ConfigProperty(name = "product.reservations.wheel.tick")
+  Duration tick;
+
+  @ConfigProperty(name = "product.reservations.wheel.size")
+  int wheelSize;
+
+  private final Map<Long, ProductStock> stocks = new ConcurrentHashMap<>();
+  private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+  private TimingWheel<Reservation> expiries;
+  private Counter expired;
+
+  public record Reservation(String id, Long productId, int quantity, Instant expiresAt) {}
+
+  /** Stock that can still be reserved, and the committed quantity not yet written back. */
+  static final class ProductStock {
+    final AtomicInteger available;
+    final AtomicInteger unflushed = new AtomicInteger();
+    // stock in the table as of the last reconciliation; only the reconciler touches it
+    volatile int persisted;
+
+    ProductStock(int stock) {
+      this.available = new AtomicInteger(stock);
+      this.persisted = stock;
+    }
+  }
+
+  @PostConstruct
+  void init() {
+    expiries = new TimingWheel<>(tick, wheelSize, Instant.now());
+    expired =
+        Counter.builder("product.reservations.expired")
+            .description("Stock reservations reclaimed because their TTL ran out")
+            .register(meterRegistry);
+  }
+
+  public Reservation reserve(Long productId, int quantity, Duration ttl) {
+    if (quantity <= 0) {
+      throw new WebApplicationException("Reservation quantity must be positive.", 422);
+    }
+    Duration lifetime = ttl == null ? defaultTtl : ttl;
+    if (lifetime.isNegative() || lifetime.isZero() || lifetime.compareTo(maxTtl) > 0) {
+      throw new WebApplicationException(
+          "Reservation TTL must be positive and at most " + maxTtl.toSeconds() + " seconds.", 422);
+    }
+
+    AtomicInteger available = stockOf(productId).available;
+    int current;
+    do {
+      current = available.get();
+      if (current < quantity) {
+        throw new WebApplicationException(
+            "Only " + current + " of product " + productId + " can be reserved.", 409);
+      }
+    } while (!available.compareAndSet(current, current - quantity));
+
+    Reservation reservation =
+        new Reservation(
+            UUID.randomUUID().toString(), productId, quantity, Instant.now().plus(lifetime));
+    reservations.put(reservation.id(), reservation);
+    expiries.schedule(reservation, reservation.expiresAt());
+    return reservation;
+  }
+
+  /** Makes the reservation permanent; the table is updated on the next reconciliation. */
+  public Reservation commit(String reservationId) {
+    Reservation reservation = take(reservationId);
+    ProductStock stock = stocks.get(reservation.productId());
+    if (stock != null) {
+      stock.unflushed.addAndGet(reservation.quantity());
+    }
+    return reservation;
+  }
+
+  public void release(String reservationId) {
+    giveBack(take(reservationId));
+  }
+
+  public Reservation get(String reservationId) {
+    Reservation reservation = reservations.get(reservationId);
+    if (reservation == null) {
+      throw notFound(reservationId);
+    }
+    return reservation;
+  }
+
+  /** Stock of the product that can still be reserved. */
+  public int available(Long productId) {
+    return stockOf(productId).available.get();
+  }
+
+  @Scheduled(
+      identity = "product-reservation-expiry",
+      every = "${product.reservations.wheel.tick}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void expire() {
+    expire(Instant.now());
+  }
+
+  int expire(Instant now) {
+    return expiries.advance(
+        now,
+        reservation -> {
+          // a committed or released reservation is already gone from the map
+          if (reservations.remove(reservation.id(), reservation)) {
+            giveBack(reservation);
+            expired.increment();
+          }
+        });
+  }
+
+  /**
+   * Writes committed quantities to the {@code product} table and applies stock changes made there
+   * by other writers to the counters. Products that no longer exist stop being tracked.
+   */
+  @Scheduled(
+      identity = "product-reservation-reconcile",
+      every = "${product.reservations.reconcile-interval}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  synchronized void reconcile() {
+    if (stocks.isEmpty()) {
+      return;
+    }
+    Map<Long, Integer> flushed = new HashMap<>();
+    stocks.forEach(
+        (id, stock) -> {
+          int quantity = stock.unflushed.getAndSet(0);
+          if (quantity > 0) {
+            flushed.put(id, quantity);
+          }
+        });
+    try {
+      QuarkusTransaction.requiringNew().run(() -> writeBack(flushed));
+    } catch (RuntimeException e) {
+      // nothing was written; the quantities go out with the next reconciliation
+      flushed.forEach(
+          (id, quantity) -> {
+            ProductStock stock = stocks.get(id);
+            if (stock != null) {
+              stock.unflushed.addAndGet(quantity);
+            }
+          });
+      LOGGER.warn("Stock reconciliation failed, will retry", e);
+    }
+  }
+
+  private void writeBack(Map<Long, Integer> flushed) {
+    // the products written to are locked, so a concurrent product PUT can neither overwrite the
+    // deduction nor be overwritten by it; changing managed entities only replaces their own L2
+    // entries, where a bulk UPDATE would evict the whole Product region
+    Map<Long, Product> products = new HashMap<>();
+    productRepository
+        .findByIdsForUpdate(new ArrayList<>(flushed.keySet()))
+        .forEach(product -> products.put(product.id, product));
+    List<Long> ids = new ArrayList<>(stocks.keySet());
+    productRepository.findByIds(ids).forEach(product -> products.putIfAbsent(product.id, product));
+
+    for (Long id : ids) {
+      ProductStock stock = stocks.get(id);
+      Product product = products.get(id);
+      if (product == null) {
+        stocks.remove(id);
+        continue;
+      }
+      // any change since the last reconciliation was made by someone else, e.g. a product PUT
+      int drift = product.stock - stock.persisted;
+      if (drift != 0) {
+        stock.available.addAndGet(drift);
+      }
+      int quantity = flushed.getOrDefault(id, 0);
+      product.stock -= quantity;
+      stock.persisted = product.stock;
+      if (quantity > 0) {
+        productChanged.fire(ProductChangedEvent.upserted(product));
+      }
+    }
+  }
+
+  // commits since the last tick are only in the counters and would be sold again after a restart;
+  // observed rather than @PreDestroy, so the datasource is still there
+  void onStop(@Observes ShutdownEvent event) {
+    reconcile();
+  }
+
+  void onProductChanged(
+      @Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+    if (event.type() == ProductChangedEvent.Type.DELETED) {
+      stocks.remove(event.id());
+    }
+  }
+
+  private ProductStock stockOf(Long productId) {
+    ProductStock stock = stocks.get(productId);
+    if (stock != null) {
+      return stock;
+    }
+    Product product =
+        QuarkusTransaction.requiringNew().call(() -> productRepository.findById(productId));
+    if (product == null) {
+      throw new WebApplicationException(
+          "Product with id of " + productId + " does not exist.", 404);
+    }
+    return stocks.computeIfAbsent(productId, id -> new ProductStock(product.stock));
+  }
+
+  private Reservation take(String reservationId) {
+    Reservation reservation = reservations.remove(reservationId);
+    if (reservation == null) {
+      throw notFound(reservationId);
+    }
+    return reservation;
+  }
+
+  private void giveBack(Reservation reservation) {
+    ProductStock stock = stocks.get(reservation.productId());
+    if (stock != null) {
+      stock.available.addAndGet(reservation.quantity());
+    }
+  }
+
+  private static WebApplicationException notFound(String reservationId) {
+    return new WebApplicationException(
+        "Reservation " + reservationId + " does not exist or has expired.", 404);
+  }
+}
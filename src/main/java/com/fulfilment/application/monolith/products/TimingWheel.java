@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith.products;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for deadlines.
+ *
+ * Time is cut into ticks of {@code tickDuration}; an entry goes into the slot of its deadline tick
+ * modulo the wheel size. Advancing the wheel visits only the slots of the elapsed ticks and expires
+ * the entries in them whose deadline has passed; entries more than one rotation away stay in their
+ * slot for a later round. Scheduling and expiry are both O(1) per entry, independent of how many
+ * entries are pending. Entries are never cancelled: the expiry callback decides whether an entry is
+ * still live.
+ *
+ * Any thread may schedule; {@link #advance} must be called from one thread at a time.
+ */
+public class TimingWheel<T> {
+
+  private record Entry<T>(T item, long deadlineTick) {}
+
+  private final long tickMillis;
+  private final Queue<Entry<T>>[] slots;
+
+  // last tick whose slot has been processed
+  private volatile long processedTick;
+
+  @SuppressWarnings("unchecked")
+  public TimingWheel(Duration tickDuration, int wheelSize, Instant start) {
+    if (tickDuration.toMillis() <= 0 || wheelSize <= 0) {
+      throw new IllegalArgumentException("Timing wheel tick and size must be positive");
+    }
+    this.tickMillis = tickDuration.toMillis();
+    this.slots = new Queue[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      slots[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.processedTick = tickOf(start);
+  }
+
+  /** Schedules {@code item} to expire on the first advance at or after {@code deadline}. */
+  public void schedule(T item, Instant deadline) {
+    // a deadline in an already processed tick goes into the next one
+    long tick = Math.max(ceilTickOf(deadline), processedTick + 1);
+    slots[slot(tick)].add(new Entry<>(item, tick));
+  }
+
+  /** Expires every entry whose deadline tick is at or before {@code now}; returns the count. */
+  public int advance(Instant now, Consumer<T> onExpire) {
+    long nowTick = tickOf(now);
+    long from = processedTick + 1;
+    // after a full rotation every slot has been visited once
+    long to = Math.min(nowTick, from + slots.length - 1);
+    int expired = 0;
+    for (long tick = from; tick <= to; tick++) {
+      Iterator<Entry<T>> entries = slots[slot(tick)].iterator();
+      while (entries.hasNext()) {
+        Entry<T> entry = entries.next();
+        if (entry.deadlineTick() <= nowTick) {
+          entries.remove();
+          onExpire.accept(entry.item());
+          expired++;
+        }
+      }
+    }
+    if (nowTick > processedTick) {
+      processedTick = nowTick;
+    }
+    return expired;
+  }
+
+  private long tickOf(Instant instant) {
+    return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+  }
+
+  private long ceilTickOf(Instant instant) {
+    return -Math.floorDiv(-instant.toEpochMilli(), tickMillis);
+  }
+
+  private int slot(long tick) {
+    return (int) Math.floorMod(tick, (long) slots.length);
+  }
+}
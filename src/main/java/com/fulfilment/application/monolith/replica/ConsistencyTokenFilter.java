@@ -0,0 +1,102 @@
+package com.fulfilment.application.monolith.replica;
+
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+/**
+ * Read-your-writes over a lagging replica. A successful write to a {@link ReplicaReads} endpoint
+ * returns the primary's log position after it committed as a consistency token; a GET that sends
+ * the token back reads from the replica once the replica has replayed up to it, and from the
+ * primary before. GETs without a token read from the replica.
+ *
+ * Databases without a replication log position (H2 in the tests) get the commit time instead, and
+ * such tokens keep reads on the primary for {@code replica.read-your-writes-window}.
+ */
+public class ConsistencyTokenFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(ConsistencyTokenFilter.class.getName());
+
+  public static final String HEADER = "X-Consistency-Token";
+
+  @Inject ReadTarget target;
+
+  @Inject ReplicationPosition position;
+
+  @ConfigProperty(name = "replica.enabled")
+  boolean enabled;
+
+  @ConfigProperty(name = "replica.read-your-writes-window")
+  Duration window;
+
+  // after the non-blocking filters, which Quarkus REST requires to run first
+  @ReplicaReads
+  @ServerRequestFilter(priority = Priorities.USER + 100)
+  public void route(ContainerRequestContext request) {
+    if (enabled && isRead(request)) {
+      target.setReplica(!requiresPrimary(request.getHeaderString(HEADER)));
+    }
+  }
+
+  // response filters run after the transaction of the resource method has committed
+  @ReplicaReads
+  @ServerResponseFilter
+  public void issueToken(ContainerRequestContext request, ContainerResponseContext response) {
+    if (enabled
+        && !isRead(request)
+        && response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+      response.getHeaders().putSingle(HEADER, token());
+    }
+  }
+
+  // the write has committed, so a failed lookup must not fail the response
+  private String token() {
+    if (position.tracked()) {
+      try {
+        return position.primary();
+      } catch (PersistenceException e) {
+        LOGGER.warnf(e, "Cannot read the log position, issuing a time token");
+      }
+    }
+    return Long.toString(System.currentTimeMillis());
+  }
+
+  /** Log positions have a slash; other tokens are commit times. */
+  boolean requiresPrimary(String token) {
+    if (token == null || token.indexOf('/') < 0) {
+      return requiresPrimary(token, System.currentTimeMillis(), window.toMillis());
+    }
+    try {
+      return !position.replayedUpTo(token.trim());
+    } catch (RuntimeException e) {
+      // unreadable, or the replica cannot tell how far it is
+      return true;
+    }
+  }
+
+  /** A token that cannot be read keeps the request on the primary, where it is always correct. */
+  static boolean requiresPrimary(String token, long now, long windowMillis) {
+    if (token == null || token.isBlank()) {
+      return false;
+    }
+    try {
+      return now < Long.parseLong(token.trim()) + windowMillis;
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  }
+
+  private static boolean isRead(ContainerRequestContext request) {
+    String method = request.getMethod();
+    return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+  }
+}
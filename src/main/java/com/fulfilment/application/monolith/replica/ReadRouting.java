@@ -0,0 +1,107 @@
+package com.fulfilment.application.monolith.replica;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableInstance;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+/**
+ * Runs reads on the replica datasource when the current request may be served from it (see {@link
+ * ConsistencyTokenFilter}), and on the primary otherwise; writes always go to the primary.
+ *
+ * Replica sessions share the persistence unit, on a connection of their own that is rolled back and
+ * returned to the pool when the read is done, so their entities come back detached. They are
+ * read-only and only look up the second-level cache: writes on the primary keep the cache current,
+ * and rows of a lagging replica must not be put into it.
+ */
+@ApplicationScoped
+public class ReadRouting {
+
+  @Inject Session session;
+
+  @Inject SessionFactory sessionFactory;
+
+  @Inject
+  @DataSource("replica")
+  InjectableInstance<AgroalDataSource> replica;
+
+  @Inject ReadTarget target;
+
+  @ConfigProperty(name = "replica.enabled")
+  boolean enabled;
+
+  /** Whether reads of the current request go to the replica. */
+  public boolean onReplica() {
+    return enabled && Arc.container().requestContext().isActive() && target.isReplica();
+  }
+
+  public <T> T read(Function<Session, T> work) {
+    if (!onReplica()) {
+      return work.apply(session);
+    }
+    return onReplicaConnection(
+        connection -> {
+          try (Session replicaSession =
+              sessionFactory
+                  .withOptions()
+                  .connection(connection)
+                  .autoJoinTransactions(false)
+                  .flushMode(FlushMode.MANUAL)
+                  .openSession()) {
+            replicaSession.setDefaultReadOnly(true);
+            replicaSession.setCacheMode(CacheMode.GET);
+            return work.apply(replicaSession);
+          }
+        });
+  }
+
+  /**
+   * Runs {@code work} on a stateless session of the replica, or of the primary when {@code
+   * replica} is false. For reads that outlive the resource method, such as streamed responses,
+   * which take {@code replica} from {@link #onReplica()} while the request is being handled.
+   */
+  public void readStateless(boolean replica, Consumer<StatelessSession> work) {
+    if (!replica) {
+      try (StatelessSession primary = sessionFactory.openStatelessSession()) {
+        work.accept(primary);
+      }
+      return;
+    }
+    onReplicaConnection(
+        connection -> {
+          try (StatelessSession replicaSession =
+              sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+            work.accept(replicaSession);
+          }
+          return null;
+        });
+  }
+
+  // auto-commit off, so PostgreSQL fetches large results through a cursor
+  private <T> T onReplicaConnection(Function<Connection, T> work) {
+    try (Connection connection = replica.get().getConnection()) {
+      connection.setReadOnly(true);
+      connection.setAutoCommit(false);
+      try {
+        return work.apply(connection);
+      } finally {
+        connection.rollback();
+      }
+    } catch (SQLException e) {
+      throw new PersistenceException("Cannot read from the replica", e);
+    }
+  }
+}
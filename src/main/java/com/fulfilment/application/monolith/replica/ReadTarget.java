@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.replica;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/** Whether the reads of the current request may go to the replica. */
+@RequestScoped
+public class ReadTarget {
+
+  private boolean replica;
+
+  public boolean isReplica() {
+    return replica;
+  }
+
+  public void setReplica(boolean replica) {
+    this.replica = replica;
+  }
+}
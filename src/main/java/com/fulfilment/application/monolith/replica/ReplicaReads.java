@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.replica;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * REST endpoints whose GETs may be served from the replica datasource and whose writes return a
+ * consistency token; see {@link ConsistencyTokenFilter}.
+ */
+@NameBinding
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface ReplicaReads {}
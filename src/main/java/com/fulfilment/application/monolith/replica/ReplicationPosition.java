@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.replica;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.InjectableInstance;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Positions in the write-ahead log of PostgreSQL: how far the primary has written, and whether the
+ * replica has replayed up to a position. Other databases, such as H2 in the tests, have no such
+ * log; {@link #tracked()} is false for them.
+ */
+@ApplicationScoped
+public class ReplicationPosition {
+
+  // on a server that is not a standby, the replica points at the primary and has all of it
+  private static final String REPLAYED =
+      "SELECT COALESCE(pg_last_wal_replay_lsn(), pg_current_wal_lsn())";
+
+  @Inject AgroalDataSource primary;
+
+  @Inject
+  @DataSource("replica")
+  InjectableInstance<AgroalDataSource> replica;
+
+  @ConfigProperty(name = "quarkus.datasource.db-kind")
+  String dbKind;
+
+  // replay only moves forward, so positions up to here need no query
+  private final AtomicLong replayed = new AtomicLong(-1);
+
+  public boolean tracked() {
+    return "postgresql".equals(dbKind);
+  }
+
+  /** The end of the primary's log, which covers every transaction committed so far. */
+  public String primary() {
+    return format(query(primary, "SELECT pg_current_wal_lsn()"));
+  }
+
+  /** Whether the replica has replayed the primary's log up to {@code position}. */
+  public boolean replayedUpTo(String position) {
+    long target = parse(position);
+    if (target <= replayed.get()) {
+      return true;
+    }
+    return target <= replayed.accumulateAndGet(query(replica.get(), REPLAYED), Math::max);
+  }
+
+  /** A log position as PostgreSQL writes it, two hex halves such as {@code 0/16B3748}. */
+  static long parse(String position) {
+    int slash = position.indexOf('/');
+    if (slash < 0) {
+      throw new NumberFormatException("Not a log position: " + position);
+    }
+    return Long.parseLong(position.substring(0, slash), 16) << 32
+        | Long.parseLong(position.substring(slash + 1), 16);
+  }
+
+  static String format(long position) {
+    return Long.toHexString(position >>> 32).toUpperCase()
+        + "/"
+        + Long.toHexString(position & 0xFFFFFFFFL).toUpperCase();
+  }
+
+  private static long query(AgroalDataSource dataSource, String sql) {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery(sql)) {
+      result.next();
+      return parse(result.getString(1));
+    } catch (SQLException e) {
+      throw new PersistenceException("Cannot read the log position", e);
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package com.fulfilment.application.monolith.seed;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+
+/**
+ * Bulk loads a {@link SyntheticDataset}. Rows are written to a CSV file and loaded with one {@code
+ * COPY ... FROM STDIN} on PostgreSQL or one {@code INSERT ... SELECT FROM CSVREAD} on H2, instead
+ * of an INSERT per row. Rows of an earlier load are removed first, so loading the same seed again
+ * yields the same tables.
+ *
+ * With {@code seed.enabled=true} the dataset is loaded at startup, after {@code import.sql} and
+ * before the startup observers that build in-memory views of the tables.
+ */
+@ApplicationScoped
+public class SeedLoader {
+
+  private static final Logger LOGGER = Logger.getLogger(SeedLoader.class.getName());
+
+  private static final String WAREHOUSE_COLUMNS =
+      "id,version,businessUnitCode,location,capacity,stock,createdAt,archivedAt";
+  private static final String STORE_COLUMNS = "id,name,quantityProductsInStock";
+  private static final String PRODUCT_COLUMNS = "id,name,description,price,stock";
+
+  @Inject EntityManager entityManager;
+
+  @Inject SessionFactory sessionFactory;
+
+  @Inject LocationGateway locationGateway;
+
+  @ConfigProperty(name = "seed.enabled")
+  boolean enabled;
+
+  @ConfigProperty(name = "seed.value")
+  long seed;
+
+  @ConfigProperty(name = "seed.warehouses")
+  int warehouses;
+
+  @ConfigProperty(name = "seed.stores")
+  int stores;
+
+  @ConfigProperty(name = "seed.products")
+  int products;
+
+  public record SeedResult(int warehouses, int activeWarehouses, int stores, int products) {}
+
+  @FunctionalInterface
+  private interface Rows {
+    int write(Writer out, long firstId) throws IOException;
+  }
+
+  void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+    if (enabled) {
+      load(seed, warehouses, stores, products);
+    }
+  }
+
+  /** Replaces the rows of any earlier load with the dataset of {@code seed}. */
+  public SeedResult load(long seed, int warehouses, int stores, int products) {
+    long start = System.nanoTime();
+    SeedResult result =
+        QuarkusTransaction.requiringNew().call(() -> write(seed, warehouses, stores, products));
+
+    // the rows changed behind Hibernate's back; evicted once committed, so no reader can put an
+    // old row back, and only the seeded entities and the queries that may have read them
+    Cache cache = sessionFactory.getCache();
+    for (Class<?> entity : new Class<?>[] {DbWarehouse.class, Store.class, Product.class}) {
+      cache.evictEntityData(entity);
+      cache.evictNaturalIdData(entity);
+    }
+    cache.evictDefaultQueryRegion();
+
+    LOGGER.infof(
+        "Seeded %,d warehouses (%d active), %,d stores and %,d products from seed %d in %d ms",
+        warehouses, result.activeWarehouses(), stores, products, seed,
+        (System.nanoTime() - start) / 1_000_000);
+    return result;
+  }
+
+  private SeedResult write(long seed, int warehouses, int stores, int products) {
+    SyntheticDataset dataset = new SyntheticDataset(seed, locationGateway.locations());
+    return entityManager
+        .unwrap(Session.class)
+        .doReturningWork(
+            connection -> {
+              String product = connection.getMetaData().getDatabaseProductName();
+              boolean postgres = product.toLowerCase().contains("postgres");
+              clear(connection);
+              Map<String, Integer> freeSlots = freeWarehouseSlots(connection);
+              int active =
+                  copy(
+                      connection,
+                      postgres,
+                      "warehouse",
+                      WAREHOUSE_COLUMNS,
+                      warehouses,
+                      (out, firstId) ->
+                          dataset.writeWarehouses(out, firstId, warehouses, freeSlots));
+              copy(
+                  connection,
+                  postgres,
+                  "store",
+                  STORE_COLUMNS,
+                  stores,
+                  (out, firstId) -> dataset.writeStores(out, firstId, stores));
+              copy(
+                  connection,
+                  postgres,
+                  "product",
+                  PRODUCT_COLUMNS,
+                  products,
+                  (out, firstId) -> dataset.writeProducts(out, firstId, products));
+              return new SeedResult(warehouses, active, stores, products);
+            });
+  }
+
+  private static void clear(Connection connection) throws SQLException {
+    String prefix = SyntheticDataset.PREFIX + "%";
+    try (PreparedStatement warehouses =
+            connection.prepareStatement("DELETE FROM warehouse WHERE businessUnitCode LIKE ?");
+        PreparedStatement stores =
+            connection.prepareStatement("DELETE FROM store WHERE name LIKE ?");
+        PreparedStatement products =
+            connection.prepareStatement("DELETE FROM product WHERE name LIKE ?")) {
+      for (PreparedStatement statement : new PreparedStatement[] {warehouses, stores, products}) {
+        statement.setString(1, prefix);
+        statement.executeUpdate();
+      }
+    }
+  }
+
+  /** Active warehouses each location can still take next to the ones already there. */
+  private Map<String, Integer> freeWarehouseSlots(Connection connection) throws SQLException {
+    Map<String, Integer> slots = new HashMap<>();
+    for (Location location : locationGateway.locations()) {
+      slots.put(location.identifier(), location.maxNumberOfWarehouses());
+    }
+    try (Statement statement = connection.createStatement();
+        ResultSet rows =
+            statement.executeQuery(
+                "SELECT location, COUNT(*) FROM warehouse WHERE archivedAt IS NULL"
+                    + " GROUP BY location")) {
+      while (rows.next()) {
+        String location = rows.getString(1);
+        int taken = rows.getInt(2);
+        slots.computeIfPresent(location, (identifier, free) -> Math.max(0, free - taken));
+      }
+    }
+    return slots;
+  }
+
+  /** Loads the rows into {@code table} and moves its sequence past them; returns rows written. */
+  private static int copy(
+      Connection connection, boolean postgres, String table, String columns, int count, Rows rows)
+      throws SQLException {
+    long firstId = firstFreeId(connection, postgres, table);
+    Path file = null;
+    try {
+      file = Files.createTempFile("seed-" + table + "-", ".csv");
+      int written;
+      try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        written = rows.write(out, firstId);
+      }
+      if (count > 0) {
+        if (postgres) {
+          try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            connection
+                .unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)", in);
+          }
+        } else {
+          // CSVREAD takes no parameters
+          try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                "INSERT INTO " + table + " (" + columns + ") SELECT * FROM CSVREAD('"
+                    + file.toString().replace("'", "''") + "', '" + columns.toUpperCase()
+                    + "', 'charset=UTF-8')");
+          }
+        }
+      }
+      try (Statement statement = connection.createStatement()) {
+        statement.execute(
+            "ALTER SEQUENCE " + table + "_seq RESTART WITH " + (firstId + count));
+      }
+      return written;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot seed table " + table, e);
+    } finally {
+      if (file != null) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          LOGGER.warn("Cannot delete seed file " + file, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * First id above both the rows in the table and any block of ids Hibernate may already hold:
+   * blocks start at a value taken from the sequence, so they all lie below the next value.
+   */
+  private static long firstFreeId(Connection connection, boolean postgres, String table)
+      throws SQLException {
+    String next =
+        postgres
+            ? "SELECT nextval('" + table + "_seq')"
+            : "SELECT NEXT VALUE FOR " + table + "_seq";
+    try (Statement statement = connection.createStatement()) {
+      long maxId;
+      try (ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+        rows.next();
+        maxId = rows.getLong(1);
+      }
+      try (ResultSet rows = statement.executeQuery(next)) {
+        rows.next();
+        return Math.max(maxId + 1, rows.getLong(1));
+      }
+    }
+  }
+}
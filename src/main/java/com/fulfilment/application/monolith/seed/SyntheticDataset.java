@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.seed;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic warehouses, stores and products as CSV rows, derived from a seed value only: the same
+ * seed writes the same rows. Every table draws from its own random stream, so changing the size of
+ * one table leaves the rows of the others unchanged.
+ *
+ * Warehouses follow the location rules: capacity within the location's maximum, stock within the
+ * capacity, and no more active warehouses in a location than it allows. Warehouses that do not fit
+ * are written as archived.
+ */
+public class SyntheticDataset {
+
+  /** Prefix of every generated business unit code and name. */
+  public static final String PREFIX = "SEED-";
+
+  private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+  private static final long CREATION_WINDOW_SECONDS = 4L * 365 * 24 * 3600;
+  private static final DateTimeFormatter TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  // one random stream per table
+  private static final long WAREHOUSES = 0x5741524548L;
+  private static final long STORES = 0x53544F5245L;
+  private static final long PRODUCTS = 0x50524F44L;
+
+  private final long seed;
+  private final List<Location> locations;
+
+  public SyntheticDataset(long seed, List<Location> locations) {
+    this.seed = seed;
+    this.locations = locations;
+  }
+
+  /**
+   * Writes {@code id,version,businessUnitCode,location,capacity,stock,createdAt,archivedAt} rows.
+   * {@code freeSlots} holds the number of active warehouses each location can still take and is
+   * used up; returns the number of active warehouses written.
+   */
+  public int writeWarehouses(Writer out, long firstId, int count, Map<String, Integer> freeSlots)
+      throws IOException {
+    SplittableRandom random = new SplittableRandom(seed ^ WAREHOUSES);
+    int active = 0;
+    for (int i = 0; i < count; i++) {
+      Location location = locations.get(random.nextInt(locations.size()));
+      int capacity = 1 + random.nextInt(location.maxCapacity());
+      int stock = random.nextInt(capacity + 1);
+      LocalDateTime createdAt = EPOCH.plusSeconds(random.nextLong(CREATION_WINDOW_SECONDS));
+      long archivedAfterDays = 1 + random.nextInt(365);
+
+      int slots = freeSlots.getOrDefault(location.identifier(), 0);
+      String archivedAt = "";
+      if (slots > 0) {
+        freeSlots.put(location.identifier(), slots - 1);
+        active++;
+      } else {
+        archivedAt = TIMESTAMP.format(createdAt.plusDays(archivedAfterDays));
+      }
+      out.append(Long.toString(firstId + i))
+          .append(",0,")
+          .append(PREFIX)
+          .append("WH.")
+          .append(Integer.toString(i))
+          .append(',')
+          .append(location.identifier())
+          .append(',')
+          .append(Integer.toString(capacity))
+          .append(',')
+          .append(Integer.toString(stock))
+          .append(',')
+          .append(TIMESTAMP.format(createdAt))
+          .append(',')
+          .append(archivedAt)
+          .append('\n');
+    }
+    return active;
+  }
+
+  /** Writes {@code id,name,quantityProductsInStock} rows; returns the number written. */
+  public int writeStores(Writer out, long firstId, int count) throws IOException {
+    SplittableRandom random = new SplittableRandom(seed ^ STORES);
+    for (int i = 0; i < count; i++) {
+      out.append(Long.toString(firstId + i))
+          .append(',')
+          .append(PREFIX)
+          .append("STORE-")
+          .append(Integer.toString(i))
+          .append(',')
+          .append(Integer.toString(random.nextInt(1001)))
+          .append('\n');
+    }
+    return count;
+  }
+
+  /** Writes {@code id,name,description,price,stock} rows; returns the number written. */
+  public int writeProducts(Writer out, long firstId, int count) throws IOException {
+    SplittableRandom random = new SplittableRandom(seed ^ PRODUCTS);
+    for (int i = 0; i < count; i++) {
+      long cents = 50 + random.nextLong(99_950);
+      out.append(Long.toString(firstId + i))
+          .append(',')
+          .append(PREFIX)
+          .append("PRODUCT-")
+          .append(Integer.toString(i))
+          .append(",Synthetic product ")
+          .append(Integer.toString(i))
+          .append(',')
+          .append(Long.toString(cents / 100))
+          .append('.')
+          .append(cents % 100 < 10 ? "0" : "")
+          .append(Long.toString(cents % 100))
+          .append(',')
+          .append(Integer.toString(random.nextInt(501)))
+          .append('\n');
+    }
+    return count;
+  }
+}
@@ -1,51 +1,74 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fulfilment.application.monolith.stores.legacy.LegacyStoreChange;
+import com.fulfilment.application.monolith.stores.legacy.LegacyStoreTransport;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import jakarta.inject.Inject;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.jboss.logging.Logger;
 
 @ApplicationScoped
 public class LegacyStoreManagerGateway {
 
-  public void createStoreOnLegacySystem(Store store) {
-    // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
-  }
-
-  public void updateStoreOnLegacySystem(Store store) {
-    // just to emulate as this would send this to a legacy system, let's write a temp file with the
-    writeToFile(store);
-  }
+  private static final Logger LOGGER = Logger.getLogger(LegacyStoreManagerGateway.class.getName());
 
-  private void writeToFile(Store store) {
-    try {
-      // Step 1: Create a temporary file
-      Path tempFile;
+  @Inject LegacyStoreTransport transport;
 
-      tempFile = Files.createTempFile(store.name, ".txt");
+  public CompletableFuture<Void> createStoreOnLegacySystem(Store store) {
+    return send("CREATED", store);
+  }
 
-      System.out.println("Temporary file created at: " + tempFile.toString());
+  public CompletableFuture<Void> updateStoreOnLegacySystem(Store store) {
+    return send("UPDATED", store);
+  }
 
-      // Step 2: Write data to the temporary file
-      String content =
-          "Store created. [ name ="
-              + store.name
-              + " ] [ items on stock ="
-              + store.quantityProductsInStock
-              + "]";
-      Files.write(tempFile, content.getBytes());
-      System.out.println("Data written to temporary file.");
+  /** Sends the stores of one import to the legacy system as one batch. */
+  public CompletableFuture<Void> importStoresOnLegacySystem(
+      List<Store> created, List<Store> updated) {
+    String timestamp = Instant.now().toString();
+    List<LegacyStoreChange> changes = new ArrayList<>(created.size() + updated.size());
+    created.forEach(store -> changes.add(change("CREATED", store, timestamp)));
+    updated.forEach(store -> changes.add(change("UPDATED", store, timestamp)));
+    return transport
+        .sendAll(changes)
+        .handle(
+            (ignored, failure) -> {
+              if (failure != null) {
+                throw new IllegalStateException(
+                    "Failed to sync " + changes.size() + " imported stores with legacy system",
+                    cause(failure));
+              }
+              LOGGER.debug(changes.size() + " imported stores sent to legacy system");
+              return null;
+            });
+  }
 
-      // Step 3: Optionally, read the data back to verify
-      String readContent = new String(Files.readAllBytes(tempFile));
-      System.out.println("Data read from temporary file: " + readContent);
+  /** Hands the change to the transport; the result completes once the legacy system has it. */
+  private CompletableFuture<Void> send(String eventType, Store store) {
+    LegacyStoreChange change = change(eventType, store, Instant.now().toString());
+    return transport
+        .send(change)
+        .handle(
+            (ignored, failure) -> {
+              if (failure != null) {
+                throw new IllegalStateException(
+                    "Failed to sync store " + store.id + " with legacy system", cause(failure));
+              }
+              LOGGER.debug("Store " + store.id + " " + eventType + " sent to legacy system");
+              return null;
+            });
+  }
 
-      // Step 4: Delete the temporary file when done
-      Files.delete(tempFile);
-      System.out.println("Temporary file deleted.");
+  private static LegacyStoreChange change(String eventType, Store store, String timestamp) {
+    return new LegacyStoreChange(
+        eventType, store.id, store.name, store.quantityProductsInStock, timestamp);
+  }
 
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
+  private static Throwable cause(Throwable failure) {
+    return failure instanceof CompletionException ? failure.getCause() : failure;
   }
 }
@@ -4,11 +4,16 @@ import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Cacheable
+@NaturalIdCache
 public class Store extends PanacheEntity {
 
+  // stores can be renamed, so the natural id is mutable
+  @NaturalId(mutable = true)
   @Column(length = 40, unique = true)
   public String name;
 
@@ -1,6 +1,6 @@
 package com.fulfilment.application.monolith.stores;
 
-public class StoreCreatedEvent {
+public class StoreCreatedEvent extends StoreSyncEvent {
   private final Store store;
 
   public StoreCreatedEvent(Store store) {
@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.stores;
+
+/** Fired by {@link StoreResource} inside the transaction that deletes a store. */
+public record StoreDeletedEvent(Long id) {}
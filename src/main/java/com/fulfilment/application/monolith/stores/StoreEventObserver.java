@@ -5,6 +5,13 @@ import jakarta.enterprise.event.ObservesAsync;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+/**
+ * Forwards store events to the legacy system. Events are fired by {@link StoreOutboxRelay} on the
+ * {@link StoreSyncExecutor}, so events of one store are observed in order and never concurrently.
+ * The observers only hand the change to the legacy transport and attach its completion to the
+ * event, so the relay waits for the legacy system while the sync workers move on to other stores
+ * and the transport sees the whole batch at once.
+ */
 @ApplicationScoped
 public class StoreEventObserver {
 
@@ -15,11 +22,21 @@ public class StoreEventObserver {
 
   public void onStoreCreated(@ObservesAsync StoreCreatedEvent event) {
     LOGGER.info("Store created event received, syncing with legacy system: " + event.getStore().id);
-    legacyStoreManagerGateway.createStoreOnLegacySystem(event.getStore());
+    event.deliveredBy(legacyStoreManagerGateway.createStoreOnLegacySystem(event.getStore()));
   }
 
   public void onStoreUpdated(@ObservesAsync StoreUpdatedEvent event) {
     LOGGER.info("Store updated event received, syncing with legacy system: " + event.getStore().id);
-    legacyStoreManagerGateway.updateStoreOnLegacySystem(event.getStore());
+    event.deliveredBy(legacyStoreManagerGateway.updateStoreOnLegacySystem(event.getStore()));
+  }
+
+  public void onStoresImported(@ObservesAsync StoreImportedEvent event) {
+    LOGGER.info(
+        "Store import event received, syncing "
+            + (event.getCreated().size() + event.getUpdated().size())
+            + " stores with legacy system");
+    event.deliveredBy(
+        legacyStoreManagerGateway.importStoresOnLegacySystem(
+            event.getCreated(), event.getUpdated()));
   }
 }
@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.util.List;
+
+/** The stores of one import chunk, to be sent to the legacy system as one batch. */
+public class StoreImportedEvent extends StoreSyncEvent {
+  private final List<Store> created;
+  private final List<Store> updated;
+
+  public StoreImportedEvent(List<Store> created, List<Store> updated) {
+    this.created = created;
+    this.updated = updated;
+  }
+
+  public List<Store> getCreated() {
+    return created;
+  }
+
+  public List<Store> getUpdated() {
+    return updated;
+  }
+}
@@ -0,0 +1,226 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.WebApplicationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Bulk store import. Stores are upserted by their unique name with batched JDBC statements: {@code
+ * INSERT ... ON CONFLICT} on PostgreSQL and {@code MERGE} on H2. The body is read as a stream and
+ * written in chunks of {@link #JDBC_BATCH_SIZE} stores, each in its own transaction together with
+ * one batch outbox row, so the relay sends every chunk to the legacy system as one batch. An
+ * import that fails part way keeps the chunks already written; sending it again is safe since
+ * stores are matched by name.
+ */
+@ApplicationScoped
+public class StoreImporter {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreImporter.class.getName());
+
+  static final int JDBC_BATCH_SIZE = 500;
+
+  private static final String POSTGRESQL_UPSERT =
+      "INSERT INTO store (id, name, quantityProductsInStock) VALUES (nextval('store_seq'), ?, ?)"
+          + " ON CONFLICT (name) DO UPDATE"
+          + " SET quantityProductsInStock = EXCLUDED.quantityProductsInStock";
+
+  private static final String H2_UPSERT =
+      "MERGE INTO store s USING (VALUES (CAST(? AS VARCHAR(40)), CAST(? AS INT))) v(name, qty)"
+          + " ON s.name = v.name"
+          + " WHEN MATCHED THEN UPDATE SET s.quantityProductsInStock = v.qty"
+          + " WHEN NOT MATCHED THEN INSERT (id, name, quantityProductsInStock)"
+          + " VALUES (NEXT VALUE FOR store_seq, v.name, v.qty)";
+
+  @Inject EntityManager entityManager;
+
+  @Inject ObjectMapper objectMapper;
+
+  @Inject StoreOutboxRepository storeOutbox;
+
+  public record ImportResult(int received, int created, int updated) {}
+
+  /**
+   * Reads stores from {@code body}, either a JSON array or newline-delimited JSON objects. When a
+   * name appears more than once the last occurrence wins.
+   */
+  public ImportResult importStores(InputStream body) {
+    Map<String, Integer> chunk = new LinkedHashMap<>();
+    int received = 0;
+    int created = 0;
+    int written = 0;
+    MappingIterator<Store> rows = open(body);
+    try (rows) {
+      while (hasNext(rows)) {
+        Store row = next(rows);
+        received++;
+        validate(row, received);
+        chunk.put(row.name, row.quantityProductsInStock);
+        if (chunk.size() == JDBC_BATCH_SIZE) {
+          created += flush(chunk);
+          written += chunk.size();
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        created += flush(chunk);
+        written += chunk.size();
+      }
+    } catch (IOException e) {
+      throw malformed(e);
+    }
+
+    LOGGER.info(
+        "Imported " + written + " stores (" + created + " created) from " + received + " records");
+    return new ImportResult(received, created, written - created);
+  }
+
+  /** Writes a chunk and its outbox batch in a transaction of its own; returns how many are new. */
+  private int flush(Map<String, Integer> chunk) {
+    Map<String, Long> existing = new HashMap<>();
+    int created = QuarkusTransaction.requiringNew().call(() -> write(chunk, existing));
+
+    // the updated rows changed behind Hibernate's back: evicted once committed, so no reader can
+    // put the old row back into the L2 cache, and only they, so the rest of the region stays warm
+    Cache cache = entityManager.getEntityManagerFactory().getCache();
+    for (Long id : existing.values()) {
+      cache.evict(Store.class, id);
+    }
+    return created;
+  }
+
+  /** Upserts the chunk and records its outbox batch; fills in the ids of rows that existed. */
+  private int write(Map<String, Integer> chunk, Map<String, Long> existing) {
+    existing.clear();
+    Map<String, Long> ids = new HashMap<>();
+    entityManager
+        .unwrap(Session.class)
+        .doWork(
+            connection -> {
+              List<String> names = new ArrayList<>(chunk.keySet());
+              existing.putAll(findIds(connection, names));
+              upsert(connection, chunk);
+              ids.putAll(findIds(connection, names));
+            });
+
+    int created = 0;
+    List<StoreOutboxEvent.BatchEntry> entries = new ArrayList<>(chunk.size());
+    for (Map.Entry<String, Integer> entry : chunk.entrySet()) {
+      boolean isNew = !existing.containsKey(entry.getKey());
+      if (isNew) {
+        created++;
+      }
+      entries.add(
+          new StoreOutboxEvent.BatchEntry(
+              isNew ? StoreOutboxEvent.Type.CREATED : StoreOutboxEvent.Type.UPDATED,
+              ids.get(entry.getKey()),
+              entry.getKey(),
+              entry.getValue()));
+    }
+    // picked up by StoreOutboxRelay after commit and sent as one batch
+    storeOutbox.recordBatch(entries);
+    return created;
+  }
+
+  private MappingIterator<Store> open(InputStream body) {
+    try {
+      return objectMapper.readerFor(Store.class).readValues(body);
+    } catch (IOException | RuntimeException e) {
+      throw malformed(e);
+    }
+  }
+
+  private static boolean hasNext(MappingIterator<Store> rows) {
+    try {
+      return rows.hasNextValue();
+    } catch (IOException | RuntimeException e) {
+      throw malformed(e);
+    }
+  }
+
+  private static Store next(MappingIterator<Store> rows) {
+    try {
+      return rows.nextValue();
+    } catch (IOException | RuntimeException e) {
+      throw malformed(e);
+    }
+  }
+
+  private static WebApplicationException malformed(Exception e) {
+    return new WebApplicationException("Malformed store import: " + e.getMessage(), 400);
+  }
+
+  private static void validate(Store row, int position) {
+    if (row.id != null) {
+      throw new WebApplicationException("Id was invalidly set on record " + position + ".", 422);
+    }
+    if (row.name == null || row.name.isBlank()) {
+      throw new WebApplicationException("Store Name was not set on record " + position + ".", 422);
+    }
+    if (row.name.length() > 40) {
+      throw new WebApplicationException(
+          "Store Name on record " + position + " is longer than 40 characters.", 422);
+    }
+  }
+
+  private static void upsert(Connection connection, Map<String, Integer> stores)
+      throws SQLException {
+    String product = connection.getMetaData().getDatabaseProductName();
+    String sql = product.toLowerCase().contains("postgres") ? POSTGRESQL_UPSERT : H2_UPSERT;
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      int pending = 0;
+      for (Map.Entry<String, Integer> entry : stores.entrySet()) {
+        statement.setString(1, entry.getKey());
+        statement.setInt(2, entry.getValue());
+        statement.addBatch();
+        if (++pending == JDBC_BATCH_SIZE) {
+          statement.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        statement.executeBatch();
+      }
+    }
+  }
+
+  private static Map<String, Long> findIds(Connection connection, List<String> names)
+      throws SQLException {
+    Map<String, Long> ids = new HashMap<>();
+    for (int from = 0; from < names.size(); from += JDBC_BATCH_SIZE) {
+      List<String> chunk = names.subList(from, Math.min(names.size(), from + JDBC_BATCH_SIZE));
+      String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+      try (PreparedStatement statement =
+          connection.prepareStatement(
+              "SELECT id, name FROM store WHERE name IN (" + placeholders + ")")) {
+        for (int i = 0; i < chunk.size(); i++) {
+          statement.setString(i + 1, chunk.get(i));
+        }
+        try (ResultSet rows = statement.executeQuery()) {
+          while (rows.next()) {
+            ids.put(rows.getString(2), rows.getLong(1));
+          }
+        }
+      }
+    }
+    return ids;
+  }
+}
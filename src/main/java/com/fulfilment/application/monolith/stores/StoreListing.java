@@ -0,0 +1,167 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+
+/**
+ * Store listings that do not load the whole table: keyset pages ordered by name and id, and a
+ * streamed listing that writes stores to the response as they are read from a scrolled query.
+ */
+@ApplicationScoped
+public class StoreListing {
+
+  static final int MAX_PAGE_SIZE = 200;
+
+  private static final int STREAM_FETCH_SIZE = 500;
+
+  @Inject ObjectMapper objectMapper;
+
+  @Inject ReadRouting readRouting;
+
+  /** A page of stores and the cursor of the next page, or {@code null} on the last page. */
+  public record StorePage(List<Store> stores, String nextCursor) {}
+
+  /** Keyset position: the name and id of the last store on the previous page. */
+  record Cursor(String name, long id) {
+
+    String encode() {
+      String raw = id + ":" + name;
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String token) {
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(':');
+        long id = Long.parseLong(raw.substring(0, separator));
+        return new Cursor(raw.substring(separator + 1), id);
+      } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        throw new WebApplicationException("Invalid store page cursor.", 400);
+      }
+    }
+  }
+
+  public StorePage page(String after, int limit, Integer minQuantity, Integer maxQuantity) {
+    validateRange(minQuantity, maxQuantity);
+    int pageSize = Math.min(MAX_PAGE_SIZE, Math.max(1, limit));
+    Cursor cursor = after == null || after.isEmpty() ? null : Cursor.decode(after);
+
+    StringBuilder jpql = new StringBuilder("SELECT s FROM Store s WHERE 1 = 1");
+    if (cursor != null) {
+      jpql.append(" AND (s.name > :afterName OR (s.name = :afterName AND s.id > :afterId))");
+    }
+    appendQuantityFilter(jpql, minQuantity, maxQuantity);
+    jpql.append(" ORDER BY s.name, s.id");
+
+    List<Store> stores =
+        readRouting.read(
+            session -> {
+              TypedQuery<Store> query = session.createQuery(jpql.toString(), Store.class);
+              if (cursor != null) {
+                query.setParameter("afterName", cursor.name()).setParameter("afterId", cursor.id());
+              }
+              bindQuantityFilter(query, minQuantity, maxQuantity);
+              // one extra row tells whether there is a next page without a count query
+              return query.setMaxResults(pageSize + 1).getResultList();
+            });
+
+    if (stores.size() <= pageSize) {
+      return new StorePage(stores, null);
+    }
+    List<Store> page = stores.subList(0, pageSize);
+    Store last = page.get(pageSize - 1);
+    return new StorePage(List.copyOf(page), new Cursor(last.name, last.id).encode());
+  }
+
+  /**
+   * Every matching store, ordered by name and id, written as a JSON array. Rows come from a
+   * forward-only cursor on a stateless session, so memory use does not grow with the number of
+   * stores. The filter is validated before anything is written.
+   */
+  public StreamingOutput stream(Integer minQuantity, Integer maxQuantity) {
+    validateRange(minQuantity, maxQuantity);
+    StringBuilder hql = new StringBuilder("FROM Store s WHERE 1 = 1");
+    appendQuantityFilter(hql, minQuantity, maxQuantity);
+    hql.append(" ORDER BY s.name, s.id");
+
+    // the output is written after the request has been handled
+    boolean replica = readRouting.onReplica();
+    return output ->
+        QuarkusTransaction.requiringNew()
+            .run(
+                () ->
+                    readRouting.readStateless(
+                        replica,
+                        session ->
+                            writeStores(
+                                session, output, hql.toString(), minQuantity, maxQuantity)));
+  }
+
+  private void writeStores(
+      StatelessSession session,
+      OutputStream output,
+      String hql,
+      Integer minQuantity,
+      Integer maxQuantity) {
+    try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+      // the response stream belongs to the container
+      json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      org.hibernate.query.Query<Store> query = session.createQuery(hql, Store.class);
+      bindQuantityFilter(query, minQuantity, maxQuantity);
+      json.writeStartArray();
+      try (ScrollableResults<Store> rows =
+          query.setFetchSize(STREAM_FETCH_SIZE).scroll(ScrollMode.FORWARD_ONLY)) {
+        while (rows.next()) {
+          json.writeObject(rows.get());
+        }
+      }
+      json.writeEndArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void validateRange(Integer minQuantity, Integer maxQuantity) {
+    if (minQuantity != null && maxQuantity != null && minQuantity > maxQuantity) {
+      throw new WebApplicationException("minQuantity must not be greater than maxQuantity.", 400);
+    }
+  }
+
+  private static void appendQuantityFilter(
+      StringBuilder query, Integer minQuantity, Integer maxQuantity) {
+    if (minQuantity != null) {
+      query.append(" AND s.quantityProductsInStock >= :minQuantity");
+    }
+    if (maxQuantity != null) {
+      query.append(" AND s.quantityProductsInStock <= :maxQuantity");
+    }
+  }
+
+  private static void bindQuantityFilter(Query query, Integer minQuantity, Integer maxQuantity) {
+    if (minQuantity != null) {
+      query.setParameter("minQuantity", minQuantity);
+    }
+    if (maxQuantity != null) {
+      query.setParameter("maxQuantity", maxQuantity);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.stores;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A store change waiting to be synchronized with the legacy system. Rows are written in the same
+ * transaction as the {@link Store} change and removed by {@link StoreOutboxRelay} once delivered.
+ * A {@link Type#BATCH} row carries the changes of many stores in {@code payload} and has no store
+ * of its own.
+ */
+@Entity
+@Table(
+    name = "store_outbox",
+    indexes = {
+      @Index(name = "store_outbox_next_attempt_idx", columnList = "nextAttemptAt"),
+      @Index(name = "store_outbox_store_idx", columnList = "storeId")
+    })
+public class StoreOutboxEvent {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    BATCH
+  }
+
+  /** One store change of a {@link Type#BATCH} row. */
+  public record BatchEntry(Type type, Long storeId, String name, int quantityProductsInStock) {
+
+    public Store toStore() {
+      Store store = new Store(name);
+      store.id = storeId;
+      store.quantityProductsInStock = quantityProductsInStock;
+      return store;
+    }
+  }
+
+  @Id @GeneratedValue public Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  public Type type;
+
+  public Long storeId;
+
+  // snapshot of the store as committed, so the relay never has to re-read it
+  @Column(length = 40)
+  public String storeName;
+
+  public int quantityProductsInStock;
+
+  @Column(nullable = false)
+  public Instant createdAt;
+
+  @Column(nullable = false)
+  public Instant nextAttemptAt;
+
+  public int attempts;
+
+  @Column(length = 1000)
+  public String lastError;
+
+  // JSON array of BatchEntry, for BATCH rows only
+  @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+  public String payload;
+
+  public StoreOutboxEvent() {}
+
+  public Store toStore() {
+    Store store = new Store(storeName);
+    store.id = storeId;
+    store.quantityProductsInStock = quantityProductsInStock;
+    return store;
+  }
+}
@@ -0,0 +1,341 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fulfilment.application.monolith.stores.StoreUpdateCoalescer.CoalescedStoreEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Polls the store outbox and hands committed store changes to the legacy sync observers.
+ *
+ * Each poll claims a batch of due events together with the newer events of the same stores, and
+ * coalesces them into one sync per store carrying its latest state. The claim is a short
+ * transaction that leases the rows by moving their next attempt past the delivery timeout, so no
+ * row lock is held while the legacy system is called and other relays skip the leased stores.
+ * Syncs run in parallel across stores; afterwards the delivered rows are deleted in a second
+ * transaction. Failed syncs are rescheduled with exponential backoff, keeping all of the store's
+ * rows so the latest state is resent. Rows of a relay that dies mid-batch are picked up again once
+ * their lease runs out. An import batch row is claimed on its own and its stores go to the
+ * legacy system as one transport batch.
+ */
+@ApplicationScoped
+public class StoreOutboxRelay {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreOutboxRelay.class.getName());
+
+  @Inject StoreOutboxRepository outboxRepository;
+
+  @Inject Event<StoreCreatedEvent> storeCreatedEvent;
+
+  @Inject Event<StoreUpdatedEvent> storeUpdatedEvent;
+
+  @Inject Event<StoreImportedEvent> storeImportedEvent;
+
+  @Inject StoreSyncExecutor storeSyncExecutor;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @ConfigProperty(name = "legacy-store.outbox.batch-size")
+  int batchSize;
+
+  @ConfigProperty(name = "legacy-store.outbox.delivery-timeout")
+  Duration deliveryTimeout;
+
+  @ConfigProperty(name = "legacy-store.outbox.backoff.initial")
+  Duration initialBackoff;
+
+  @ConfigProperty(name = "legacy-store.outbox.backoff.max")
+  Duration maxBackoff;
+
+  private final AtomicLong lagMillis = new AtomicLong();
+
+  private Counter delivered;
+  private Counter failed;
+  private Counter coalesced;
+  private Timer batchTimer;
+
+  @PostConstruct
+  void initMetrics() {
+    delivered =
+        Counter.builder("store.outbox.delivered")
+            .description("Store events delivered to the legacy system")
+            .register(meterRegistry);
+    failed =
+        Counter.builder("store.outbox.failed")
+            .description("Store event deliveries that failed and were rescheduled")
+            .register(meterRegistry);
+    coalesced =
+        Counter.builder("store.outbox.coalesced")
+            .description("Store events superseded by a newer state before they were sent")
+            .register(meterRegistry);
+    batchTimer =
+        Timer.builder("store.outbox.batch")
+            .description("Time spent claiming, delivering and acknowledging one outbox batch")
+            .register(meterRegistry);
+    Gauge.builder("store.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+        .description("Age in seconds of the oldest store event not yet delivered")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(
+      identity = "store-outbox-relay",
+      every = "${legacy-store.outbox.poll-interval}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void poll() {
+    int relayed;
+    do {
+      relayed = relayBatch();
+    } while (relayed > 0);
+    updateLag();
+  }
+
+  private record Claim(int due, List<StoreOutboxEvent> events) {}
+
+  /** Delivers one batch; returns how many due events were claimed. */
+  int relayBatch() {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Instant now = Instant.now();
+    Claim claim = QuarkusTransaction.requiringNew().call(() -> claim(now));
+    if (claim.due() == 0) {
+      return 0;
+    }
+    if (claim.events().get(0).type == StoreOutboxEvent.Type.BATCH) {
+      relayImport(claim.events().get(0), now);
+      sample.stop(batchTimer);
+      return claim.due();
+    }
+
+    List<CoalescedStoreEvent> syncs = StoreUpdateCoalescer.coalesce(claim.events());
+    coalesced.increment(claim.events().size() - syncs.size());
+
+    Map<Long, Throwable> failures = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> deliveries = new ArrayList<>(syncs.size());
+    for (CoalescedStoreEvent sync : syncs) {
+      Long storeId = sync.latest().id;
+      deliveries.add(
+          dispatch(sync.type(), sync.latest())
+              .toCompletableFuture()
+              .<Void>thenApply(ignored -> null)
+              .exceptionally(
+                  failure -> {
+                    failures.put(storeId, unwrap(failure));
+                    return null;
+                  }));
+    }
+
+    await(deliveries);
+    Set<Long> completed = new HashSet<>();
+    for (int i = 0; i < syncs.size(); i++) {
+      if (deliveries.get(i).isDone()) {
+        completed.add(syncs.get(i).latest().id);
+      }
+    }
+
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              for (CoalescedStoreEvent sync : syncs) {
+                Long storeId = sync.latest().id;
+                if (completed.contains(storeId) && !failures.containsKey(storeId)) {
+                  outboxRepository.deleteByIds(sync.sources().stream().map(e -> e.id).toList());
+                  delivered.increment();
+                } else {
+                  reschedule(
+                      sync.sources().stream().map(e -> e.id).toList(),
+                      "store " + storeId,
+                      failures.get(storeId),
+                      now);
+                }
+              }
+            });
+    sample.stop(batchTimer);
+    return claim.due();
+  }
+
+  /** Sends the stores of an import batch row to the legacy system in one transport batch. */
+  private void relayImport(StoreOutboxEvent batch, Instant now) {
+    List<Store> created = new ArrayList<>();
+    List<Store> updated = new ArrayList<>();
+    for (StoreOutboxEvent.BatchEntry entry : outboxRepository.entries(batch)) {
+      (entry.type() == StoreOutboxEvent.Type.CREATED ? created : updated).add(entry.toStore());
+    }
+
+    CompletableFuture<Void> delivery;
+    try {
+      delivery =
+          storeImportedEvent
+              .fireAsync(
+                  new StoreImportedEvent(created, updated),
+                  NotificationOptions.ofExecutor(storeSyncExecutor.forKey(batch.id)))
+              .thenCompose(StoreSyncEvent::delivery)
+              .toCompletableFuture();
+    } catch (RejectedExecutionException e) {
+      delivery = CompletableFuture.failedFuture(e);
+    }
+    await(List.of(delivery));
+
+    Throwable failure =
+        delivery.isDone() ? delivery.handle((ignored, error) -> error).join() : null;
+    boolean sent = delivery.isDone() && failure == null;
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              if (sent) {
+                outboxRepository.deleteByIds(List.of(batch.id));
+                delivered.increment();
+              } else {
+                reschedule(List.of(batch.id), "import batch " + batch.id, unwrap(failure), now);
+              }
+            });
+  }
+
+  /**
+   * Claims the due events and the newer events of their stores, and leases them until well past
+   * the delivery timeout; the row locks go with the commit. A due batch row is claimed on its
+   * own, and the events behind it wait for the next claim.
+   */
+  private Claim claim(Instant now) {
+    List<StoreOutboxEvent> due = outboxRepository.claimDue(now, batchSize);
+    if (due.isEmpty()) {
+      return new Claim(0, List.of());
+    }
+    int firstBatch = 0;
+    while (firstBatch < due.size() && due.get(firstBatch).type != StoreOutboxEvent.Type.BATCH) {
+      firstBatch++;
+    }
+    if (firstBatch == 0) {
+      StoreOutboxEvent batch = due.get(0);
+      batch.nextAttemptAt = now.plus(deliveryTimeout.multipliedBy(2));
+      return new Claim(1, List.of(batch));
+    }
+    due = due.subList(0, firstBatch);
+    // fold in the newer events of the same stores that are still inside their coalescing window
+    List<StoreOutboxEvent> claimed = new ArrayList<>(due);
+    claimed.addAll(outboxRepository.claimPendingForStores(due));
+    Instant leasedUntil = now.plus(deliveryTimeout.multipliedBy(2));
+    claimed.forEach(event -> event.nextAttemptAt = leasedUntil);
+    return new Claim(due.size(), claimed);
+  }
+
+  private CompletionStage<?> dispatch(StoreOutboxEvent.Type type, Store snapshot) {
+    // observers run on the store's own lane of the sync executor instead of the shared pool
+    NotificationOptions options =
+        NotificationOptions.ofExecutor(storeSyncExecutor.forKey(snapshot.id));
+    try {
+      // the fired event completes once the observers have handed the change over; the delivery
+      // it carries completes once the legacy system has accepted it
+      return switch (type) {
+        case CREATED ->
+            storeCreatedEvent
+                .fireAsync(new StoreCreatedEvent(snapshot), options)
+                .thenCompose(StoreSyncEvent::delivery);
+        case UPDATED ->
+            storeUpdatedEvent
+                .fireAsync(new StoreUpdatedEvent(snapshot), options)
+                .thenCompose(StoreSyncEvent::delivery);
+        case BATCH -> throw new IllegalArgumentException("Batch rows are relayed by relayImport");
+      };
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /** Waits for the deliveries, at most for the delivery timeout. */
+  private void await(List<CompletableFuture<Void>> deliveries) {
+    try {
+      CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new))
+          .get(deliveryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.warn("Legacy store sync did not finish within " + deliveryTimeout);
+    } catch (ExecutionException e) {
+      // failures are recorded per delivery
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void reschedule(List<Long> ids, String subject, Throwable failure, Instant now) {
+    List<StoreOutboxEvent> events = outboxRepository.findByIds(ids);
+    if (events.isEmpty()) {
+      return;
+    }
+    StoreOutboxEvent head = events.get(0);
+    head.attempts++;
+    head.lastError = describe(failure);
+    Instant retryAt = now.plus(backoff(head.attempts));
+    // every event of the store waits for the retry, so the latest state is what gets resent
+    events.forEach(event -> event.nextAttemptAt = retryAt);
+    failed.increment();
+    LOGGER.warn(
+        "Legacy sync of "
+            + subject
+            + " failed (attempt "
+            + head.attempts
+            + "), retrying at "
+            + retryAt
+            + ": "
+            + head.lastError);
+  }
+
+  Duration backoff(int attempts) {
+    long factor = 1L << Math.min(attempts - 1, 20);
+    Duration delay = initialBackoff.multipliedBy(factor);
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  private void updateLag() {
+    Instant oldest =
+        QuarkusTransaction.requiringNew().call(outboxRepository::oldestPendingCreatedAt);
+    long lag = oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis();
+    lagMillis.set(Math.max(0, lag));
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    while (failure instanceof CompletionException) {
+      if (failure.getCause() != null) {
+        failure = failure.getCause();
+      } else if (failure.getSuppressed().length > 0) {
+        // asynchronous observer failures are reported as suppressed exceptions
+        failure = failure.getSuppressed()[0];
+      } else {
+        break;
+      }
+    }
+    return failure;
+  }
+
+  private static String describe(Throwable failure) {
+    if (failure == null) {
+      return "Delivery timed out";
+    }
+    String message = failure.getClass().getName() + ": " + failure.getMessage();
+    return message.length() > 1000 ? message.substring(0, 1000) : message;
+  }
+}
@@ -0,0 +1,126 @@
+package com.fulfilment.application.monolith.stores;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.LockMode;
+import org.hibernate.jpa.HibernateHints;
+
+@ApplicationScoped
+public class StoreOutboxRepository implements PanacheRepository<StoreOutboxEvent> {
+
+  private static final TypeReference<List<StoreOutboxEvent.BatchEntry>> BATCH_ENTRIES =
+      new TypeReference<>() {};
+
+  // updates are held back this long so a burst of changes to a store goes out as one sync
+  @ConfigProperty(name = "legacy-store.outbox.coalesce-window")
+  Duration coalesceWindow;
+
+  @Inject ObjectMapper objectMapper;
+
+  /** Must be called inside the transaction that changes the store. */
+  public StoreOutboxEvent record(StoreOutboxEvent.Type type, Store store) {
+    Instant now = Instant.now();
+    StoreOutboxEvent event = new StoreOutboxEvent();
+    event.type = type;
+    event.storeId = store.id;
+    event.storeName = store.name;
+    event.quantityProductsInStock = store.quantityProductsInStock;
+    event.createdAt = now;
+    event.nextAttemptAt = type == StoreOutboxEvent.Type.UPDATED ? now.plus(coalesceWindow) : now;
+    persist(event);
+    return event;
+  }
+
+  /**
+   * Records the changes of many stores as one {@link StoreOutboxEvent.Type#BATCH} row. Must be
+   * called inside the transaction that changes the stores.
+   */
+  public StoreOutboxEvent recordBatch(List<StoreOutboxEvent.BatchEntry> entries) {
+    Instant now = Instant.now();
+    StoreOutboxEvent event = new StoreOutboxEvent();
+    event.type = StoreOutboxEvent.Type.BATCH;
+    try {
+      event.payload = objectMapper.writeValueAsString(entries);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize a store outbox batch", e);
+    }
+    event.createdAt = now;
+    event.nextAttemptAt = now;
+    persist(event);
+    return event;
+  }
+
+  public List<StoreOutboxEvent.BatchEntry> entries(StoreOutboxEvent batch) {
+    try {
+      return objectMapper.readValue(batch.payload, BATCH_ENTRIES);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable store outbox batch " + batch.id, e);
+    }
+  }
+
+  /**
+   * Locks up to {@code limit} due events, oldest first. Rows locked by another relay are skipped
+   * rather than waited on, and a store whose earlier event is backing off is skipped entirely so
+   * its events are never delivered out of order. A batch row counts as an event of every store,
+   * so it waits for all earlier events and all later events wait for it.
+   */
+  public List<StoreOutboxEvent> claimDue(Instant now, int limit) {
+    return getEntityManager()
+        .createQuery(
+            "SELECT e FROM StoreOutboxEvent e WHERE e.nextAttemptAt <= :now"
+                + " AND NOT EXISTS (SELECT 1 FROM StoreOutboxEvent p"
+                + " WHERE p.id < e.id AND p.nextAttemptAt > :now"
+                + " AND (p.storeId = e.storeId OR p.storeId IS NULL OR e.storeId IS NULL))"
+                + " ORDER BY e.id",
+            StoreOutboxEvent.class)
+        .setParameter("now", now)
+        .setMaxResults(limit)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .setHint(HibernateHints.HINT_NATIVE_LOCK_MODE, LockMode.UPGRADE_SKIPLOCKED)
+        .getResultList();
+  }
+
+  /**
+   * Locks the remaining events of the stores in {@code claimed}, whether or not they are due yet,
+   * so they can be coalesced with the claimed ones. Events behind a batch row stay for later.
+   */
+  public List<StoreOutboxEvent> claimPendingForStores(List<StoreOutboxEvent> claimed) {
+    List<Long> storeIds = claimed.stream().map(e -> e.storeId).distinct().toList();
+    List<Long> claimedIds = claimed.stream().map(e -> e.id).toList();
+    return getEntityManager()
+        .createQuery(
+            "SELECT e FROM StoreOutboxEvent e WHERE e.storeId IN :storeIds"
+                + " AND e.id NOT IN :claimedIds AND NOT EXISTS (SELECT 1 FROM StoreOutboxEvent b"
+                + " WHERE b.storeId IS NULL AND b.id < e.id) ORDER BY e.id",
+            StoreOutboxEvent.class)
+        .setParameter("storeIds", storeIds)
+        .setParameter("claimedIds", claimedIds)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .setHint(HibernateHints.HINT_NATIVE_LOCK_MODE, LockMode.UPGRADE_SKIPLOCKED)
+        .getResultList();
+  }
+
+  /** The events still in the outbox among {@code ids}, oldest first. */
+  public List<StoreOutboxEvent> findByIds(List<Long> ids) {
+    return list("id IN ?1 ORDER BY id", ids);
+  }
+
+  public void deleteByIds(List<Long> ids) {
+    delete("id IN ?1", ids);
+  }
+
+  public Instant oldestPendingCreatedAt() {
+    return getEntityManager()
+        .createQuery("SELECT MIN(e.createdAt) FROM StoreOutboxEvent e", Instant.class)
+        .getSingleResult();
+  }
+}
@@ -2,49 +2,86 @@ package com.fulfilment.application.monolith.stores;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.quarkus.panache.common.Sort;
+import com.fulfilment.application.monolith.execution.VirtualThreadDispatch;
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.replica.ReplicaReads;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import java.io.InputStream;
 import java.util.List;
 import org.jboss.logging.Logger;
 
 @Path("store")
+@Timed(LatencyHistograms.REST_OPERATION)
+@VirtualThreadDispatch
+@ReplicaReads
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
 public class StoreResource {
 
-  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
-  
-  @Inject Event<StoreCreatedEvent> storeCreatedEvent;
-  
-  @Inject Event<StoreUpdatedEvent> storeUpdatedEvent;
+  @Inject StoreOutboxRepository storeOutbox;
+
+  @Inject StoreListing storeListing;
+
+  @Inject StoreImporter storeImporter;
+
+  @Inject ReadRouting readRouting;
+
+  @Inject Event<StoreDeletedEvent> storeDeleted;
 
   private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
 
   @GET
   public List<Store> get() {
-    return Store.listAll(Sort.by("name"));
+    return readRouting.read(
+        session ->
+            session.createSelectionQuery("FROM Store ORDER BY name", Store.class).getResultList());
+  }
+
+  /** Keyset-paginated listing; pass the returned {@code nextCursor} as {@code after}. */
+  @GET
+  @Path("page")
+  public StoreListing.StorePage page(
+      @QueryParam("after") String after,
+      @QueryParam("limit") @DefaultValue("50") int limit,
+      @QueryParam("minQuantity") Integer minQuantity,
+      @QueryParam("maxQuantity") Integer maxQuantity) {
+    return storeListing.page(after, limit, minQuantity, maxQuantity);
+  }
+
+  /** The full listing, written incrementally as it is read from the database. */
+  @GET
+  @Path("stream")
+  public StreamingOutput stream(
+      @QueryParam("minQuantity") Integer minQuantity,
+      @QueryParam("maxQuantity") Integer maxQuantity) {
+    return storeListing.stream(minQuantity, maxQuantity);
   }
 
   @GET
   @Path("{id}")
   public Store getSingle(Long id) {
-    Store entity = Store.findById(id);
+    Store entity = readRouting.read(session -> session.get(Store.class, id));
     if (entity == null) {
       throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
     }
@@ -63,11 +100,20 @@ public class StoreResource {
       throw new WebApplicationException("Store with name of " + store.name + " already exists.", 500);
     }
     store.persist();
-    storeCreatedEvent.fireAsync(new StoreCreatedEvent(store));
+    // synced with the legacy system by StoreOutboxRelay once this transaction commits
+    storeOutbox.record(StoreOutboxEvent.Type.CREATED, store);
 
     return Response.ok(store).status(201).build();
   }
 
+  /** Upserts stores by name from a JSON array or NDJSON body. */
+  @POST
+  @Path("import")
+  @Consumes({"application/json", "application/x-ndjson"})
+  public StoreImporter.ImportResult importStores(InputStream body) {
+    return storeImporter.importStores(body);
+  }
+
   @PUT
   @Path("{id}")
   @Transactional
@@ -85,7 +131,7 @@ public class StoreResource {
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
 
-    storeUpdatedEvent.fireAsync(new StoreUpdatedEvent(entity));
+    storeOutbox.record(StoreOutboxEvent.Type.UPDATED, entity);
 
     return entity;
   }
@@ -112,7 +158,7 @@ public class StoreResource {
       entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
     }
 
-    storeUpdatedEvent.fireAsync(new StoreUpdatedEvent(entity));
+    storeOutbox.record(StoreOutboxEvent.Type.UPDATED, entity);
 
     return entity;
   }
@@ -126,6 +172,7 @@ public class StoreResource {
       throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
     }
     entity.delete();
+    storeDeleted.fire(new StoreDeletedEvent(id));
     return Response.status(204).build();
   }
 
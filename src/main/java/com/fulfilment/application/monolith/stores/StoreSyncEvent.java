@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Store changes on their way to the legacy system. The observer that hands them to the legacy
+ * transport attaches the transport's completion, so the relay can wait for the changes to be
+ * accepted without an observer thread waiting for them.
+ */
+public abstract class StoreSyncEvent {
+  private volatile CompletionStage<Void> delivery;
+
+  public void deliveredBy(CompletionStage<Void> delivery) {
+    this.delivery = delivery;
+  }
+
+  /** Completes once the changes have been accepted; at once if no observer sent them anywhere. */
+  public CompletionStage<Void> delivery() {
+    CompletionStage<Void> attached = delivery;
+    return attached != null ? attached : CompletableFuture.completedFuture(null);
+  }
+}
@@ -0,0 +1,213 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Dedicated executor for legacy store synchronization.
+ *
+ * Tasks are submitted with a key (the store id). Tasks sharing a key run one at a time in
+ * submission order; tasks with different keys run in parallel on a fixed pool of workers. The
+ * number of queued tasks is bounded; when the bound is reached the {@link OverflowPolicy} decides
+ * whether the submitter waits for room or is rejected.
+ */
+@ApplicationScoped
+public class StoreSyncExecutor {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreSyncExecutor.class.getName());
+
+  // a busy store yields its worker after this many tasks so other stores are not starved
+  private static final int MAX_TASKS_PER_TURN = 32;
+
+  public enum OverflowPolicy {
+    /** Fail the submission immediately with a {@link RejectedExecutionException}. */
+    REJECT,
+    /** Make the submitter wait for room, up to the configured block timeout. */
+    BLOCK
+  }
+
+  private final ExecutorService workers;
+  private final ConcurrentHashMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+  private final Semaphore slots;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Duration blockTimeout;
+
+  private final Timer queueWait;
+  private final Timer processing;
+  private final Counter rejected;
+
+  @Inject
+  public StoreSyncExecutor(
+      @ConfigProperty(name = "legacy-store.sync-executor.threads") int threads,
+      @ConfigProperty(name = "legacy-store.sync-executor.queue-capacity") int capacity,
+      @ConfigProperty(name = "legacy-store.sync-executor.overflow-policy")
+          OverflowPolicy overflowPolicy,
+      @ConfigProperty(name = "legacy-store.sync-executor.block-timeout") Duration blockTimeout,
+      MeterRegistry meterRegistry) {
+    if (threads <= 0 || capacity <= 0) {
+      throw new IllegalArgumentException("Store sync threads and queue capacity must be positive");
+    }
+    this.workers = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+    this.capacity = capacity;
+    this.slots = new Semaphore(capacity);
+    this.overflowPolicy = overflowPolicy;
+    this.blockTimeout = blockTimeout;
+
+    Gauge.builder("store.sync.queue.depth", this, StoreSyncExecutor::queueDepth)
+        .description("Store sync tasks waiting for or being processed by a worker")
+        .register(meterRegistry);
+    this.queueWait =
+        Timer.builder("store.sync.queue.wait")
+            .description("Time a store sync task waited before a worker picked it up")
+            .register(meterRegistry);
+    this.processing =
+        Timer.builder("store.sync.processing")
+            .description("Time spent running a store sync task")
+            .register(meterRegistry);
+    this.rejected =
+        Counter.builder("store.sync.rejected")
+            .description("Store sync tasks rejected because the queue was full")
+            .register(meterRegistry);
+  }
+
+  /** An {@link Executor} view that runs everything it is given in order for {@code key}. */
+  public Executor forKey(Object key) {
+    return task -> execute(key, task);
+  }
+
+  public void execute(Object key, Runnable task) {
+    acquireSlot(key);
+    QueuedTask queued = new QueuedTask(task, System.nanoTime());
+    try {
+      lanes.compute(
+          key,
+          (k, lane) -> {
+            if (lane == null) {
+              lane = new Lane(k);
+              lane.tasks.add(queued);
+              workers.execute(lane);
+            } else {
+              lane.tasks.add(queued);
+            }
+            return lane;
+          });
+    } catch (RejectedExecutionException e) {
+      slots.release();
+      throw e;
+    }
+  }
+
+  public int queueDepth() {
+    return capacity - slots.availablePermits();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void acquireSlot(Object key) {
+    boolean acquired;
+    if (overflowPolicy == OverflowPolicy.BLOCK) {
+      try {
+        acquired = slots.tryAcquire(blockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        acquired = false;
+      }
+    } else {
+      acquired = slots.tryAcquire();
+    }
+    if (!acquired) {
+      rejected.increment();
+      throw new RejectedExecutionException(
+          "Store sync queue is full (" + capacity + " tasks), rejecting task for store " + key);
+    }
+  }
+
+  private final class Lane implements Runnable {
+    private final Object key;
+    // only touched inside lanes.compute for this key
+    private final ArrayDeque<QueuedTask> tasks = new ArrayDeque<>();
+
+    private Lane(Object key) {
+      this.key = key;
+    }
+
+    @Override
+    public void run() {
+      for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+        QueuedTask next = pollOrRetire();
+        if (next == null) {
+          return;
+        }
+        runTask(next);
+      }
+      workers.execute(this);
+    }
+
+    private QueuedTask pollOrRetire() {
+      QueuedTask[] next = new QueuedTask[1];
+      lanes.computeIfPresent(
+          key,
+          (k, lane) -> {
+            next[0] = lane.tasks.poll();
+            return next[0] == null ? null : lane;
+          });
+      return next[0];
+    }
+
+    private void runTask(QueuedTask queued) {
+      long started = System.nanoTime();
+      queueWait.record(started - queued.enqueuedAt, TimeUnit.NANOSECONDS);
+      try {
+        queued.task.run();
+      } catch (RuntimeException e) {
+        LOGGER.error("Store sync task for store " + key + " failed", e);
+      } finally {
+        processing.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        slots.release();
+      }
+    }
+  }
+
+  private record QueuedTask(Runnable task, long enqueuedAt) {}
+
+  private static final class WorkerThreadFactory implements ThreadFactory {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "store-sync-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
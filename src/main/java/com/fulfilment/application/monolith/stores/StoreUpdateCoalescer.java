@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.stores;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses the pending outbox events of a store into a single legacy sync carrying the latest
+ * state. A store that has not been created on the legacy system yet gets one create with its
+ * latest state; otherwise it gets one update.
+ */
+public final class StoreUpdateCoalescer {
+
+  private StoreUpdateCoalescer() {}
+
+  /** One sync per store, in the order the stores first appear in {@code events}. */
+  public static List<CoalescedStoreEvent> coalesce(List<StoreOutboxEvent> events) {
+    Map<Long, List<StoreOutboxEvent>> byStore = new LinkedHashMap<>();
+    for (StoreOutboxEvent event : events) {
+      byStore.computeIfAbsent(event.storeId, id -> new ArrayList<>()).add(event);
+    }
+
+    List<CoalescedStoreEvent> coalesced = new ArrayList<>(byStore.size());
+    for (List<StoreOutboxEvent> storeEvents : byStore.values()) {
+      storeEvents.sort(Comparator.comparing(e -> e.id));
+      StoreOutboxEvent first = storeEvents.get(0);
+      StoreOutboxEvent latest = storeEvents.get(storeEvents.size() - 1);
+      coalesced.add(
+          new CoalescedStoreEvent(first.type, latest.toStore(), List.copyOf(storeEvents)));
+    }
+    return coalesced;
+  }
+
+  /**
+   * The sync to send for one store and the outbox rows it supersedes. The rows may only be removed
+   * once this sync has been delivered.
+   */
+  public record CoalescedStoreEvent(
+      StoreOutboxEvent.Type type, Store latest, List<StoreOutboxEvent> sources) {}
+}
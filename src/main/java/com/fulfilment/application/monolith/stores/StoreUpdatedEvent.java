@@ -1,6 +1,6 @@
 package com.fulfilment.application.monolith.stores;
 
-public class StoreUpdatedEvent {
+public class StoreUpdatedEvent extends StoreSyncEvent {
   private final Store store;
 
   public StoreUpdatedEvent(Store store) {
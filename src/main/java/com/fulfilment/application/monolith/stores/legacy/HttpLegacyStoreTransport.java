@@ -0,0 +1,238 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Sends store changes to the legacy store service as batched JSON POSTs.
+ *
+ * Changes are queued and a single dispatcher thread collects them into batches of up to {@code
+ * batchSize}, waiting at most {@code linger} for a batch to fill. Changes passed to {@link
+ * #sendAll} stay together, split into requests of {@code batchSize} if there are more. Up to {@code maxInFlight}
+ * batches are sent concurrently over one shared {@link HttpClient}, which keeps its connections
+ * alive between requests. Every request has a timeout, and a {@link LegacyCircuitBreaker} fails
+ * batches fast while the service is unhealthy.
+ */
+public class HttpLegacyStoreTransport implements LegacyStoreTransport {
+
+  private static final Logger LOGGER = Logger.getLogger(HttpLegacyStoreTransport.class.getName());
+
+  private final URI endpoint;
+  private final int batchSize;
+  private final Duration linger;
+  private final Duration requestTimeout;
+  private final LegacyCircuitBreaker circuitBreaker;
+  private final ObjectMapper objectMapper;
+
+  private final HttpClient client;
+  private final ExecutorService clientExecutor;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+  private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+  private final Thread dispatcher;
+  private volatile boolean running = true;
+  // dispatcher thread only: taken from the queue but did not fit in the previous batch
+  private Pending carried;
+
+  public HttpLegacyStoreTransport(
+      URI endpoint,
+      int batchSize,
+      Duration linger,
+      int maxInFlight,
+      Duration connectTimeout,
+      Duration requestTimeout,
+      LegacyCircuitBreaker circuitBreaker,
+      ObjectMapper objectMapper) {
+    if (batchSize <= 0 || maxInFlight <= 0) {
+      throw new IllegalArgumentException("Batch size and max in-flight batches must be positive");
+    }
+    this.endpoint = endpoint;
+    this.batchSize = batchSize;
+    this.linger = linger;
+    this.requestTimeout = requestTimeout;
+    this.circuitBreaker = circuitBreaker;
+    this.objectMapper = objectMapper;
+    this.maxInFlight = maxInFlight;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.clientExecutor =
+        Executors.newFixedThreadPool(
+            maxInFlight,
+            runnable -> {
+              Thread thread = new Thread(runnable, "legacy-store-http");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(connectTimeout)
+            .executor(clientExecutor)
+            .build();
+    this.dispatcher = new Thread(this::dispatchLoop, "legacy-store-http-dispatcher");
+    dispatcher.setDaemon(true);
+    dispatcher.start();
+  }
+
+  @Override
+  public CompletableFuture<Void> send(LegacyStoreChange change) {
+    return enqueue(List.of(change));
+  }
+
+  @Override
+  public CompletableFuture<Void> sendAll(List<LegacyStoreChange> changes) {
+    if (changes.size() <= batchSize) {
+      return enqueue(changes);
+    }
+    List<CompletableFuture<Void>> requests = new ArrayList<>();
+    for (int from = 0; from < changes.size(); from += batchSize) {
+      requests.add(enqueue(changes.subList(from, Math.min(changes.size(), from + batchSize))));
+    }
+    return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new));
+  }
+
+  private CompletableFuture<Void> enqueue(List<LegacyStoreChange> changes) {
+    if (!running) {
+      return CompletableFuture.failedFuture(
+          new IllegalStateException("Legacy store HTTP transport is closed"));
+    }
+    Pending pending = new Pending(List.copyOf(changes));
+    queue.add(pending);
+    return pending.sent;
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    try {
+      dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+      // let the batches already on the wire finish before their executor goes away
+      inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    clientExecutor.shutdown();
+  }
+
+  private void dispatchLoop() {
+    try {
+      while (running || !queue.isEmpty() || carried != null) {
+        List<Pending> batch = nextBatch();
+        if (!batch.isEmpty()) {
+          inFlight.acquire();
+          sendBatch(batch);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private List<Pending> nextBatch() throws InterruptedException {
+    List<Pending> batch = new ArrayList<>();
+    Pending first = carried != null ? carried : queue.poll(100, TimeUnit.MILLISECONDS);
+    carried = null;
+    if (first == null) {
+      return batch;
+    }
+    batch.add(first);
+    int size = first.changes.size();
+    long deadline = System.nanoTime() + linger.toNanos();
+    while (size < batchSize) {
+      Pending next = queue.poll();
+      if (next == null) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          break;
+        }
+        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (next == null) {
+          break;
+        }
+      }
+      if (size + next.changes.size() > batchSize) {
+        carried = next;
+        break;
+      }
+      batch.add(next);
+      size += next.changes.size();
+    }
+    return batch;
+  }
+
+  private void sendBatch(List<Pending> batch) {
+    if (!circuitBreaker.tryAcquire()) {
+      inFlight.release();
+      fail(batch, new IllegalStateException("Legacy store service circuit is open"));
+      return;
+    }
+
+    HttpRequest request;
+    try {
+      byte[] body =
+          objectMapper.writeValueAsBytes(batch.stream().flatMap(p -> p.changes.stream()).toList());
+      request =
+          HttpRequest.newBuilder(endpoint)
+              .timeout(requestTimeout)
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+              .build();
+    } catch (JsonProcessingException e) {
+      // the service was never called, so the breaker learns nothing from this batch
+      circuitBreaker.release();
+      inFlight.release();
+      fail(batch, e);
+      return;
+    }
+
+    client
+        .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .whenComplete(
+            (response, failure) -> {
+              inFlight.release();
+              if (failure == null && response.statusCode() / 100 == 2) {
+                circuitBreaker.recordSuccess();
+                batch.forEach(p -> p.sent.complete(null));
+                return;
+              }
+              circuitBreaker.recordFailure();
+              Throwable cause =
+                  failure != null
+                      ? failure
+                      : new IllegalStateException(
+                          "Legacy store service answered " + response.statusCode());
+              LOGGER.warn(
+                  "Failed to send " + batch.stream().mapToInt(p -> p.changes.size()).sum()
+                      + " store changes to " + endpoint + ": " + cause.getMessage());
+              fail(batch, cause);
+            });
+  }
+
+  private static void fail(List<Pending> batch, Throwable cause) {
+    batch.forEach(p -> p.sent.completeExceptionally(cause));
+  }
+
+  /** Changes that go out in the same request, and the future of the caller that sent them. */
+  private static final class Pending {
+    private final List<LegacyStoreChange> changes;
+    private final CompletableFuture<Void> sent = new CompletableFuture<>();
+
+    private Pending(List<LegacyStoreChange> changes) {
+      this.changes = changes;
+    }
+  }
+}
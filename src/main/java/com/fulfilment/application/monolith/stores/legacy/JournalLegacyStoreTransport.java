@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** Writes each change as one JSON line to the {@link LegacyStoreJournal}. */
+public class JournalLegacyStoreTransport implements LegacyStoreTransport {
+
+  private final LegacyStoreJournal journal;
+  private final ObjectMapper objectMapper;
+
+  public JournalLegacyStoreTransport(LegacyStoreJournal journal, ObjectMapper objectMapper) {
+    this.journal = journal;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public CompletableFuture<Void> send(LegacyStoreChange change) {
+    // completes once the group commit holding this record has been forced to disk
+    return journal.append(serialize(change));
+  }
+
+  /** Writes all changes as one journal record, so they share one write and one force. */
+  @Override
+  public CompletableFuture<Void> sendAll(List<LegacyStoreChange> changes) {
+    ByteArrayOutputStream lines = new ByteArrayOutputStream(changes.size() * 128);
+    for (LegacyStoreChange change : changes) {
+      lines.writeBytes(serialize(change));
+    }
+    return journal.append(lines.toByteArray());
+  }
+
+  private byte[] serialize(LegacyStoreChange change) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(change);
+      byte[] line = new byte[json.length + 1];
+      System.arraycopy(json, 0, line, 0, json.length);
+      line[json.length] = '\n';
+      return line;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize store " + change.id(), e);
+    }
+  }
+}
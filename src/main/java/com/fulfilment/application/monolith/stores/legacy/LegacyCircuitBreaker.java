@@ -0,0 +1,91 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Minimal circuit breaker for calls to the legacy system.
+ *
+ * After {@code failureThreshold} consecutive failures the breaker opens and rejects calls for
+ * {@code openDuration}. It then lets a single trial call through (half-open); a success closes it
+ * again, a failure re-opens it.
+ */
+public class LegacyCircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final Duration openDuration;
+  private final Clock clock;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private Instant openedAt;
+  private boolean trialInFlight;
+
+  public LegacyCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+    if (failureThreshold <= 0) {
+      throw new IllegalArgumentException("Circuit breaker failure threshold must be positive");
+    }
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+    this.clock = clock;
+  }
+
+  /**
+   * Whether a call may be made now. Every permitted call must be followed by a record call, or by
+   * {@link #release()} if no call was made after all.
+   */
+  public synchronized boolean tryAcquire() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+          return false;
+        }
+        state = State.HALF_OPEN;
+        trialInFlight = true;
+        return true;
+      default:
+        if (trialInFlight) {
+          return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+  }
+
+  public synchronized void recordSuccess() {
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    trialInFlight = false;
+  }
+
+  /**
+   * Gives back a permit without a call having reached the service: nothing is learned about its
+   * health, so the state and failure count stay as they are and a half-open breaker lets the next
+   * call through as its trial.
+   */
+  public synchronized void release() {
+    trialInFlight = false;
+  }
+
+  public synchronized void recordFailure() {
+    consecutiveFailures++;
+    trialInFlight = false;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = clock.instant();
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+}
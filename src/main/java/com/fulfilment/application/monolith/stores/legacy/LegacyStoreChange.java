@@ -0,0 +1,5 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+/** A store change as the legacy system receives it. */
+public record LegacyStoreChange(
+    String event, Long id, String name, int quantityProductsInStock, String timestamp) {}
@@ -0,0 +1,244 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Append-only, rolling journal of serialized store events.
+ *
+ * Records are queued by callers and written by a single writer thread. Every record that is
+ * waiting when the writer wakes up (up to {@code batchSize}) is written with one gathering write
+ * and made durable with one {@link FileChannel#force(boolean)}, so the number of syscalls grows
+ * with the number of batches rather than the number of records. Segments are rotated once they
+ * reach {@code maxSegmentSize} bytes or have been open for {@code rotationInterval}.
+ */
+@ApplicationScoped
+public class LegacyStoreJournal {
+
+  private static final Logger LOGGER = Logger.getLogger(LegacyStoreJournal.class.getName());
+
+  private static final DateTimeFormatter SEGMENT_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final Path directory;
+  private final long maxSegmentSize;
+  private final Duration rotationInterval;
+  private final int batchSize;
+  private final Clock clock;
+
+  private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+  private final Object lifecycleLock = new Object();
+
+  private Thread writer;
+  private volatile boolean running;
+
+  private FileChannel segment;
+  private Path segmentPath;
+  private Instant segmentOpenedAt;
+  private long segmentSize;
+  private int segmentSequence;
+
+  @Inject
+  public LegacyStoreJournal(
+      @ConfigProperty(name = "legacy-store.journal.directory") String directory,
+      @ConfigProperty(name = "legacy-store.journal.max-segment-size") MemorySize maxSegmentSize,
+      @ConfigProperty(name = "legacy-store.journal.rotation-interval") Duration rotationInterval,
+      @ConfigProperty(name = "legacy-store.journal.batch-size") int batchSize) {
+    this(
+        Path.of(directory),
+        maxSegmentSize.asLongValue(),
+        rotationInterval,
+        batchSize,
+        Clock.systemUTC());
+  }
+
+  public LegacyStoreJournal(
+      Path directory, long maxSegmentSize, Duration rotationInterval, int batchSize, Clock clock) {
+    if (maxSegmentSize <= 0 || batchSize <= 0) {
+      throw new IllegalArgumentException("Journal segment size and batch size must be positive");
+    }
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+    this.rotationInterval = rotationInterval;
+    this.batchSize = batchSize;
+    this.clock = clock;
+  }
+
+  /**
+   * Queues a record for the next group commit. The returned future completes once the batch that
+   * contains the record has been forced to disk.
+   */
+  public CompletableFuture<Void> append(byte[] record) {
+    ensureStarted();
+    PendingRecord pending = new PendingRecord(record);
+    queue.add(pending);
+    return pending.written;
+  }
+
+  /** Segment files currently present in the journal directory, oldest first. */
+  public List<Path> segments() {
+    try (var files = Files.list(directory)) {
+      return files.filter(p -> p.getFileName().toString().endsWith(".journal")).sorted().toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    Thread current;
+    synchronized (lifecycleLock) {
+      if (!running) {
+        return;
+      }
+      running = false;
+      current = writer;
+    }
+    try {
+      current.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void ensureStarted() {
+    if (running) {
+      return;
+    }
+    synchronized (lifecycleLock) {
+      if (running) {
+        return;
+      }
+      try {
+        Files.createDirectories(directory);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot create journal directory " + directory, e);
+      }
+      running = true;
+      writer = new Thread(this::writeLoop, "legacy-store-journal");
+      writer.setDaemon(true);
+      writer.start();
+    }
+  }
+
+  private void writeLoop() {
+    List<PendingRecord> batch = new ArrayList<>(batchSize);
+    try {
+      while (true) {
+        PendingRecord first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (!running) {
+            break;
+          }
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        commit(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      closeSegment();
+    }
+  }
+
+  private void commit(List<PendingRecord> batch) {
+    long batchBytes = 0;
+    ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+    for (int i = 0; i < batch.size(); i++) {
+      buffers[i] = ByteBuffer.wrap(batch.get(i).record);
+      batchBytes += batch.get(i).record.length;
+    }
+
+    try {
+      rotateIfNeeded(batchBytes);
+      while (hasRemaining(buffers)) {
+        segment.write(buffers);
+      }
+      segment.force(false);
+      segmentSize += batchBytes;
+      batch.forEach(p -> p.written.complete(null));
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error("Failed to append " + batch.size() + " records to legacy store journal", e);
+      // the segment may hold a partial batch; start a fresh one for the next commit
+      closeSegment();
+      batch.forEach(p -> p.written.completeExceptionally(e));
+    }
+  }
+
+  private void rotateIfNeeded(long incomingBytes) throws IOException {
+    Instant now = clock.instant();
+    boolean rotate =
+        segment == null
+            || (segmentSize > 0 && segmentSize + incomingBytes > maxSegmentSize)
+            || !now.isBefore(segmentOpenedAt.plus(rotationInterval));
+    if (!rotate) {
+      return;
+    }
+    closeSegment();
+    segmentPath =
+        directory.resolve(
+            String.format(
+                "legacy-store-%s-%06d.journal", SEGMENT_TIMESTAMP.format(now), segmentSequence++));
+    segment =
+        FileChannel.open(
+            segmentPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+    segmentSize = segment.size();
+    segmentOpenedAt = now;
+    LOGGER.debug("Opened legacy store journal segment " + segmentPath);
+  }
+
+  private void closeSegment() {
+    if (segment == null) {
+      return;
+    }
+    try {
+      segment.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close legacy store journal segment " + segmentPath, e);
+    }
+    segment = null;
+  }
+
+  private static boolean hasRemaining(ByteBuffer[] buffers) {
+    return buffers.length > 0 && buffers[buffers.length - 1].hasRemaining();
+  }
+
+  private static final class PendingRecord {
+    private final byte[] record;
+    private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+    private PendingRecord(byte[] record) {
+      this.record = record;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.logging.Logger;
+
+/**
+ * In-process stand-in for the legacy store service, so the HTTP transport can be exercised and
+ * load-tested without any network dependency. It accepts {@code POST /stores/batch} with a JSON
+ * array of {@link LegacyStoreChange}s and keeps everything it received. Latency and failures can
+ * be injected.
+ */
+public class LegacyStoreStubServer implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(LegacyStoreStubServer.class.getName());
+
+  public static final String BATCH_PATH = "/stores/batch";
+
+  private static final TypeReference<List<LegacyStoreChange>> BATCH_TYPE =
+      new TypeReference<>() {};
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final ObjectMapper objectMapper;
+
+  private final Queue<LegacyStoreChange> received = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger batches = new AtomicInteger();
+  private final AtomicInteger failuresToInject = new AtomicInteger();
+  private volatile Duration latency = Duration.ZERO;
+
+  private LegacyStoreStubServer(HttpServer server, int threads, ObjectMapper objectMapper) {
+    this.server = server;
+    this.objectMapper = objectMapper;
+    this.executor = Executors.newFixedThreadPool(threads);
+    server.setExecutor(executor);
+    server.createContext(BATCH_PATH, this::handleBatch);
+    server.start();
+  }
+
+  /** Starts a stub on the loopback interface; port 0 picks a free port. */
+  public static LegacyStoreStubServer start(int port, int threads, ObjectMapper objectMapper)
+      throws IOException {
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    LegacyStoreStubServer stub = new LegacyStoreStubServer(server, threads, objectMapper);
+    LOGGER.info("Legacy store stub server listening on " + stub.batchEndpoint());
+    return stub;
+  }
+
+  public URI batchEndpoint() {
+    InetSocketAddress address = server.getAddress();
+    return URI.create("http://" + address.getHostString() + ":" + address.getPort() + BATCH_PATH);
+  }
+
+  /** Every change received so far, in arrival order. */
+  public List<LegacyStoreChange> received() {
+    return List.copyOf(received);
+  }
+
+  public int batchCount() {
+    return batches.get();
+  }
+
+  /** Delays every response by {@code latency}. */
+  public void setLatency(Duration latency) {
+    this.latency = latency;
+  }
+
+  /** Answers the next {@code count} batches with 503 without keeping their changes. */
+  public void failNext(int count) {
+    failuresToInject.set(count);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdown();
+  }
+
+  private void handleBatch(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      List<LegacyStoreChange> batch;
+      try (InputStream body = exchange.getRequestBody()) {
+        batch = objectMapper.readValue(body, BATCH_TYPE);
+      } catch (IOException e) {
+        exchange.sendResponseHeaders(400, -1);
+        return;
+      }
+      pause();
+      if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+        exchange.sendResponseHeaders(503, -1);
+        return;
+      }
+      received.addAll(batch);
+      batches.incrementAndGet();
+      exchange.sendResponseHeaders(204, -1);
+    }
+  }
+
+  private void pause() {
+    if (latency.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(latency.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries store changes to the legacy system. Implementations are free to batch changes; the
+ * returned future completes once the legacy system has accepted the change.
+ */
+public interface LegacyStoreTransport extends AutoCloseable {
+
+  enum Kind {
+    /** Append to the local rolling journal that the legacy system tails. */
+    JOURNAL,
+    /** POST batches to the legacy store service over HTTP. */
+    HTTP
+  }
+
+  CompletableFuture<Void> send(LegacyStoreChange change);
+
+  /**
+   * Sends the changes together, without interleaving other changes where the transport batches;
+   * completes once the legacy system has accepted all of them.
+   */
+  default CompletableFuture<Void> sendAll(List<LegacyStoreChange> changes) {
+    return CompletableFuture.allOf(
+        changes.stream().map(this::send).toArray(CompletableFuture[]::new));
+  }
+
+  @Override
+  default void close() {}
+}
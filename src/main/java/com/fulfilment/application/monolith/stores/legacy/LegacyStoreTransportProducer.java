@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/** Chooses the {@link LegacyStoreTransport} named by {@code legacy-store.transport}. */
+@ApplicationScoped
+public class LegacyStoreTransportProducer {
+
+  @Inject Instance<LegacyStoreJournal> journal;
+
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "legacy-store.transport")
+  LegacyStoreTransport.Kind kind;
+
+  @ConfigProperty(name = "legacy-store.http.url")
+  Optional<URI> url;
+
+  @ConfigProperty(name = "legacy-store.http.batch-size")
+  int batchSize;
+
+  @ConfigProperty(name = "legacy-store.http.linger")
+  Duration linger;
+
+  @ConfigProperty(name = "legacy-store.http.max-in-flight")
+  int maxInFlight;
+
+  @ConfigProperty(name = "legacy-store.http.connect-timeout")
+  Duration connectTimeout;
+
+  @ConfigProperty(name = "legacy-store.http.request-timeout")
+  Duration requestTimeout;
+
+  @ConfigProperty(name = "legacy-store.http.circuit-breaker.failure-threshold")
+  int failureThreshold;
+
+  @ConfigProperty(name = "legacy-store.http.circuit-breaker.open-duration")
+  Duration openDuration;
+
+  @ConfigProperty(name = "legacy-store.http.stub-server.enabled")
+  boolean stubServerEnabled;
+
+  @ConfigProperty(name = "legacy-store.http.stub-server.port")
+  int stubServerPort;
+
+  private LegacyStoreStubServer stubServer;
+
+  @Produces
+  @ApplicationScoped
+  LegacyStoreTransport transport() {
+    if (kind == LegacyStoreTransport.Kind.JOURNAL) {
+      return new JournalLegacyStoreTransport(journal.get(), objectMapper);
+    }
+    return new HttpLegacyStoreTransport(
+        endpoint(),
+        batchSize,
+        linger,
+        maxInFlight,
+        connectTimeout,
+        requestTimeout,
+        new LegacyCircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()),
+        objectMapper);
+  }
+
+  void close(@Disposes LegacyStoreTransport transport) {
+    transport.close();
+  }
+
+  @PreDestroy
+  void stopStubServer() {
+    if (stubServer != null) {
+      stubServer.close();
+    }
+  }
+
+  private URI endpoint() {
+    if (!stubServerEnabled) {
+      return url.orElseThrow(
+          () ->
+              new IllegalStateException(
+                  "legacy-store.http.url must be set when legacy-store.transport=http"));
+    }
+    try {
+      // the whole sync path runs in-process against the stub, e.g. for load tests
+      stubServer = LegacyStoreStubServer.start(stubServerPort, maxInFlight, objectMapper);
+      return stubServer.batchEndpoint();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot start legacy store stub server", e);
+    }
+  }
+}
@@ -9,10 +9,13 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "warehouse")
 @Cacheable
+@NaturalIdCache
 public class DbWarehouse {
 
   @Id @GeneratedValue public Long id;
@@ -20,6 +23,7 @@ public class DbWarehouse {
   @Version
   public Long version;
 
+  @NaturalId
   @Column(unique = true, nullable = false)
   public String businessUnitCode;
 
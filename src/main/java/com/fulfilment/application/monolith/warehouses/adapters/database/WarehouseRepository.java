@@ -1,25 +1,54 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.replica.ReadRouting;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
 import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseRowPage;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
-
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 @ApplicationScoped
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
+  private static final Logger LOGGER = Logger.getLogger(WarehouseRepository.class.getName());
+
+  @Inject ReadRouting readRouting;
+
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   public List<Warehouse> getAll() {
-    return find("archivedAt is null").list().stream().map(DbWarehouse::toWarehouse).toList();
+    return readRouting.read(
+        session ->
+            session
+                .createSelectionQuery(
+                    "FROM DbWarehouse WHERE archivedAt IS NULL", DbWarehouse.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList()
+                .stream()
+                .map(DbWarehouse::toWarehouse)
+                .toList());
   }
 
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   @Transactional
   public void create(Warehouse warehouse) {
     DbWarehouse dbWarehouse = new DbWarehouse();
@@ -34,57 +63,137 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
   }
 
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   public void update(Warehouse warehouse) {
-    getEntityManager().createQuery(
-                    "UPDATE DbWarehouse w SET w.location = :loc, w.capacity = :cap, " +
-                            "w.stock = :stock, w.archivedAt = :archived WHERE w.businessUnitCode = :code")
-            .setParameter("loc", warehouse.location)
-            .setParameter("cap", warehouse.capacity)
-            .setParameter("stock", warehouse.stock)
-            .setParameter("archived", warehouse.archivedAt)
-            .setParameter("code", warehouse.businessUnitCode)
-            .executeUpdate();
-
-    // Clear persistence context to see updates in subsequent queries
+    // a managed entity update only invalidates this warehouse's cache entry and bumps its version,
+    // where a bulk UPDATE would evict the whole DbWarehouse region
+    DbWarehouse dbWarehouse = loadByBusinessUnitCode(getSession(), warehouse.businessUnitCode);
+    if (dbWarehouse == null) {
+      return;
+    }
+    dbWarehouse.location = warehouse.location;
+    dbWarehouse.capacity = warehouse.capacity;
+    dbWarehouse.stock = warehouse.stock;
+    dbWarehouse.archivedAt = warehouse.archivedAt;
+
+    // flush so subsequent queries in this transaction see the change
     getEntityManager().flush();
-    getEntityManager().clear();
   }
 
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   public void remove(Warehouse warehouse) {
     // TODO Auto-generated method stub
     throw new UnsupportedOperationException("Unimplemented method 'remove'");
   }
 
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   @Transactional
   public Warehouse findByBusinessUnitCode(String buCode) {
-    DbWarehouse dbWarehouse = find("businessUnitCode", buCode).firstResult();
-    return dbWarehouse != null ? dbWarehouse.toWarehouse() : null;
+    return readRouting.read(
+        session -> {
+          DbWarehouse dbWarehouse = loadByBusinessUnitCode(session, buCode);
+          return dbWarehouse != null ? dbWarehouse.toWarehouse() : null;
+        });
+  }
+
+  @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
+  public Warehouse findByWarehouseId(Long id) {
+    return readRouting.read(
+        session -> {
+          DbWarehouse dbWarehouse = session.find(DbWarehouse.class, id);
+          return dbWarehouse != null ? dbWarehouse.toWarehouse() : null;
+        });
   }
 
   // This method is used in the archive operation to ensure we have a lock on the warehouse record before updating itList<Warehouse> warehouses = searchQueryObj.getResultList()
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   public Warehouse findByBusinessUnitCodeForUpdate(String buCode) {
-    DbWarehouse dbWarehouse = getEntityManager()
-            .createQuery("SELECT w FROM DbWarehouse w WHERE w.businessUnitCode = :code FOR UPDATE", DbWarehouse.class)
-            .setParameter("code", buCode)
-            .getSingleResult();
+    DbWarehouse dbWarehouse =
+        getSession()
+            .bySimpleNaturalId(DbWarehouse.class)
+            .with(new LockOptions(LockMode.PESSIMISTIC_WRITE))
+            .load(buCode);
     return dbWarehouse != null ? dbWarehouse.toWarehouse() : null;
   }
 
+  /**
+   * Resolves the warehouse through the natural-id cache: the persistence context first, then the
+   * second-level natural-id region, and only then the database.
+   */
+  private static DbWarehouse loadByBusinessUnitCode(Session session, String buCode) {
+    return session.bySimpleNaturalId(DbWarehouse.class).load(buCode);
+  }
+
   @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
   @Transactional
   public SearchWarehouseResult search(SearchWarehouseQuery query) {
-    String baseQuery = buildBaseQuery(query);
-    String countQuery = buildCountQuery(query);
-    String orderByClause = buildOrderBy(query);
+    return readRouting.read(session -> search(session, query));
+  }
+
+  /**
+   * The same search as {@link #search}, read with plain JDBC into the columns the API returns,
+   * without entities or domain models.
+   */
+  @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
+  @Transactional
+  public WarehouseRowPage searchRows(SearchWarehouseQuery query) {
+    return readRouting.read(
+        session -> session.doReturningWork(connection -> searchRows(connection, query)));
+  }
+
+  private static WarehouseRowPage searchRows(Connection connection, SearchWarehouseQuery query)
+      throws SQLException {
+    WarehouseSearchSql sql = WarehouseSearchSql.jdbc(query);
+    long totalCount;
+    try (PreparedStatement count =
+        connection.prepareStatement("SELECT COUNT(*) FROM warehouse" + sql.where())) {
+      bind(count, sql.parameters());
+      try (ResultSet rows = count.executeQuery()) {
+        rows.next();
+        totalCount = rows.getLong(1);
+      }
+    }
 
-    Query searchQueryObj = getEntityManager().createQuery(
-        baseQuery + orderByClause,
+    WarehouseRowPage page = new WarehouseRowPage(query.getPageSize(), totalCount);
+    try (PreparedStatement select =
+        connection.prepareStatement(
+            "SELECT businessUnitCode, location, capacity, stock FROM warehouse" + sql.where()
+                + sql.orderBy() + sql.page())) {
+      bind(select, sql.pageParameters());
+      try (ResultSet rows = select.executeQuery()) {
+        while (rows.next()) {
+          int capacity = rows.getInt(3);
+          boolean hasCapacity = !rows.wasNull();
+          int stock = rows.getInt(4);
+          boolean hasStock = !rows.wasNull();
+          page.add(rows.getString(1), rows.getString(2), capacity, hasCapacity, stock, hasStock);
+        }
+      }
+    }
+    return page;
+  }
+
+  private static void bind(PreparedStatement statement, List<Object> parameters)
+      throws SQLException {
+    for (int i = 0; i < parameters.size(); i++) {
+      statement.setObject(i + 1, parameters.get(i));
+    }
+  }
+
+  private SearchWarehouseResult search(Session session, SearchWarehouseQuery query) {
+    WarehouseSearchSql sql = WarehouseSearchSql.hql(query);
+
+    Query searchQueryObj = session.createQuery(
+        "FROM DbWarehouse" + sql.where() + sql.orderBy(),
         DbWarehouse.class
     );
-    applyQueryParameters(searchQueryObj, query);
+    bind(searchQueryObj, sql.parameters());
     searchQueryObj.setFirstResult(query.getOffset());
     searchQueryObj.setMaxResults(query.getPageSize());
 
@@ -94,62 +203,21 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
             .map(DbWarehouse::toWarehouse)
             .toList();
 
-    Query countQueryObj = getEntityManager().createQuery(countQuery, Long.class);
-    applyQueryParameters(countQueryObj, query);
+    Query countQueryObj =
+        session.createQuery("SELECT COUNT(*) FROM DbWarehouse" + sql.where(), Long.class);
+    bind(countQueryObj, sql.parameters());
     long totalCount = (long) countQueryObj.getSingleResult();
 
-    System.out.println("Search query executed with totalCount: " + totalCount + ", page: " + query.getPage() + ", pageSize: " + query.getPageSize());
+    LOGGER.debug(
+        "Warehouse search matched " + totalCount + " (page " + query.getPage() + ", size "
+            + query.getPageSize() + ")");
 
     return new SearchWarehouseResult(warehouses, totalCount, query.getPage(), query.getPageSize());
   }
 
-  private String buildBaseQuery(SearchWarehouseQuery query) {
-    StringBuilder sql = new StringBuilder("SELECT w FROM DbWarehouse w WHERE w.archivedAt IS NULL");
-
-    if (query.getLocation() != null) {
-      sql.append(" AND w.location = :location");
-    }
-    if (query.getMinCapacity() != null) {
-      sql.append(" AND w.capacity >= :minCapacity");
-    }
-    if (query.getMaxCapacity() != null) {
-      sql.append(" AND w.capacity <= :maxCapacity");
-    }
-
-    return sql.toString();
-  }
-
-  private String buildCountQuery(SearchWarehouseQuery query) {
-    StringBuilder sql = new StringBuilder("SELECT COUNT(w) FROM DbWarehouse w WHERE w.archivedAt IS NULL");
-
-    if (query.getLocation() != null && !query.getLocation().isEmpty()) {
-      sql.append(" AND w.location = :location");
-    }
-    if (query.getMinCapacity() != null) {
-      sql.append(" AND w.capacity >= :minCapacity");
-    }
-    if (query.getMaxCapacity() != null) {
-      sql.append(" AND w.capacity <= :maxCapacity");
-    }
-
-    return sql.toString();
-  }
-
-  private String buildOrderBy(SearchWarehouseQuery query) {
-    String sortField = "capacity".equals(query.getSortBy()) ? "w.capacity" : "w.createdAt";
-    String sortOrder = "desc".equalsIgnoreCase(query.getSortOrder()) ? "DESC" : "ASC";
-    return " ORDER BY " + sortField + " " + sortOrder;
-  }
-
-  private void applyQueryParameters(Query query, SearchWarehouseQuery searchQuery) {
-    if (searchQuery.getLocation() != null && !searchQuery.getLocation().isEmpty()) {
-      query.setParameter("location", searchQuery.getLocation());
-    }
-    if (searchQuery.getMinCapacity() != null) {
-      query.setParameter("minCapacity", searchQuery.getMinCapacity());
-    }
-    if (searchQuery.getMaxCapacity() != null) {
-      query.setParameter("maxCapacity", searchQuery.getMaxCapacity());
+  private static void bind(Query query, List<Object> parameters) {
+    for (int i = 0; i < parameters.size(); i++) {
+      query.setParameter(i + 1, parameters.get(i));
     }
   }
 }
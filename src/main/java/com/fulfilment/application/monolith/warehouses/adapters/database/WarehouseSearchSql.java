@@ -0,0 +1,93 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The filters, sort and page of a warehouse search as query text and parameters, for the HQL and
+ * JDBC searches of {@link WarehouseRepository} and the reactive one. The attributes of {@link
+ * DbWarehouse} have the names of its columns, so one text serves both languages; only the
+ * placeholders differ.
+ */
+public final class WarehouseSearchSql {
+
+  private final IntFunction<String> placeholder;
+  private final String where;
+  private final List<Object> parameters;
+  private final String orderBy;
+  private final int pageSize;
+  private final int offset;
+
+  private WarehouseSearchSql(SearchWarehouseQuery query, IntFunction<String> placeholder) {
+    this.placeholder = placeholder;
+    List<Object> parameters = new ArrayList<>(3);
+    StringBuilder where = new StringBuilder(" WHERE archivedAt IS NULL");
+    if (query.getLocation() != null && !query.getLocation().isEmpty()) {
+      parameters.add(query.getLocation());
+      where.append(" AND location = ").append(placeholder.apply(parameters.size()));
+    }
+    if (query.getMinCapacity() != null) {
+      parameters.add(query.getMinCapacity());
+      where.append(" AND capacity >= ").append(placeholder.apply(parameters.size()));
+    }
+    if (query.getMaxCapacity() != null) {
+      parameters.add(query.getMaxCapacity());
+      where.append(" AND capacity <= ").append(placeholder.apply(parameters.size()));
+    }
+    this.where = where.toString();
+    this.parameters = Collections.unmodifiableList(parameters);
+
+    // only known fields reach the text
+    String sortField = "capacity".equals(query.getSortBy()) ? "capacity" : "createdAt";
+    String sortOrder = "desc".equalsIgnoreCase(query.getSortOrder()) ? "DESC" : "ASC";
+    this.orderBy = " ORDER BY " + sortField + " " + sortOrder;
+    this.pageSize = query.getPageSize();
+    this.offset = query.getOffset();
+  }
+
+  /** With JPA's numbered placeholders: {@code ?1}, {@code ?2}. */
+  public static WarehouseSearchSql hql(SearchWarehouseQuery query) {
+    return new WarehouseSearchSql(query, number -> "?" + number);
+  }
+
+  /** With JDBC's placeholders: {@code ?}. */
+  public static WarehouseSearchSql jdbc(SearchWarehouseQuery query) {
+    return new WarehouseSearchSql(query, number -> "?");
+  }
+
+  /** With PostgreSQL's placeholders: {@code $1}, {@code $2}. */
+  public static WarehouseSearchSql postgres(SearchWarehouseQuery query) {
+    return new WarehouseSearchSql(query, number -> "$" + number);
+  }
+
+  public String where() {
+    return where;
+  }
+
+  /** The values of the placeholders of {@link #where}, in order. */
+  public List<Object> parameters() {
+    return parameters;
+  }
+
+  public String orderBy() {
+    return orderBy;
+  }
+
+  /** LIMIT and OFFSET, with the placeholders that follow those of {@link #where}. */
+  public String page() {
+    return " LIMIT " + placeholder.apply(parameters.size() + 1)
+        + " OFFSET " + placeholder.apply(parameters.size() + 2);
+  }
+
+  /** The values of the placeholders of {@link #where} and {@link #page}, in order. */
+  public List<Object> pageParameters() {
+    List<Object> paged = new ArrayList<>(parameters.size() + 2);
+    paged.addAll(parameters);
+    paged.add(pageSize);
+    paged.add(offset);
+    return paged;
+  }
+}
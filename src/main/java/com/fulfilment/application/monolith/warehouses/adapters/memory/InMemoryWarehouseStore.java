@@ -0,0 +1,225 @@
+package com.fulfilment.application.monolith.warehouses.adapters.memory;
+
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warehouse store held in concurrent sorted maps, for edge nodes, load tests and benchmarks that
+ * should not measure the database. Enabled with {@code warehouse.store=memory} at build time, where
+ * it replaces {@code WarehouseRepository} for the use cases.
+ *
+ * Every warehouse is kept by business unit code; active ones are also indexed by capacity, by
+ * creation time and by location (then capacity), so a search walks one index in the requested
+ * order instead of sorting the whole store. Writers are serialized and readers never lock: a
+ * reader racing a write may see the warehouse in one index before the others, but never a
+ * half-written warehouse, as entries are copies that are replaced and never mutated. Warehouses
+ * get ids from a counter as they are created, like rows from a sequence.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+@IfBuildProperty(name = "warehouse.store", stringValue = "memory")
+@Timed(LatencyHistograms.WAREHOUSE_STORE)
+public class InMemoryWarehouseStore implements WarehouseStore {
+
+  /** An indexed value and the business unit code, which keeps keys unique. */
+  private record Key<V extends Comparable<? super V>>(V value, String code) {
+
+    // a null code sorts before every code of the same value, which makes it a range bound
+    static <V extends Comparable<? super V>> Comparator<Key<V>> order() {
+      return Comparator.comparing(
+              (Key<V> key) -> key.value(), Comparator.nullsFirst(Comparator.<V>naturalOrder()))
+          .thenComparing(Key::code, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+  }
+
+  private final ConcurrentMap<String, Warehouse> byCode = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, String> codesById = new ConcurrentHashMap<>();
+  private final AtomicLong lastId = new AtomicLong();
+  private final ConcurrentSkipListMap<Key<Integer>, Warehouse> byCapacity =
+      new ConcurrentSkipListMap<>(Key.order());
+  private final ConcurrentSkipListMap<Key<LocalDateTime>, Warehouse> byCreatedAt =
+      new ConcurrentSkipListMap<>(Key.order());
+  private final ConcurrentMap<String, ConcurrentSkipListMap<Key<Integer>, Warehouse>> byLocation =
+      new ConcurrentHashMap<>();
+
+  @Override
+  public List<Warehouse> getAll() {
+    List<Warehouse> warehouses = new ArrayList<>(byCreatedAt.size());
+    for (Warehouse warehouse : byCreatedAt.values()) {
+      warehouses.add(copy(warehouse));
+    }
+    return warehouses;
+  }
+
+  @Override
+  public synchronized void create(Warehouse warehouse) {
+    if (byCode.containsKey(warehouse.businessUnitCode)) {
+      throw new IllegalArgumentException(
+          "Warehouse with business unit code '" + warehouse.businessUnitCode + "' already exists");
+    }
+    put(copy(warehouse));
+    codesById.put(lastId.incrementAndGet(), warehouse.businessUnitCode);
+  }
+
+  @Override
+  public synchronized void update(Warehouse warehouse) {
+    // createdAt is immutable, as in the database adapter
+    Warehouse existing = byCode.get(warehouse.businessUnitCode);
+    if (existing == null) {
+      return;
+    }
+    Warehouse updated = copy(warehouse);
+    updated.createdAt = existing.createdAt;
+    unindex(existing);
+    put(updated);
+  }
+
+  @Override
+  public synchronized void remove(Warehouse warehouse) {
+    Warehouse existing = byCode.remove(warehouse.businessUnitCode);
+    if (existing != null) {
+      unindex(existing);
+      codesById.values().remove(warehouse.businessUnitCode);
+    }
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    Warehouse warehouse = byCode.get(buCode);
+    return warehouse == null ? null : copy(warehouse);
+  }
+
+  @Override
+  public Warehouse findByWarehouseId(Long id) {
+    String code = codesById.get(id);
+    return code == null ? null : findByBusinessUnitCode(code);
+  }
+
+  /** There is no row lock to take: a later update replaces the warehouse as a whole. */
+  @Override
+  public Warehouse findByBusinessUnitCodeForUpdate(String businessUnitCode) {
+    return findByBusinessUnitCode(businessUnitCode);
+  }
+
+  @Override
+  public SearchWarehouseResult search(SearchWarehouseQuery query) {
+    boolean byCapacityOrder = "capacity".equals(query.getSortBy());
+    boolean descending = "desc".equalsIgnoreCase(query.getSortOrder());
+    Integer min = query.getMinCapacity();
+    Integer max = query.getMaxCapacity();
+
+    Collection<Warehouse> candidates;
+    boolean ordered;
+    if (query.getLocation() != null && !query.getLocation().isEmpty()) {
+      NavigableMap<Key<Integer>, Warehouse> atLocation = byLocation.get(query.getLocation());
+      candidates = atLocation == null ? List.of() : capacityRange(atLocation, min, max).values();
+      ordered = byCapacityOrder;
+    } else if (byCapacityOrder || min != null || max != null) {
+      candidates = capacityRange(byCapacity, min, max).values();
+      ordered = byCapacityOrder;
+    } else {
+      candidates = byCreatedAt.values();
+      ordered = true;
+    }
+
+    List<Warehouse> matches = new ArrayList<>(candidates);
+    if (!ordered) {
+      matches.sort(
+          Comparator.comparing(
+                  (Warehouse w) -> w.createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+              .thenComparing(w -> w.businessUnitCode));
+    }
+    if (descending) {
+      Collections.reverse(matches);
+    }
+
+    int from = Math.min(query.getOffset(), matches.size());
+    int to = Math.min(from + query.getPageSize(), matches.size());
+    List<Warehouse> page = new ArrayList<>(to - from);
+    for (Warehouse warehouse : matches.subList(from, to)) {
+      page.add(copy(warehouse));
+    }
+    return new SearchWarehouseResult(page, matches.size(), query.getPage(), query.getPageSize());
+  }
+
+  public int size() {
+    return byCode.size();
+  }
+
+  private void put(Warehouse warehouse) {
+    byCode.put(warehouse.businessUnitCode, warehouse);
+    if (warehouse.archivedAt != null) {
+      return;
+    }
+    byCapacity.put(capacityKey(warehouse), warehouse);
+    byCreatedAt.put(new Key<>(warehouse.createdAt, warehouse.businessUnitCode), warehouse);
+    if (warehouse.location != null) {
+      byLocation
+          .computeIfAbsent(
+              warehouse.location, location -> new ConcurrentSkipListMap<>(Key.order()))
+          .put(capacityKey(warehouse), warehouse);
+    }
+  }
+
+  private void unindex(Warehouse warehouse) {
+    byCapacity.remove(capacityKey(warehouse));
+    byCreatedAt.remove(new Key<>(warehouse.createdAt, warehouse.businessUnitCode));
+    if (warehouse.location != null) {
+      Map<Key<Integer>, Warehouse> atLocation = byLocation.get(warehouse.location);
+      if (atLocation != null) {
+        atLocation.remove(capacityKey(warehouse));
+      }
+    }
+  }
+
+  private static NavigableMap<Key<Integer>, Warehouse> capacityRange(
+      NavigableMap<Key<Integer>, Warehouse> index, Integer min, Integer max) {
+    if (min == null && max == null) {
+      return index;
+    }
+    // a capacity bound leaves out warehouses without a capacity, as in SQL
+    NavigableMap<Key<Integer>, Warehouse> range =
+        index.tailMap(new Key<>(min == null ? Integer.MIN_VALUE : min, null), true);
+    if (max != null && max < Integer.MAX_VALUE) {
+      range = range.headMap(new Key<>(max + 1, null), false);
+    }
+    return range;
+  }
+
+  private static Key<Integer> capacityKey(Warehouse warehouse) {
+    return new Key<>(warehouse.capacity, warehouse.businessUnitCode);
+  }
+
+  // callers must not share instances with the store, as with the database adapter
+  private static Warehouse copy(Warehouse warehouse) {
+    Warehouse copy = new Warehouse();
+    copy.businessUnitCode = warehouse.businessUnitCode;
+    copy.location = warehouse.location;
+    copy.capacity = warehouse.capacity;
+    copy.stock = warehouse.stock;
+    copy.createdAt = warehouse.createdAt;
+    copy.archivedAt = warehouse.archivedAt;
+    return copy;
+  }
+}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.warehouses.adapters.metrics;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/** Counts use-case rejections in {@code warehouse.validation.rejections}, per operation and rule. */
+@ApplicationScoped
+public class MicrometerValidationRejectionListener implements ValidationRejectionListener {
+
+  static final String METER = "warehouse.validation.rejections";
+
+  @Inject MeterRegistry meterRegistry;
+
+  @Override
+  public void rejected(String operation, String rule) {
+    meterRegistry.counter(METER, "operation", operation, "rule", rule).increment();
+  }
+}
@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.warehouses.adapters.reactive;
+
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseSearchSql;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warehouse reads on the reactive PostgreSQL client: queries are sent from, and answered on, the
+ * calling event loop, so no thread waits on the database. Enabled with {@code
+ * warehouse.reactive=true} at build time; the blocking {@code WarehouseRepository} stays the store
+ * of the use cases and of all writes.
+ *
+ * The queries are those of {@code WarehouseRepository}, in SQL, as Hibernate Reactive cannot run
+ * next to Hibernate ORM in this application; searches share its {@link WarehouseSearchSql}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "warehouse.reactive", stringValue = "true")
+public class PgWarehouseStore implements ReactiveWarehouseStore {
+
+  private static final String COLUMNS =
+      "SELECT businessUnitCode, location, capacity, stock, createdAt, archivedAt FROM warehouse";
+
+  @Inject PgPool pool;
+
+  @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
+  public Multi<Warehouse> getAll() {
+    return pool.query(COLUMNS + " WHERE archivedAt IS NULL")
+        .execute()
+        .onItem()
+        .transformToMulti(rows -> Multi.createFrom().iterable(rows))
+        .map(PgWarehouseStore::toWarehouse);
+  }
+
+  @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
+  public Uni<Warehouse> findByBusinessUnitCode(String buCode) {
+    return pool.preparedQuery(COLUMNS + " WHERE businessUnitCode = $1")
+        .execute(Tuple.of(buCode))
+        .map(rows -> rows.iterator().hasNext() ? toWarehouse(rows.iterator().next()) : null);
+  }
+
+  @Override
+  @Timed(LatencyHistograms.WAREHOUSE_STORE)
+  public Uni<SearchWarehouseResult> search(SearchWarehouseQuery query) {
+    WarehouseSearchSql sql = WarehouseSearchSql.postgres(query);
+    Uni<List<Warehouse>> page =
+        pool.preparedQuery(COLUMNS + sql.where() + sql.orderBy() + sql.page())
+            .execute(Tuple.tuple(sql.pageParameters()))
+            .map(PgWarehouseStore::toWarehouses);
+    Uni<Long> count =
+        pool.preparedQuery("SELECT COUNT(*) FROM warehouse" + sql.where())
+            .execute(Tuple.tuple(sql.parameters()))
+            .map(rows -> rows.iterator().next().getLong(0));
+    return Uni.combine()
+        .all()
+        .unis(page, count)
+        .asTuple()
+        .map(
+            result ->
+                new SearchWarehouseResult(
+                    result.getItem1(), result.getItem2(), query.getPage(), query.getPageSize()));
+  }
+
+  private static List<Warehouse> toWarehouses(RowSet<Row> rows) {
+    List<Warehouse> warehouses = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      warehouses.add(toWarehouse(row));
+    }
+    return warehouses;
+  }
+
+  // by position: PostgreSQL folds the unquoted column names to lower case
+  private static Warehouse toWarehouse(Row row) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = row.getString(0);
+    warehouse.location = row.getString(1);
+    warehouse.capacity = row.getInteger(2);
+    warehouse.stock = row.getInteger(3);
+    warehouse.createdAt = row.getLocalDateTime(4);
+    warehouse.archivedAt = row.getLocalDateTime(5);
+    return warehouse;
+  }
+}
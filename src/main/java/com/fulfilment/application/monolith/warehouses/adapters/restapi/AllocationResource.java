@@ -0,0 +1,35 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocateOrdersOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.List;
+
+/** Plans which warehouses ship a batch of order lines. Nothing is persisted. */
+@Path("allocation")
+@ApplicationScoped
+@Produces("application/json")
+@Consumes("application/json")
+public class AllocationResource {
+
+  @Inject AllocateOrdersOperation allocateOrdersOperation;
+
+  @POST
+  public AllocationResult allocate(List<OrderLine> lines) {
+    if (lines == null || lines.isEmpty()) {
+      throw new WebApplicationException("Order lines were not set on request.", 422);
+    }
+    try {
+      return allocateOrdersOperation.allocate(lines);
+    } catch (IllegalArgumentException e) {
+      throw new WebApplicationException(e.getMessage(), 400);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.warehouse.api.beans.SearchWarehouseResponse;
+import com.warehouse.api.beans.Warehouse;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * The warehouse reads of {@code /warehouse} on the event loop, with the same parameters and
+ * responses. Writes stay on the blocking endpoints, which run the validating use cases.
+ */
+@Path("reactive/warehouse")
+@ApplicationScoped
+@Produces("application/json")
+@IfBuildProperty(name = "warehouse.reactive", stringValue = "true")
+public class ReactiveWarehouseResource {
+
+  @Inject ReactiveWarehouseStore warehouseStore;
+
+  @GET
+  @Timed(LatencyHistograms.REST_OPERATION)
+  public Multi<Warehouse> listAllWarehousesUnits() {
+    return warehouseStore.getAll().map(WarehouseApiMapper::toResponse);
+  }
+
+  @GET
+  @Path("search")
+  @Timed(LatencyHistograms.REST_OPERATION)
+  public Uni<SearchWarehouseResponse> search(
+      @QueryParam("location") String location,
+      @QueryParam("minCapacity") String minCapacity,
+      @QueryParam("maxCapacity") String maxCapacity,
+      @QueryParam("sortBy") String sortBy,
+      @QueryParam("sortOrder") String sortOrder,
+      @QueryParam("page") String page,
+      @QueryParam("pageSize") String pageSize) {
+    SearchWarehouseQuery query =
+        new SearchWarehouseQuery(
+            location,
+            parse(minCapacity, null),
+            parse(maxCapacity, null),
+            sortBy,
+            sortOrder,
+            parse(page, 0),
+            parse(pageSize, 10));
+    return warehouseStore
+        .search(query)
+        .map(
+            result ->
+                WarehouseApiMapper.toSearchResponse(
+                    result.getWarehouses().stream().map(WarehouseApiMapper::toResponse).toList(),
+                    result.getTotalCount(),
+                    result.getPage(),
+                    result.getPageSize()));
+  }
+
+  @GET
+  @Path("{id}")
+  @Timed(LatencyHistograms.REST_OPERATION)
+  public Uni<Warehouse> getAWarehouseUnitByID(@PathParam("id") String id) {
+    return warehouseStore
+        .findByBusinessUnitCode(id)
+        .map(
+            warehouse -> {
+              if (warehouse == null) {
+                throw new WebApplicationException(
+                    "Warehouse with business unit code '" + id + "' not found", 404);
+              }
+              return WarehouseApiMapper.toResponse(warehouse);
+            });
+  }
+
+  // unparsable values fall back to the default, as on the blocking endpoint
+  private static Integer parse(String value, Integer defaultValue) {
+    return value != null && NumberUtils.isParsable(value) ? Integer.valueOf(value) : defaultValue;
+  }
+}
@@ -0,0 +1,31 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.warehouse.api.beans.SearchWarehouseResponse;
+import com.warehouse.api.beans.Warehouse;
+import java.util.List;
+
+/** Maps domain warehouses to the generated API beans. */
+public final class WarehouseApiMapper {
+
+  private WarehouseApiMapper() {}
+
+  public static Warehouse toResponse(
+      com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
+    var response = new Warehouse();
+    response.setBusinessUnitCode(warehouse.businessUnitCode);
+    response.setLocation(warehouse.location);
+    response.setCapacity(warehouse.capacity);
+    response.setStock(warehouse.stock);
+    return response;
+  }
+
+  public static SearchWarehouseResponse toSearchResponse(
+      List<Warehouse> warehouses, long totalCount, int page, int pageSize) {
+    SearchWarehouseResponse response = new SearchWarehouseResponse();
+    response.setData(warehouses);
+    response.setTotalCount((int) totalCount);
+    response.setPage(page);
+    response.setPageSize(pageSize);
+    return response;
+  }
+}
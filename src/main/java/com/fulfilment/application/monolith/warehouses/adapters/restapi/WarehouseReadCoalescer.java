@@ -0,0 +1,89 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.execution.SingleFlight;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseRowPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Shares one database load among concurrent identical warehouse GETs, so a burst of clients asking
+ * for the same warehouse or search costs one query. Only the GET endpoints go through here: the
+ * use cases read inside their own transactions. Requests read from the primary and from the
+ * replica never share a load.
+ *
+ * Callers of one load receive the same instances and must not modify them.
+ */
+@ApplicationScoped
+public class WarehouseReadCoalescer {
+
+  private record Get(String businessUnitCode, boolean replica) {}
+
+  private record Search(
+      String location,
+      Integer minCapacity,
+      Integer maxCapacity,
+      String sortBy,
+      String sortOrder,
+      int page,
+      int pageSize,
+      boolean replica) {}
+
+  private final ReadRouting readRouting;
+  private final SingleFlight<Get, Warehouse> gets;
+  private final SingleFlight<Search, SearchWarehouseResult> searches;
+  private final SingleFlight<Search, WarehouseRowPage> rowSearches;
+
+  @Inject
+  public WarehouseReadCoalescer(
+      @ConfigProperty(name = "warehouse.read-coalescing.timeout") Duration timeout,
+      ReadRouting readRouting,
+      MeterRegistry meterRegistry) {
+    this.readRouting = readRouting;
+    this.gets = new SingleFlight<>(timeout, coalesced(meterRegistry, "get")::increment);
+    Counter coalescedSearches = coalesced(meterRegistry, "search");
+    this.searches = new SingleFlight<>(timeout, coalescedSearches::increment);
+    this.rowSearches = new SingleFlight<>(timeout, coalescedSearches::increment);
+  }
+
+  public Warehouse findByBusinessUnitCode(String businessUnitCode, Supplier<Warehouse> loader) {
+    return gets.load(new Get(businessUnitCode, readRouting.onReplica()), loader);
+  }
+
+  public SearchWarehouseResult search(
+      SearchWarehouseQuery query, Supplier<SearchWarehouseResult> loader) {
+    return searches.load(key(query), loader);
+  }
+
+  public WarehouseRowPage searchRows(
+      SearchWarehouseQuery query, Supplier<WarehouseRowPage> loader) {
+    return rowSearches.load(key(query), loader);
+  }
+
+  private Search key(SearchWarehouseQuery query) {
+    return new Search(
+        query.getLocation(),
+        query.getMinCapacity(),
+        query.getMaxCapacity(),
+        query.getSortBy(),
+        query.getSortOrder(),
+        query.getPage(),
+        query.getPageSize(),
+        readRouting.onReplica());
+  }
+
+  private static Counter coalesced(MeterRegistry meterRegistry, String operation) {
+    return Counter.builder("warehouse.reads.coalesced")
+        .description("Warehouse reads answered by a load another request already had in flight")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+}
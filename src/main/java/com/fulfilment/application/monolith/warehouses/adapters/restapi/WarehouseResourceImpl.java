@@ -1,31 +1,45 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
-import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.execution.VirtualThreadDispatch;
+import com.fulfilment.application.monolith.metrics.LatencyHistograms;
+import com.fulfilment.application.monolith.replica.ReplicaReads;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseArchivedEvent;
 import com.fulfilment.application.monolith.warehouses.domain.ports.*;
 import com.warehouse.api.WarehouseResource;
 import com.warehouse.api.beans.SearchWarehouseResponse;
 import com.warehouse.api.beans.Warehouse;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.WebApplicationException;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.util.List;
 
 @RequestScoped
+@Timed(LatencyHistograms.REST_OPERATION)
+@VirtualThreadDispatch
+@ReplicaReads
 public class WarehouseResourceImpl implements WarehouseResource {
 
-  @Inject private WarehouseRepository warehouseRepository;
+  @Inject private WarehouseStore warehouseStore;
   @Inject private CreateWarehouseOperation createWarehouseOperation;
   @Inject private ArchiveWarehouseOperation archiveWarehouseOperation;
   @Inject private ReplaceWarehouseOperation replaceWarehouseOperation;
   @Inject private SearchWarehouseOperation searchWarehouseOperation;
+  @Inject private WarehouseReadCoalescer readCoalescer;
+  @Inject private Event<WarehouseArchivedEvent> warehouseArchived;
+
+  @ConfigProperty(name = "warehouse.search.direct-rows")
+  boolean directRows;
 
   @Override
   public List<Warehouse> listAllWarehousesUnits() {
-    return warehouseRepository.getAll().stream().map(this::toWarehouseResponse).toList();
+    return warehouseStore.getAll().stream().map(this::toWarehouseResponse).toList();
   }
 
   @Override
@@ -53,7 +67,9 @@ public class WarehouseResourceImpl implements WarehouseResource {
   @Override
   public Warehouse getAWarehouseUnitByID(String id) {
     // Find warehouse by business unit code
-    var domainWarehouse = warehouseRepository.findByBusinessUnitCode(id);
+    var domainWarehouse =
+        readCoalescer.findByBusinessUnitCode(
+            id, () -> warehouseStore.findByBusinessUnitCode(id));
 
     if (domainWarehouse == null) {
       throw new WebApplicationException("Warehouse with business unit code '" + id + "' not found", 404);
@@ -70,8 +86,8 @@ public class WarehouseResourceImpl implements WarehouseResource {
     }
 
 
-    // Find warehouse by id
-    var domainWarehouse = warehouseRepository.find("id", Long.parseLong(id)).firstResult();
+    // Find warehouse by id, in whichever store holds the warehouses
+    var domainWarehouse = warehouseStore.findByWarehouseId(Long.parseLong(id));
 
     if (domainWarehouse == null) {
       throw new WebApplicationException("Warehouse with business unit code '" + id + "' not found", 404);
@@ -79,7 +95,8 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
     try {
       // Archive warehouse through use case (includes validations)
-      archiveWarehouseOperation.archive(domainWarehouse.toWarehouse());
+      archiveWarehouseOperation.archive(domainWarehouse);
+      warehouseArchived.fire(new WarehouseArchivedEvent(domainWarehouse.businessUnitCode));
     } catch (IllegalArgumentException e) {
       throw new WebApplicationException(e.getMessage(), 400);
     }
@@ -101,7 +118,7 @@ public class WarehouseResourceImpl implements WarehouseResource {
       replaceWarehouseOperation.replace(domainWarehouse);
 
       // Return the updated warehouse
-      var updated = warehouseRepository.findByBusinessUnitCode(businessUnitCode);
+      var updated = warehouseStore.findByBusinessUnitCode(businessUnitCode);
       return toWarehouseResponse(updated);
     } catch (IllegalArgumentException e) {
       throw new WebApplicationException(e.getMessage(), 400);
@@ -122,7 +139,6 @@ public class WarehouseResourceImpl implements WarehouseResource {
    */
   @Override
   public SearchWarehouseResponse searchWarehousesWithOptionalFiltersSortingAndPagination(String location, String minCapacity, String maxCapacity, String sortBy, String sortOrder, String page, String pageSize) {
-    System.out.println("Entered search with params: location=" + location + ", minCapacity=" + minCapacity + ", maxCapacity=" + maxCapacity + ", sortBy=" + sortBy + ", sortOrder=" + sortOrder + ", page=" + page + ", pageSize=" + pageSize);
     Integer minCapacityInt = null;
     if (minCapacity != null && NumberUtils.isParsable(minCapacity)) {
       minCapacityInt = Integer.parseInt(minCapacity);
@@ -146,7 +162,14 @@ public class WarehouseResourceImpl implements WarehouseResource {
     SearchWarehouseQuery query =
             new SearchWarehouseQuery(location, minCapacityInt, maxCapacityInt, sortBy, sortOrder, pageInt, pageSizeInt);
 
-    SearchWarehouseResult result = searchWarehouseOperation.search(query);
+    if (directRows) {
+      WarehouseRowPage rows =
+              readCoalescer.searchRows(query, () -> warehouseStore.searchRows(query));
+      return new WarehouseRowsResponse(rows, query.getPage(), query.getPageSize());
+    }
+
+    SearchWarehouseResult result =
+            readCoalescer.search(query, () -> searchWarehouseOperation.search(query));
 
     List<Warehouse> responseWarehouses =
             result.getWarehouses().stream().map(this::toWarehouseResponse).toList();
@@ -156,24 +179,12 @@ public class WarehouseResourceImpl implements WarehouseResource {
   }
 
   private SearchWarehouseResponse toSearchResponse(List<Warehouse> responseWarehouses, long totalCount, int page, int pageSize) {
-    SearchWarehouseResponse response = new SearchWarehouseResponse();
-    response.setData(responseWarehouses);
-    response.setTotalCount((int)totalCount);
-    System.out.println("got total count: " + response.getTotalCount());
-    response.setPage(page);
-    response.setPageSize(pageSize);
-    return response;
+    return WarehouseApiMapper.toSearchResponse(responseWarehouses, totalCount, page, pageSize);
   }
 
 
   private Warehouse toWarehouseResponse(
           com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
-    var response = new Warehouse();
-    response.setBusinessUnitCode(warehouse.businessUnitCode);
-    response.setLocation(warehouse.location);
-    response.setCapacity(warehouse.capacity);
-    response.setStock(warehouse.stock);
-
-    return response;
+    return WarehouseApiMapper.toResponse(warehouse);
   }
 }
@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseRowPage;
+import com.warehouse.api.beans.SearchWarehouseResponse;
+import com.warehouse.api.beans.Warehouse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A search response written by {@link Serializer} straight from a {@link WarehouseRowPage}, with
+ * no API bean per warehouse. The JSON is the same as that of the mapped response; {@link
+ * #getData()} builds the beans only for callers other than Jackson.
+ */
+@JsonSerialize(using = WarehouseRowsResponse.Serializer.class)
+public class WarehouseRowsResponse extends SearchWarehouseResponse {
+
+  private final WarehouseRowPage rows;
+
+  public WarehouseRowsResponse(WarehouseRowPage rows, int page, int pageSize) {
+    this.rows = rows;
+    setTotalCount((int) rows.totalCount());
+    setPage(page);
+    setPageSize(pageSize);
+  }
+
+  @Override
+  public List<Warehouse> getData() {
+    List<Warehouse> data = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      Warehouse warehouse = new Warehouse();
+      warehouse.setBusinessUnitCode(rows.businessUnitCode(i));
+      warehouse.setLocation(rows.location(i));
+      warehouse.setCapacity(rows.hasCapacity(i) ? rows.capacity(i) : null);
+      warehouse.setStock(rows.hasStock(i) ? rows.stock(i) : null);
+      data.add(warehouse);
+    }
+    return data;
+  }
+
+  /** Writes the properties in the order, and with the null handling, of the generated beans. */
+  static final class Serializer extends StdSerializer<WarehouseRowsResponse> {
+
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString BUSINESS_UNIT_CODE =
+        new SerializedString("businessUnitCode");
+    private static final SerializableString LOCATION = new SerializedString("location");
+    private static final SerializableString CAPACITY = new SerializedString("capacity");
+    private static final SerializableString STOCK = new SerializedString("stock");
+    private static final SerializableString TOTAL_COUNT = new SerializedString("totalCount");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+
+    Serializer() {
+      super(WarehouseRowsResponse.class);
+    }
+
+    @Override
+    public void serialize(
+        WarehouseRowsResponse response, JsonGenerator json, SerializerProvider provider)
+        throws IOException {
+      WarehouseRowPage rows = response.rows;
+      json.writeStartObject();
+      json.writeFieldName(DATA);
+      json.writeStartArray();
+      for (int i = 0; i < rows.size(); i++) {
+        json.writeStartObject();
+        writeString(json, BUSINESS_UNIT_CODE, rows.businessUnitCode(i));
+        writeString(json, LOCATION, rows.location(i));
+        if (rows.hasCapacity(i)) {
+          json.writeFieldName(CAPACITY);
+          json.writeNumber(rows.capacity(i));
+        }
+        if (rows.hasStock(i)) {
+          json.writeFieldName(STOCK);
+          json.writeNumber(rows.stock(i));
+        }
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      writeNumber(json, TOTAL_COUNT, response.getTotalCount());
+      writeNumber(json, PAGE, response.getPage());
+      writeNumber(json, PAGE_SIZE, response.getPageSize());
+      writeNumber(json, TOTAL_PAGES, response.getTotalPages());
+      json.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator json, SerializableString name, String value)
+        throws IOException {
+      if (value != null) {
+        json.writeFieldName(name);
+        json.writeString(value);
+      }
+    }
+
+    private static void writeNumber(JsonGenerator json, SerializableString name, Integer value)
+        throws IOException {
+      if (value != null) {
+        json.writeFieldName(name);
+        json.writeNumber(value.intValue());
+      }
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import java.util.Map;
+
+/**
+ * How an order line is shipped: quantities per warehouse business unit code, and what could not be
+ * allocated for lack of stock.
+ */
+public record LineAllocation(OrderLine line, Map<String, Integer> shipments, int unallocated) {}
@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/** A quantity of a product to be shipped to a store. */
+public record OrderLine(Long productId, int quantity, Long storeId) {}
@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/** Fired inside the transaction that archives a warehouse without replacing it. */
+public record WarehouseArchivedEvent(String businessUnitCode) {}
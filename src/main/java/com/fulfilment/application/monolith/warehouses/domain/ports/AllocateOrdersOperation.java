@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import java.util.List;
+
+public interface AllocateOrdersOperation {
+  AllocationResult allocate(List<OrderLine> lines);
+}
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/** Which warehouses may ship a product to a store. */
+public interface AllocationCandidates {
+
+  record StoreProduct(Long storeId, Long productId) {}
+
+  /**
+   * The warehouses assigned to the store and product of each line. Pairs without an entry may be
+   * served by any active warehouse.
+   */
+  Map<StoreProduct, List<String>> warehousesFor(Collection<OrderLine> lines);
+}
@@ -0,0 +1,10 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LineAllocation;
+import java.util.List;
+
+/**
+ * Allocations in the order of the requested lines. {@code shipments} counts the distinct
+ * warehouse-to-store shipments of the whole batch, the number the allocation tries to keep low.
+ */
+public record AllocationResult(List<LineAllocation> allocations, int shipments) {}
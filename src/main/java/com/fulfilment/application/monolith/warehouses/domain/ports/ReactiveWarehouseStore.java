@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+/** Non-blocking reads of the warehouse store, for callers on the event loop. */
+public interface ReactiveWarehouseStore {
+
+  /** Active warehouses. */
+  Multi<Warehouse> getAll();
+
+  /** The warehouse, archived or not; null when there is none. */
+  Uni<Warehouse> findByBusinessUnitCode(String buCode);
+
+  Uni<SearchWarehouseResult> search(SearchWarehouseQuery query);
+}
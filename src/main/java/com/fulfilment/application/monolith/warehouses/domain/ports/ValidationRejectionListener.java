@@ -0,0 +1,10 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+/** Told of every request a use case rejects, by operation and by the rule it broke. */
+public interface ValidationRejectionListener {
+
+  /** For use cases built outside the application, such as in benchmarks and unit tests. */
+  ValidationRejectionListener NONE = (operation, rule) -> {};
+
+  void rejected(String operation, String rule);
+}
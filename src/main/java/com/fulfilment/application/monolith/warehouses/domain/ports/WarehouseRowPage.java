@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import java.util.BitSet;
+
+/**
+ * One page of warehouse search results as the columns the API returns, which the database store
+ * reads straight from the result set: no entity, domain model or API bean per warehouse, and
+ * capacities and stocks are not boxed. A null capacity or stock is recorded as absent.
+ */
+public final class WarehouseRowPage {
+
+  private final String[] businessUnitCodes;
+  private final String[] locations;
+  private final int[] capacities;
+  private final int[] stocks;
+  private final BitSet absent = new BitSet();
+  private final long totalCount;
+  private int size;
+
+  public WarehouseRowPage(int capacity, long totalCount) {
+    this.businessUnitCodes = new String[capacity];
+    this.locations = new String[capacity];
+    this.capacities = new int[capacity];
+    this.stocks = new int[capacity];
+    this.totalCount = totalCount;
+  }
+
+  public void add(
+      String businessUnitCode,
+      String location,
+      int capacity,
+      boolean hasCapacity,
+      int stock,
+      boolean hasStock) {
+    businessUnitCodes[size] = businessUnitCode;
+    locations[size] = location;
+    capacities[size] = capacity;
+    stocks[size] = stock;
+    if (!hasCapacity) {
+      absent.set(2 * size);
+    }
+    if (!hasStock) {
+      absent.set(2 * size + 1);
+    }
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long totalCount() {
+    return totalCount;
+  }
+
+  public String businessUnitCode(int row) {
+    return businessUnitCodes[row];
+  }
+
+  public String location(int row) {
+    return locations[row];
+  }
+
+  public boolean hasCapacity(int row) {
+    return !absent.get(2 * row);
+  }
+
+  public int capacity(int row) {
+    return capacities[row];
+  }
+
+  public boolean hasStock(int row) {
+    return !absent.get(2 * row + 1);
+  }
+
+  public int stock(int row) {
+    return stocks[row];
+  }
+}
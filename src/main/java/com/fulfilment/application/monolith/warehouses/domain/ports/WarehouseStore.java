@@ -15,7 +15,30 @@ public interface WarehouseStore {
 
   Warehouse findByBusinessUnitCode(String buCode);
 
+  /** The warehouse the store keeps under {@code id}, archived or not; null if there is none. */
+  Warehouse findByWarehouseId(Long id);
+
   Warehouse findByBusinessUnitCodeForUpdate(String businessUnitCode);
 
   SearchWarehouseResult search(SearchWarehouseQuery query);
+
+  /**
+   * The same search as {@link #search}, as the columns the API returns. Stores that can read them
+   * without building warehouses override it.
+   */
+  default WarehouseRowPage searchRows(SearchWarehouseQuery query) {
+    SearchWarehouseResult result = search(query);
+    WarehouseRowPage rows =
+        new WarehouseRowPage(result.getWarehouses().size(), result.getTotalCount());
+    for (Warehouse warehouse : result.getWarehouses()) {
+      rows.add(
+          warehouse.businessUnitCode,
+          warehouse.location,
+          warehouse.capacity == null ? 0 : warehouse.capacity,
+          warehouse.capacity != null,
+          warehouse.stock == null ? 0 : warehouse.stock,
+          warehouse.stock != null);
+    }
+    return rows;
+  }
 }
@@ -0,0 +1,259 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LineAllocation;
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocateOrdersOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationCandidates;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationCandidates.StoreProduct;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Chooses the warehouses that ship each order line.
+ *
+ * Lines are grouped by destination store, since every warehouse that ships to a store is one
+ * shipment. Within a store the largest lines go first; a line goes whole to a warehouse already
+ * shipping to the store if one has the stock, otherwise whole to the candidate warehouse that could
+ * also cover most of the store's remaining lines, and is only split when no single warehouse holds
+ * enough. Stores that can draw on a common warehouse compete for its stock, so they form one
+ * group that is allocated in store order by a single task; groups share no warehouse and are
+ * allocated in parallel with fork/join. The result is the same as allocating every store in order.
+ */
+@ApplicationScoped
+public class AllocateOrdersUseCase implements AllocateOrdersOperation {
+
+  // groups are split across fork/join tasks only while a task holds more stores than this
+  static final int STORES_PER_TASK = 32;
+
+  private final WarehouseStore warehouseStore;
+  private final AllocationCandidates allocationCandidates;
+  private final ValidationRejectionListener rejections;
+
+  public AllocateOrdersUseCase(
+      WarehouseStore warehouseStore,
+      AllocationCandidates allocationCandidates,
+      ValidationRejectionListener rejections) {
+    this.warehouseStore = warehouseStore;
+    this.allocationCandidates = allocationCandidates;
+    this.rejections = rejections;
+  }
+
+  @Override
+  public AllocationResult allocate(List<OrderLine> lines) {
+    for (OrderLine line : lines) {
+      if (line.productId() == null || line.storeId() == null || line.quantity() <= 0) {
+        throw ValidationRejections.reject(
+          rejections,
+            "allocate",
+            "invalid-line",
+            "Order lines need a product, a store and a positive quantity");
+      }
+    }
+
+    Map<Long, List<Integer>> linesByStore = new LinkedHashMap<>();
+    for (int i = 0; i < lines.size(); i++) {
+      linesByStore.computeIfAbsent(lines.get(i).storeId(), store -> new ArrayList<>()).add(i);
+    }
+    Map<StoreProduct, Set<String>> candidates = new HashMap<>();
+    allocationCandidates
+        .warehousesFor(lines)
+        .forEach((key, warehouses) -> candidates.put(key, new LinkedHashSet<>(warehouses)));
+
+    Batch batch =
+        new Batch(
+            lines,
+            new ArrayList<>(linesByStore.values()),
+            candidates,
+            WarehouseStockSnapshot.of(warehouseStore.getAll()),
+            new LineAllocation[lines.size()],
+            new int[linesByStore.size()]);
+    List<int[]> groups = competingStores(batch);
+    int[] storesBefore = new int[groups.size() + 1];
+    for (int g = 0; g < groups.size(); g++) {
+      storesBefore[g + 1] = storesBefore[g] + groups.get(g).length;
+    }
+    ForkJoinPool.commonPool()
+        .invoke(new AllocateStores(batch, groups, storesBefore, 0, groups.size()));
+
+    return new AllocationResult(
+        Arrays.asList(batch.allocations()), Arrays.stream(batch.shipments()).sum());
+  }
+
+  /**
+   * Groups the stores that share a candidate warehouse, directly or through other stores, in the
+   * order of their first store; each group lists its stores in order.
+   */
+  private static List<int[]> competingStores(Batch batch) {
+    int[] parent = new int[batch.stores().size()];
+    Arrays.setAll(parent, i -> i);
+    Map<String, Integer> firstStore = new HashMap<>();
+    for (int store = 0; store < parent.length; store++) {
+      for (int line : batch.stores().get(store)) {
+        for (String warehouse : batch.candidatesFor(batch.lines().get(line))) {
+          Integer other = firstStore.putIfAbsent(warehouse, store);
+          if (other != null) {
+            // the lower store becomes the root, so roots are the first store of their group
+            int a = root(parent, store);
+            int b = root(parent, other);
+            parent[Math.max(a, b)] = Math.min(a, b);
+          }
+        }
+      }
+    }
+    Map<Integer, List<Integer>> byRoot = new LinkedHashMap<>();
+    for (int store = 0; store < parent.length; store++) {
+      byRoot.computeIfAbsent(root(parent, store), r -> new ArrayList<>()).add(store);
+    }
+    List<int[]> groups = new ArrayList<>(byRoot.size());
+    byRoot.values().forEach(g -> groups.add(g.stream().mapToInt(Integer::intValue).toArray()));
+    return groups;
+  }
+
+  private static int root(int[] parent, int store) {
+    while (parent[store] != store) {
+      parent[store] = parent[parent[store]];
+      store = parent[store];
+    }
+    return store;
+  }
+
+  /** Shared state of one allocation; each task writes only the slots of its own stores. */
+  private record Batch(
+      List<OrderLine> lines,
+      List<List<Integer>> stores,
+      Map<StoreProduct, Set<String>> candidates,
+      WarehouseStockSnapshot stock,
+      LineAllocation[] allocations,
+      int[] shipments) {
+
+    /** Warehouses allowed to ship the line; every active warehouse when none are assigned. */
+    Set<String> candidatesFor(OrderLine line) {
+      return candidates.getOrDefault(
+          new StoreProduct(line.storeId(), line.productId()), stock.warehouses());
+    }
+  }
+
+  private static final class AllocateStores extends RecursiveAction {
+
+    private final Batch batch;
+    private final List<int[]> groups;
+    private final int[] storesBefore;
+    private final int from;
+    private final int to;
+
+    AllocateStores(Batch batch, List<int[]> groups, int[] storesBefore, int from, int to) {
+      this.batch = batch;
+      this.groups = groups;
+      this.storesBefore = storesBefore;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1 || storesBefore[to] - storesBefore[from] <= STORES_PER_TASK) {
+        for (int group = from; group < to; group++) {
+          for (int store : groups.get(group)) {
+            batch.shipments()[store] = allocateStore(batch, batch.stores().get(store));
+          }
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new AllocateStores(batch, groups, storesBefore, from, middle),
+          new AllocateStores(batch, groups, storesBefore, middle, to));
+    }
+  }
+
+  /** Allocates the lines of one store; returns the number of warehouses shipping to it. */
+  private static int allocateStore(Batch batch, List<Integer> lineIndexes) {
+    List<OrderLine> pending = new ArrayList<>(lineIndexes.size());
+    List<Integer> order = new ArrayList<>(lineIndexes);
+    order.sort(Comparator.comparingInt((Integer i) -> batch.lines().get(i).quantity()).reversed());
+    order.forEach(i -> pending.add(batch.lines().get(i)));
+
+    Set<String> shipping = new LinkedHashSet<>();
+    for (int position = 0; position < order.size(); position++) {
+      OrderLine line = pending.get(position);
+      List<OrderLine> rest = pending.subList(position + 1, pending.size());
+      batch.allocations()[order.get(position)] = allocateLine(batch, line, rest, shipping);
+    }
+    return shipping.size();
+  }
+
+  private static LineAllocation allocateLine(
+      Batch batch, OrderLine line, List<OrderLine> rest, Set<String> shipping) {
+    WarehouseStockSnapshot stock = batch.stock();
+    Set<String> candidates = batch.candidatesFor(line);
+    Map<String, Integer> shipments = new LinkedHashMap<>();
+
+    String whole = null;
+    long bestScore = -1;
+    for (String warehouse : candidates) {
+      int available = stock.available(warehouse);
+      if (available < line.quantity()) {
+        continue;
+      }
+      // an existing shipment beats any other; then coverage of the store's other lines
+      long score =
+          shipping.contains(warehouse)
+              ? Long.MAX_VALUE
+              : (long) coverage(batch, warehouse, rest) << 32 | available;
+      if (score > bestScore) {
+        bestScore = score;
+        whole = warehouse;
+      }
+    }
+    // no other task allocates from the store's candidates, so the stock is still there
+    if (whole != null && stock.tryTake(whole, line.quantity())) {
+      shipments.put(whole, line.quantity());
+      shipping.add(whole);
+      return new LineAllocation(line, shipments, 0);
+    }
+
+    // no single warehouse holds the line: split, starting with warehouses already shipping
+    List<String> split = new ArrayList<>(candidates);
+    split.sort(
+        Comparator.comparing((String warehouse) -> !shipping.contains(warehouse))
+            .thenComparing(Comparator.comparingInt(stock::available).reversed()));
+    int remaining = line.quantity();
+    for (String warehouse : split) {
+      int taken = stock.takeUpTo(warehouse, remaining);
+      if (taken > 0) {
+        shipments.put(warehouse, taken);
+        shipping.add(warehouse);
+        remaining -= taken;
+        if (remaining == 0) {
+          break;
+        }
+      }
+    }
+    return new LineAllocation(line, shipments, remaining);
+  }
+
+  /** How many of {@code lines} the warehouse could ship whole with its current stock. */
+  private static int coverage(Batch batch, String warehouse, List<OrderLine> lines) {
+    int available = batch.stock().available(warehouse);
+    int covered = 0;
+    for (OrderLine line : lines) {
+      if (line.quantity() <= available && batch.candidatesFor(line).contains(warehouse)) {
+        covered++;
+      }
+    }
+    return covered;
+  }
+}
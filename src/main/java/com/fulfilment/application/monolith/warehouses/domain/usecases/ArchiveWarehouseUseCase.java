@@ -2,6 +2,7 @@ package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -9,9 +10,12 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
+  private final ValidationRejectionListener rejections;
 
-  public ArchiveWarehouseUseCase(WarehouseStore warehouseStore) {
+  public ArchiveWarehouseUseCase(
+      WarehouseStore warehouseStore, ValidationRejectionListener rejections) {
     this.warehouseStore = warehouseStore;
+    this.rejections = rejections;
   }
 
   @Override
@@ -19,13 +23,19 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
     // Validation 1: Warehouse must exist
     Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
     if (existing == null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "archive",
+          "not-found",
           "Warehouse with business unit code '" + warehouse.businessUnitCode + "' does not exist");
     }
 
     // Validation 2: Warehouse must not already be archived
     if (existing.archivedAt != null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "archive",
+          "already-archived",
           "Warehouse with business unit code '" + warehouse.businessUnitCode + "' is already archived");
     }
 
@@ -4,6 +4,7 @@ import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
@@ -13,10 +14,15 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
   private final LocationResolver locationResolver;
+  private final ValidationRejectionListener rejections;
 
-  public CreateWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+  public CreateWarehouseUseCase(
+      WarehouseStore warehouseStore,
+      LocationResolver locationResolver,
+      ValidationRejectionListener rejections) {
     this.warehouseStore = warehouseStore;
     this.locationResolver = locationResolver;
+    this.rejections = rejections;
   }
 
   @Override
@@ -24,28 +30,40 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
     // Validation 1: Business unit code must be unique
     Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
     if (existing != null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "create",
+          "duplicate-code",
           "Warehouse with business unit code '" + warehouse.businessUnitCode + "' already exists");
     }
 
     // Validation 2: Location must be valid (must exist)
     Location location = locationResolver.resolveByIdentifier(warehouse.location);
     if (location == null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "create",
+          "invalid-location",
           "Location '" + warehouse.location + "' is not valid");
     }
 
     // Validation 3: Capacity validation
     // - Capacity cannot exceed location's max capacity
     if (warehouse.capacity > location.maxCapacity()) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "create",
+          "capacity-exceeds-location",
           "Warehouse capacity (" + warehouse.capacity + 
           ") exceeds location max capacity (" + location.maxCapacity() + ")");
     }
 
     // - Stock cannot exceed capacity
     if (warehouse.stock > warehouse.capacity) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "create",
+          "stock-exceeds-capacity",
           "Warehouse stock (" + warehouse.stock + 
           ") exceeds warehouse capacity (" + warehouse.capacity + ")");
     }
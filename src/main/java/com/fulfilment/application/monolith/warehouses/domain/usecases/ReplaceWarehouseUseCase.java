@@ -4,6 +4,7 @@ import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -12,10 +13,15 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
   private final LocationResolver locationResolver;
+  private final ValidationRejectionListener rejections;
 
-  public ReplaceWarehouseUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+  public ReplaceWarehouseUseCase(
+      WarehouseStore warehouseStore,
+      LocationResolver locationResolver,
+      ValidationRejectionListener rejections) {
     this.warehouseStore = warehouseStore;
     this.locationResolver = locationResolver;
+    this.rejections = rejections;
   }
 
   @Override
@@ -23,34 +29,49 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     // Validation 1: Warehouse must exist
     Warehouse existing = warehouseStore.findByBusinessUnitCode(newWarehouse.businessUnitCode);
     if (existing == null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "replace",
+          "not-found",
           "Warehouse with business unit code '" + newWarehouse.businessUnitCode + "' does not exist");
     }
 
     // Validation 2: Warehouse must not be archived
     if (existing.archivedAt != null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "replace",
+          "archived",
           "Warehouse with business unit code '" + newWarehouse.businessUnitCode + "' is archived and cannot be replaced");
     }
 
     // Validation 3: Location must be valid
     Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
     if (location == null) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "replace",
+          "invalid-location",
           "Location '" + newWarehouse.location + "' is not valid");
     }
 
     // Validation 4: Capacity validation
     // - Capacity cannot exceed location's max capacity
     if (newWarehouse.capacity > location.maxCapacity()) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "replace",
+          "capacity-exceeds-location",
           "Warehouse capacity (" + newWarehouse.capacity +
           ") exceeds location max capacity (" + location.maxCapacity() + ")");
     }
 
     // - Stock cannot exceed capacity
     if (newWarehouse.stock > newWarehouse.capacity) {
-      throw new IllegalArgumentException(
+      throw ValidationRejections.reject(
+          rejections,
+          "replace",
+          "stock-exceeds-capacity",
           "Warehouse stock (" + newWarehouse.stock +
           ") exceeds warehouse capacity (" + newWarehouse.capacity + ")");
     }
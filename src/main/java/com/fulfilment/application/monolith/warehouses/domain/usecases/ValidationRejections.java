@@ -0,0 +1,15 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+
+final class ValidationRejections {
+
+  private ValidationRejections() {}
+
+  /** Reports the rejection to {@code listener} and returns the exception to throw. */
+  static IllegalArgumentException reject(
+      ValidationRejectionListener listener, String operation, String rule, String message) {
+    listener.rejected(operation, rule);
+    return new IllegalArgumentException(message);
+  }
+}
@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stock of the active warehouses, taken once per allocation batch. Stores that can draw on the
+ * same warehouse are allocated in order on one task, so each warehouse's stock is only taken by
+ * that task; the tasks share this map, and the counters stay atomic.
+ */
+final class WarehouseStockSnapshot {
+
+  private final Map<String, AtomicInteger> available;
+
+  private WarehouseStockSnapshot(Map<String, AtomicInteger> available) {
+    this.available = available;
+  }
+
+  static WarehouseStockSnapshot of(List<Warehouse> warehouses) {
+    Map<String, AtomicInteger> available = new LinkedHashMap<>();
+    for (Warehouse warehouse : warehouses) {
+      if (warehouse.archivedAt == null) {
+        int stock = warehouse.stock == null ? 0 : warehouse.stock;
+        available.put(warehouse.businessUnitCode, new AtomicInteger(Math.max(0, stock)));
+      }
+    }
+    return new WarehouseStockSnapshot(Collections.unmodifiableMap(available));
+  }
+
+  Set<String> warehouses() {
+    return available.keySet();
+  }
+
+  int available(String warehouse) {
+    AtomicInteger stock = available.get(warehouse);
+    return stock == null ? 0 : stock.get();
+  }
+
+  /** Takes all of {@code quantity} or nothing. */
+  boolean tryTake(String warehouse, int quantity) {
+    AtomicInteger stock = available.get(warehouse);
+    if (stock == null) {
+      return false;
+    }
+    int current;
+    do {
+      current = stock.get();
+      if (current < quantity) {
+        return false;
+      }
+    } while (!stock.compareAndSet(current, current - quantity));
+    return true;
+  }
+
+  /** Takes as much of {@code quantity} as is available; returns the amount taken. */
+  int takeUpTo(String warehouse, int quantity) {
+    AtomicInteger stock = available.get(warehouse);
+    if (stock == null) {
+      return 0;
+    }
+    int current;
+    int taken;
+    do {
+      current = stock.get();
+      taken = Math.min(current, quantity);
+      if (taken <= 0) {
+        return 0;
+      }
+    } while (!stock.compareAndSet(current, current - taken));
+    return taken;
+  }
+}
@@ -0,0 +1,162 @@
+package com.fulfilment.application.monolith.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final AtomicInteger coalesced = new AtomicInteger();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final List<Thread> threads = new CopyOnWriteArrayList<>();
+  private final ExecutorService callers =
+      Executors.newFixedThreadPool(
+          8,
+          task -> {
+            Thread thread = new Thread(task);
+            threads.add(thread);
+            return thread;
+          });
+
+  @AfterEach
+  void tearDown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void testConcurrentCallsShareOneLoad() throws Exception {
+    SingleFlight<String, String> flight =
+        new SingleFlight<>(Duration.ofSeconds(10), coalesced::incrementAndGet);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> leader =
+        callers.submit(
+            () ->
+                flight.load(
+                    "MWH.001",
+                    () -> {
+                      loads.incrementAndGet();
+                      loading.countDown();
+                      await(release);
+                      return "loaded";
+                    }));
+    assertTrue(loading.await(10, TimeUnit.SECONDS));
+    List<Future<String>> followers = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      followers.add(callers.submit(() -> flight.load("MWH.001", this::loadAgain)));
+    }
+    awaitBlocked(8);
+    release.countDown();
+
+    assertEquals("loaded", leader.get(10, TimeUnit.SECONDS));
+    for (Future<String> follower : followers) {
+      assertEquals("loaded", follower.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+    assertEquals(7, coalesced.get());
+    assertEquals(0, flight.inFlight());
+  }
+
+  @Test
+  void testWaitersReceiveTheLeadersException() throws Exception {
+    SingleFlight<String, String> flight =
+        new SingleFlight<>(Duration.ofSeconds(10), coalesced::incrementAndGet);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> leader =
+        callers.submit(
+            () ->
+                flight.load(
+                    "MWH.001",
+                    () -> {
+                      loading.countDown();
+                      await(release);
+                      throw new IllegalStateException("database down");
+                    }));
+    assertTrue(loading.await(10, TimeUnit.SECONDS));
+    Future<String> follower = callers.submit(() -> flight.load("MWH.001", this::loadAgain));
+    awaitBlocked(2);
+    release.countDown();
+
+    Exception failure = assertThrows(Exception.class, () -> follower.get(10, TimeUnit.SECONDS));
+    assertEquals("database down", failure.getCause().getMessage());
+    assertThrows(Exception.class, () -> leader.get(10, TimeUnit.SECONDS));
+    assertEquals(0, loads.get());
+    assertEquals(1, coalesced.get());
+  }
+
+  @Test
+  void testWaitersLoadThemselvesAfterTheTimeout() throws Exception {
+    SingleFlight<String, String> flight =
+        new SingleFlight<>(Duration.ofMillis(50), coalesced::incrementAndGet);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> leader =
+        callers.submit(
+            () ->
+                flight.load(
+                    "MWH.001",
+                    () -> {
+                      loading.countDown();
+                      await(release);
+                      return "slow";
+                    }));
+    assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+    assertEquals("again", flight.load("MWH.001", this::loadAgain));
+    release.countDown();
+    assertEquals("slow", leader.get(10, TimeUnit.SECONDS));
+    assertEquals(1, loads.get());
+    assertEquals(0, coalesced.get());
+  }
+
+  @Test
+  void testSequentialAndDifferentKeysLoadSeparately() {
+    SingleFlight<String, String> flight =
+        new SingleFlight<>(Duration.ofSeconds(10), coalesced::incrementAndGet);
+
+    assertEquals("again", flight.load("MWH.001", this::loadAgain));
+    assertEquals("again", flight.load("MWH.001", this::loadAgain));
+    assertNull(flight.load("MWH.002", () -> null));
+    assertEquals(2, loads.get());
+    assertEquals(0, coalesced.get());
+  }
+
+  private String loadAgain() {
+    loads.incrementAndGet();
+    return "again";
+  }
+
+  /** Waits until the leader and the callers behind it are parked on a timed wait. */
+  private void awaitBlocked(int callers) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (threads.stream().filter(t -> t.getState() == Thread.State.TIMED_WAITING).count()
+        < callers) {
+      assertTrue(System.nanoTime() < deadline, "callers did not block");
+      Thread.sleep(5);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
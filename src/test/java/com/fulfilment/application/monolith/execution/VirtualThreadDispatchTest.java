@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.execution;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** The endpoints answer when dispatched; below JDK 21 the executor is the worker pool fallback. */
+@QuarkusTest
+@TestProfile(VirtualThreadDispatchTest.VirtualThreads.class)
+public class VirtualThreadDispatchTest {
+
+  public static class VirtualThreads implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.virtual-threads.enabled", "true");
+    }
+  }
+
+  @Test
+  public void testDispatchedEndpointsAnswer() {
+    given().when().get("warehouse").then().statusCode(200).body(containsString("MWH.001"));
+    given().when().get("product").then().statusCode(200).body(containsString("TONSTAD"));
+    given()
+        .contentType("application/json")
+        .body("{\"name\":\"VIRTUAL-THREADS\",\"quantityProductsInStock\":1}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201);
+    given().when().get("store").then().statusCode(200).body(containsString("VIRTUAL-THREADS"));
+    given().when().get("warehouse/NOT-THERE").then().statusCode(404);
+  }
+}
@@ -0,0 +1,43 @@
+package com.fulfilment.application.monolith.execution;
+
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ExecutorService;
+import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveContainerRequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadDispatcherTest {
+
+  private final VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher();
+  private final ResteasyReactiveRequestContext request = mock(ResteasyReactiveRequestContext.class);
+  private final ResteasyReactiveContainerRequestContext context =
+      mock(ResteasyReactiveContainerRequestContext.class);
+
+  @BeforeEach
+  void setUp() {
+    dispatcher.virtualThreads = mock(ExecutorService.class);
+    when(context.getServerRequestContext()).thenReturn(request);
+  }
+
+  @Test
+  void testRequestsMoveToTheVirtualThreadExecutorWhenEnabled() {
+    dispatcher.enabled = true;
+
+    dispatcher.dispatch(context);
+
+    var order = inOrder(request);
+    order.verify(request).suspend();
+    order.verify(request).resume(dispatcher.virtualThreads);
+  }
+
+  @Test
+  void testRequestsStayOnTheirPathWhenDisabled() {
+    dispatcher.enabled = false;
+
+    dispatcher.dispatch(context);
+
+    verifyNoInteractions(request);
+  }
+}
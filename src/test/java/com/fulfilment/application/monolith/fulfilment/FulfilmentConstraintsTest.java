@@ -0,0 +1,115 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FulfilmentConstraintsTest {
+
+  private final FulfilmentConstraints constraints = new FulfilmentConstraints(2, 3, 5);
+
+  @Test
+  public void testDuplicateAssignmentIsRejected() {
+    constraints.reserve(key(1, 1, "W1"));
+
+    assertEquals(409, assertThrows(WebApplicationException.class,
+        () -> constraints.reserve(key(1, 1, "W1"))).getResponse().getStatus());
+  }
+
+  @Test
+  public void testMaxWarehousesPerProductPerStore() {
+    constraints.reserve(key(1, 1, "W1"));
+    constraints.reserve(key(1, 1, "W2"));
+
+    assertThrows(WebApplicationException.class, () -> constraints.reserve(key(1, 1, "W3")));
+    // another store or product is not affected
+    constraints.reserve(key(2, 1, "W3"));
+    constraints.reserve(key(1, 2, "W3"));
+  }
+
+  @Test
+  public void testMaxWarehousesPerStoreCountsDistinctWarehouses() {
+    constraints.reserve(key(1, 1, "W1"));
+    constraints.reserve(key(1, 2, "W1"));
+    constraints.reserve(key(1, 2, "W2"));
+    constraints.reserve(key(1, 3, "W3"));
+    assertEquals(3, constraints.warehousesOfStore(1L));
+
+    // a fourth warehouse is refused, more products from a known one are not
+    assertThrows(WebApplicationException.class, () -> constraints.reserve(key(1, 4, "W4")));
+    constraints.reserve(key(1, 4, "W1"));
+  }
+
+  @Test
+  public void testMaxProductsPerWarehouseCountsDistinctProducts() {
+    for (long product = 1; product <= 5; product++) {
+      constraints.reserve(key(1, product, "W1"));
+    }
+    constraints.reserve(key(2, 5, "W1"));
+    assertEquals(5, constraints.productsOfWarehouse("W1"));
+
+    assertThrows(WebApplicationException.class, () -> constraints.reserve(key(2, 6, "W1")));
+  }
+
+  @Test
+  public void testReleaseFreesThePlace() {
+    constraints.reserve(key(1, 1, "W1"));
+    constraints.reserve(key(1, 1, "W2"));
+    constraints.release(key(1, 1, "W2"));
+
+    constraints.reserve(key(1, 1, "W3"));
+    assertEquals(2, constraints.warehousesOfStore(1L));
+  }
+
+  @Test
+  public void testLoadReplacesCounters() {
+    constraints.reserve(key(1, 1, "W1"));
+    constraints.load(List.of(key(2, 1, "W1"), key(2, 2, "W1")));
+
+    assertEquals(0, constraints.warehousesOfStore(1L));
+    assertEquals(1, constraints.warehousesOfStore(2L));
+    assertEquals(2, constraints.productsOfWarehouse("W1"));
+  }
+
+  @Test
+  public void testConcurrentReservationsRespectLimits() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    AtomicInteger accepted = new AtomicInteger();
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int warehouse = 1; warehouse <= 10; warehouse++) {
+        String code = "W" + warehouse;
+        tasks.add(
+            executor.submit(
+                () -> {
+                  try {
+                    constraints.reserve(key(1, 1, code));
+                    accepted.incrementAndGet();
+                  } catch (WebApplicationException e) {
+                    // over the limit
+                  }
+                }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(2, accepted.get());
+    assertEquals(2, constraints.warehousesOfStore(1L));
+  }
+
+  private static FulfilmentConstraints.Key key(long store, long product, String warehouse) {
+    return new FulfilmentConstraints.Key(store, product, warehouse);
+  }
+}
@@ -0,0 +1,175 @@
+package com.fulfilment.application.monolith.fulfilment;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class FulfilmentResourceTest {
+
+  @Inject FulfilmentConstraints constraints;
+
+  @Inject FulfilmentService fulfilmentService;
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  public void testAssignListAndUnassign() {
+    Integer storeId = createStore("FULFIL-STORE-1");
+    Integer productId = createProduct("FULFIL-PRODUCT-1");
+
+    Integer first = assign(storeId, productId, "MWH.001", 201);
+    assign(storeId, productId, "MWH.012", 201);
+    assign(storeId, productId, "MWH.001", 409);
+    // a product is fulfilled by at most two warehouses per store
+    assign(storeId, productId, "MWH.023", 409);
+
+    given()
+        .queryParam("storeId", storeId)
+        .when()
+        .get("fulfilment")
+        .then()
+        .statusCode(200)
+        .body("size()", is(2), "[0].warehouseBusinessUnitCode", is("MWH.001"));
+
+    given().when().delete("fulfilment/" + first).then().statusCode(204);
+    given().when().delete("fulfilment/" + first).then().statusCode(404);
+    assign(storeId, productId, "MWH.023", 201);
+  }
+
+  @Test
+  public void testUnknownReferencesAreRejected() {
+    Integer storeId = createStore("FULFIL-STORE-2");
+    Integer productId = createProduct("FULFIL-PRODUCT-2");
+
+    assign(999999, productId, "MWH.001", 404);
+    assign(storeId, 999999, "MWH.001", 404);
+    assign(storeId, productId, "MWH.404", 404);
+    given()
+        .contentType("application/json")
+        .body("{\"storeId\": " + storeId + "}")
+        .when()
+        .post("fulfilment")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testRolledBackAssignmentIsNotCounted() {
+    long storeId = createStore("FULFIL-STORE-3");
+    long productId = createProduct("FULFIL-PRODUCT-3");
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            QuarkusTransaction.requiringNew()
+                .run(
+                    () -> {
+                      fulfilmentService.assign(storeId, productId, "MWH.001");
+                      throw new IllegalStateException("later step of the same transaction failed");
+                    }));
+
+    assertEquals(0, constraints.warehousesOfStore(storeId));
+    assign((int) storeId, (int) productId, "MWH.001", 201);
+    assertEquals(1, constraints.warehousesOfStore(storeId));
+  }
+
+  @Test
+  public void testDeletedProductAndStoreReleaseTheirAssignments() {
+    Integer storeId = createStore("FULFIL-STORE-4");
+    Integer otherStoreId = createStore("FULFIL-STORE-5");
+    Integer productId = createProduct("FULFIL-PRODUCT-4");
+
+    assign(storeId, productId, "MWH.001", 201);
+    assign(otherStoreId, productId, "MWH.012", 201);
+    assertEquals(1, constraints.warehousesOfStore(storeId.longValue()));
+
+    given().when().delete("product/" + productId).then().statusCode(204);
+
+    assertEquals(0, constraints.warehousesOfStore(storeId.longValue()));
+    assertEquals(0, constraints.warehousesOfStore(otherStoreId.longValue()));
+    given().queryParam("productId", productId).when().get("fulfilment").then()
+        .body("size()", is(0));
+
+    Integer nextProductId = createProduct("FULFIL-PRODUCT-5");
+    assign(storeId, nextProductId, "MWH.001", 201);
+    given().when().delete("store/" + storeId).then().statusCode(204);
+
+    assertEquals(0, constraints.warehousesOfStore(storeId.longValue()));
+    given().queryParam("storeId", storeId).when().get("fulfilment").then()
+        .body("size()", is(0));
+  }
+
+  @Test
+  public void testArchivedWarehouseReleasesItsAssignments() {
+    Integer storeId = createStore("FULFIL-STORE-6");
+    Integer productId = createProduct("FULFIL-PRODUCT-6");
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "FULFIL.001";
+    warehouse.location = "ZWOLLE-001";
+    warehouse.capacity = 10;
+    warehouse.stock = 0;
+    warehouse.createdAt = LocalDateTime.now();
+    QuarkusTransaction.requiringNew().run(() -> warehouseRepository.create(warehouse));
+    DbWarehouse created =
+        QuarkusTransaction.requiringNew()
+            .call(() -> warehouseRepository.find("businessUnitCode", "FULFIL.001").firstResult());
+
+    assign(storeId, productId, "FULFIL.001", 201);
+    assertEquals(1, constraints.productsOfWarehouse("FULFIL.001"));
+
+    given().when().delete("warehouse/" + created.id).then().statusCode(204);
+
+    assertEquals(0, constraints.productsOfWarehouse("FULFIL.001"));
+    assertEquals(0, constraints.warehousesOfStore(storeId.longValue()));
+  }
+
+  private static Integer createStore(String name) {
+    return given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201)
+        .extract()
+        .path("id");
+  }
+
+  private static Integer createProduct(String name) {
+    return given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"stock\": 1}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201)
+        .extract()
+        .path("id");
+  }
+
+  private static Integer assign(
+      Integer storeId, Integer productId, String warehouse, int expectedStatus) {
+    return given()
+        .contentType("application/json")
+        .body(
+            "{\"storeId\": " + storeId + ", \"productId\": " + productId
+                + ", \"warehouseBusinessUnitCode\": \"" + warehouse + "\"}")
+        .when()
+        .post("fulfilment")
+        .then()
+        .statusCode(expectedStatus)
+        .extract()
+        .path("id");
+  }
+}
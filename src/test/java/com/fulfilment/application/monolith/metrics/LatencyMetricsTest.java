@@ -0,0 +1,43 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class LatencyMetricsTest {
+
+  @Test
+  public void testRestStoreValidationAndPoolMetricsArePublished() {
+    given().when().get("warehouse").then().statusCode(200);
+    given().when().get("store").then().statusCode(200);
+    given().when().get("product").then().statusCode(200);
+    given()
+        .contentType("application/json")
+        .body("{\"businessUnitCode\":\"METRICS-001\",\"location\":\"NOWHERE-001\",\"capacity\":10}")
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(400);
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(
+            containsString("rest_operation_seconds{class=\"com.fulfilment.application.monolith"),
+            containsString("method=\"listAllWarehousesUnits\""),
+            containsString("quantile=\"0.999\""),
+            containsString("rest_operation_seconds_bucket{"),
+            containsString("warehouse_store_seconds_count{"),
+            containsString("method=\"getAll\""),
+            containsString("warehouse_validation_rejections_total{operation=\"create\""),
+            containsString("rule=\"invalid-location\""),
+            containsString("agroal_active_count{datasource=\"default\""),
+            containsString("agroal_available_count{"),
+            containsString("agroal_blocking_time_max_milliseconds{"));
+  }
+}
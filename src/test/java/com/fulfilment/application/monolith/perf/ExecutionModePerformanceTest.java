@@ -0,0 +1,112 @@
+package com.fulfilment.application.monolith.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.seed.SeedLoader;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import io.quarkus.test.common.http.TestHTTPResource;
+import jakarta.inject.Inject;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput of the blocking REST endpoints under a burst of concurrent clients, measured once per
+ * execution mode: {@link WorkerPoolPerformanceTest} on the worker pool and {@link
+ * VirtualThreadPerformanceTest} on virtual threads. Each mode writes its result to {@code
+ * target/perf/execution-<mode>.json}; the mode measured second logs the comparison.
+ */
+abstract class ExecutionModePerformanceTest {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(ExecutionModePerformanceTest.class.getName());
+
+  private static final Path RESULTS = Path.of("target", "perf");
+
+  @Inject SeedLoader seedLoader;
+
+  @Inject LocationGateway locationGateway;
+
+  @TestHTTPResource("/warehouse")
+  URL warehouseUrl;
+
+  @ConfigProperty(name = "perf.execution.concurrency", defaultValue = "256")
+  int concurrency;
+
+  @ConfigProperty(name = "perf.execution.warehouses", defaultValue = "10000")
+  int warehouses;
+
+  @ConfigProperty(name = "perf.warmup", defaultValue = "2s")
+  Duration warmup;
+
+  @ConfigProperty(name = "perf.duration", defaultValue = "5s")
+  Duration duration;
+
+  private final HttpClient client =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+  abstract String mode();
+
+  @Test
+  public void testBurstThroughput() throws Exception {
+    List<Location> locations = locationGateway.locations();
+    Measurement result;
+    seedLoader.load(1, warehouses, 0, 0);
+    try {
+      result =
+          new LoadDriver(concurrency, warmup, duration)
+              .run(mode(), concurrency, sequence -> search(locations, sequence));
+    } finally {
+      seedLoader.load(1, 0, 0, 0);
+    }
+
+    PerfBaseline.write(RESULTS.resolve("execution-" + mode() + ".json"), List.of(result));
+    LOGGER.infof(
+        "%-15s %d clients on JDK %d: %9.1f ops/s  p50 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms",
+        mode(), concurrency, Runtime.version().feature(), result.throughput(), result.p50(),
+        result.p99(), result.p999());
+    logComparison();
+    assertEquals(0, result.errors(), result.key() + " had errors");
+  }
+
+  private boolean search(List<Location> locations, long sequence) throws Exception {
+    String location = locations.get((int) (sequence % locations.size())).identifier();
+    HttpResponse<Void> response =
+        client.send(
+            HttpRequest.newBuilder(
+                    URI.create(
+                        warehouseUrl + "/search?location=" + location
+                            + "&sortBy=capacity&sortOrder=desc&pageSize=20"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() >= 300) {
+      throw new IllegalStateException(location + " -> " + response.statusCode());
+    }
+    return true;
+  }
+
+  private static void logComparison() throws Exception {
+    Path workerPool = RESULTS.resolve("execution-worker-pool.json");
+    Path virtualThreads = RESULTS.resolve("execution-virtual-threads.json");
+    if (!Files.exists(workerPool) || !Files.exists(virtualThreads)) {
+      return;
+    }
+    Measurement worker = PerfBaseline.readMeasurements(workerPool).get(0);
+    Measurement virtual = PerfBaseline.readMeasurements(virtualThreads).get(0);
+    LOGGER.infof(
+        "virtual threads vs worker pool: throughput x%.2f, p99 x%.2f",
+        virtual.throughput() / worker.throughput(), virtual.p99() / worker.p99());
+  }
+}
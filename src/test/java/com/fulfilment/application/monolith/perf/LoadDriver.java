@@ -0,0 +1,132 @@
+package com.fulfilment.application.monolith.perf;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs one operation from a fixed number of threads, first for a warmup period that is not
+ * recorded and then for the measured period, and reports throughput and latency percentiles.
+ */
+final class LoadDriver {
+
+  /** One call; {@code sequence} is unique across threads. Returns false when out of work. */
+  interface Operation {
+    boolean run(long sequence) throws Exception;
+  }
+
+  private final int concurrency;
+  private final Duration warmup;
+  private final Duration duration;
+
+  LoadDriver(int concurrency, Duration warmup, Duration duration) {
+    this.concurrency = concurrency;
+    this.warmup = warmup;
+    this.duration = duration;
+  }
+
+  LoadDriver withoutWarmup() {
+    return new LoadDriver(concurrency, Duration.ZERO, duration);
+  }
+
+  Measurement run(String scenario, long scale, Operation operation) throws Exception {
+    AtomicLong sequence = new AtomicLong();
+    long start = System.nanoTime();
+    long measureFrom = start + warmup.toNanos();
+    long measureTo = measureFrom + duration.toNanos();
+
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    List<Future<Recorder>> workers = new ArrayList<>();
+    try {
+      for (int i = 0; i < concurrency; i++) {
+        workers.add(
+            executor.submit(
+                () -> {
+                  Recorder recorder = new Recorder();
+                  long now = System.nanoTime();
+                  while (now < measureTo) {
+                    boolean more;
+                    try {
+                      more = operation.run(sequence.getAndIncrement());
+                    } catch (Exception e) {
+                      more = true;
+                      if (now >= measureFrom) {
+                        recorder.errors++;
+                      }
+                    }
+                    long end = System.nanoTime();
+                    if (now >= measureFrom) {
+                      recorder.record(end - now);
+                      recorder.lastEnd = end;
+                    }
+                    if (!more) {
+                      break;
+                    }
+                    now = end;
+                  }
+                  return recorder;
+                }));
+      }
+      long timeout = warmup.plus(duration).toSeconds() + 60;
+      Recorder total = new Recorder();
+      for (Future<Recorder> worker : workers) {
+        total.add(worker.get(timeout, TimeUnit.SECONDS));
+      }
+      return total.measurement(scenario, scale, measureFrom);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Latencies of one thread, in nanoseconds. */
+  private static final class Recorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long lastEnd;
+
+    void record(long nanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+    }
+
+    void add(Recorder other) {
+      for (int i = 0; i < other.count; i++) {
+        record(other.latencies[i]);
+      }
+      errors += other.errors;
+      lastEnd = Math.max(lastEnd, other.lastEnd);
+    }
+
+    Measurement measurement(String scenario, long scale, long measureFrom) {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      double seconds = Math.max(1, lastEnd - measureFrom) / 1e9;
+      return new Measurement(
+          scenario,
+          scale,
+          count,
+          errors,
+          count / seconds,
+          millis(sorted, 0.5),
+          millis(sorted, 0.99),
+          millis(sorted, 0.999));
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(quantile * sorted.length) - 1;
+      return sorted[Math.max(0, index)] / 1e6;
+    }
+  }
+}
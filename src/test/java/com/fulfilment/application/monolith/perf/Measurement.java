@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.perf;
+
+/** Result of one scenario at one data set size; latencies are in milliseconds. */
+record Measurement(
+    String scenario,
+    long scale,
+    long operations,
+    long errors,
+    double throughput,
+    double p50,
+    double p99,
+    double p999) {
+
+  String key() {
+    return scenario + "@" + scale;
+  }
+}
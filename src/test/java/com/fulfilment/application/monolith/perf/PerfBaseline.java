@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stored results of an earlier run. A scenario regresses when its throughput drops, or its p99
+ * latency grows, by more than the threshold relative to the baseline; scenarios missing from the
+ * baseline are reported but never fail the run.
+ */
+final class PerfBaseline {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private final Map<String, Measurement> byKey;
+
+  private PerfBaseline(List<Measurement> measurements) {
+    this.byKey =
+        measurements.stream().collect(Collectors.toMap(Measurement::key, Function.identity()));
+  }
+
+  static PerfBaseline read(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return new PerfBaseline(List.of());
+    }
+    return new PerfBaseline(readMeasurements(file));
+  }
+
+  static List<Measurement> readMeasurements(Path file) throws IOException {
+    return MAPPER.readValue(file.toFile(), new TypeReference<>() {});
+  }
+
+  static void write(Path file, List<Measurement> measurements) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    MAPPER.writeValue(file.toFile(), measurements);
+  }
+
+  List<String> regressions(List<Measurement> current, double threshold) {
+    List<String> regressions = new ArrayList<>();
+    for (Measurement now : current) {
+      Measurement then = byKey.get(now.key());
+      if (then == null) {
+        continue;
+      }
+      if (now.throughput() < then.throughput() * (1 - threshold)) {
+        regressions.add(
+            String.format(
+                "%s: throughput %.1f/s, baseline %.1f/s", now.key(), now.throughput(),
+                then.throughput()));
+      }
+      if (now.p99() > then.p99() * (1 + threshold)) {
+        regressions.add(
+            String.format("%s: p99 %.2f ms, baseline %.2f ms", now.key(), now.p99(), then.p99()));
+      }
+    }
+    return regressions;
+  }
+
+  boolean covers(Measurement measurement) {
+    return byKey.containsKey(measurement.key());
+  }
+}
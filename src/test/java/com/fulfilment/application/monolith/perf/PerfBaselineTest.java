@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.perf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PerfBaselineTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void testRegressionsBeyondTheThresholdAreReported() throws Exception {
+    Path file = directory.resolve("baseline.json");
+    PerfBaseline.write(
+        file,
+        List.of(
+            new Measurement("search", 1000, 500, 0, 100, 5, 10, 12),
+            new Measurement("create", 1000, 500, 0, 100, 5, 10, 12)));
+
+    PerfBaseline baseline = PerfBaseline.read(file);
+    List<String> regressions =
+        baseline.regressions(
+            List.of(
+                // within 30% on both
+                new Measurement("search", 1000, 400, 0, 75, 6, 12.5, 20),
+                // throughput and p99 both regressed
+                new Measurement("create", 1000, 300, 0, 60, 9, 14, 20),
+                new Measurement("archive", 1000, 300, 0, 1, 90, 140, 200)),
+            0.3);
+
+    assertEquals(2, regressions.size(), regressions.toString());
+    assertTrue(regressions.get(0).startsWith("create@1000: throughput"));
+    assertTrue(regressions.get(1).startsWith("create@1000: p99"));
+    assertFalse(baseline.covers(new Measurement("archive", 1000, 0, 0, 0, 0, 0, 0)));
+  }
+
+  @Test
+  void testMissingBaselineReportsNothing() throws Exception {
+    Path file = directory.resolve("missing.json");
+    assertFalse(Files.exists(file));
+
+    assertTrue(
+        PerfBaseline.read(file)
+            .regressions(List.of(new Measurement("search", 1000, 1, 0, 1, 1, 1, 1)), 0.3)
+            .isEmpty());
+  }
+}
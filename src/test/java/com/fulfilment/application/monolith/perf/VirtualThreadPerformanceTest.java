@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.perf;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.Tag;
+
+/**
+ * The burst of {@link ExecutionModePerformanceTest} with the endpoints on virtual threads. Below
+ * JDK 21 Quarkus falls back to the worker pool, so run it with {@code -Pperf,virtual-threads}.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadPerformanceTest.VirtualThreads.class)
+@Tag("perf")
+public class VirtualThreadPerformanceTest extends ExecutionModePerformanceTest {
+
+  public static class VirtualThreads implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("quarkus.virtual-threads.enabled", "true");
+    }
+  }
+
+  @Override
+  String mode() {
+    return "virtual-threads";
+  }
+}
@@ -0,0 +1,232 @@
+package com.fulfilment.application.monolith.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Warehouse search, create, replace and archive through the REST API at growing data set sizes.
+ * Runs only with {@code -Pperf}; see the README for the settings.
+ */
+@QuarkusTest
+@Tag("perf")
+public class WarehousePerformanceTest {
+
+  private static final Logger LOGGER = Logger.getLogger(WarehousePerformanceTest.class.getName());
+
+  // seeded rows get ids well above anything the sequence hands out during a run
+  private static final long SEED_ID_OFFSET = 1_000_000_000L;
+  private static final int SEED_CHUNK = 1_000_000;
+
+  private static final List<String> LOCATIONS =
+      List.of(
+          "ZWOLLE-001",
+          "ZWOLLE-002",
+          "AMSTERDAM-001",
+          "AMSTERDAM-002",
+          "TILBURG-001",
+          "HELMOND-001",
+          "EINDHOVEN-001",
+          "VETSBY-001");
+
+  @Inject EntityManager entityManager;
+
+  @Inject SessionFactory sessionFactory;
+
+  @TestHTTPResource("/warehouse")
+  URL warehouseUrl;
+
+  @ConfigProperty(name = "perf.scales", defaultValue = "1000,100000")
+  List<Long> scales;
+
+  @ConfigProperty(name = "perf.concurrency", defaultValue = "4")
+  int concurrency;
+
+  @ConfigProperty(name = "perf.warmup", defaultValue = "2s")
+  Duration warmup;
+
+  @ConfigProperty(name = "perf.duration", defaultValue = "5s")
+  Duration duration;
+
+  @ConfigProperty(name = "perf.threshold", defaultValue = "0.3")
+  double threshold;
+
+  @ConfigProperty(name = "perf.baseline", defaultValue = "src/test/resources/perf/baseline.json")
+  Path baselineFile;
+
+  @ConfigProperty(name = "perf.results", defaultValue = "target/perf/results.json")
+  Path resultsFile;
+
+  @ConfigProperty(name = "perf.update-baseline", defaultValue = "false")
+  boolean updateBaseline;
+
+  private final HttpClient client =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+  @Test
+  public void testWarehouseOperationsAtScale() throws Exception {
+    LoadDriver driver = new LoadDriver(concurrency, warmup, duration);
+    List<Measurement> results = new ArrayList<>();
+    try {
+      for (long scale : scales) {
+        seed(scale);
+        results.add(driver.run("search", scale, this::search));
+        results.add(driver.run("replace", scale, sequence -> replace(scale, sequence)));
+        results.add(driver.run("create", scale, sequence -> create(scale, sequence)));
+        // archiving uses up the data set, so it runs without a warmup of its own on the JVM that
+        // the other scenarios warmed up
+        results.add(
+            driver.withoutWarmup().run("archive", scale, sequence -> archive(scale, sequence)));
+      }
+    } finally {
+      clean();
+    }
+
+    PerfBaseline.write(resultsFile, results);
+    PerfBaseline baseline = PerfBaseline.read(baselineFile);
+    for (Measurement result : results) {
+      LOGGER.infof(
+          "%-8s %,11d warehouses: %9.1f ops/s  p50 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms"
+              + "  (%d errors)%s",
+          result.scenario(), result.scale(), result.throughput(), result.p50(), result.p99(),
+          result.p999(), result.errors(), baseline.covers(result) ? "" : "  [no baseline]");
+    }
+    if (updateBaseline) {
+      PerfBaseline.write(baselineFile, results);
+      LOGGER.info("Wrote baseline " + baselineFile.toAbsolutePath());
+      return;
+    }
+    for (Measurement result : results) {
+      assertTrue(result.errors() == 0, result.key() + " had " + result.errors() + " errors");
+    }
+    List<String> regressions = baseline.regressions(results, threshold);
+    assertTrue(
+        regressions.isEmpty(),
+        "Regressed by more than " + Math.round(threshold * 100) + "%: " + regressions);
+  }
+
+  private boolean search(long sequence) throws Exception {
+    String location = LOCATIONS.get((int) (sequence % LOCATIONS.size()));
+    int minCapacity = 10 + (int) (sequence % 20);
+    send(
+        HttpRequest.newBuilder(
+                URI.create(
+                    warehouseUrl + "/search?location=" + location + "&minCapacity=" + minCapacity
+                        + "&sortBy=capacity&sortOrder=desc&page=" + (sequence % 5)
+                        + "&pageSize=20"))
+            .GET());
+    return true;
+  }
+
+  private boolean replace(long scale, long sequence) throws Exception {
+    long seeded = 1 + sequence % scale;
+    send(
+        HttpRequest.newBuilder(URI.create(warehouseUrl + "/PERF." + seeded + "/replacement"))
+            .POST(json(null, seeded + sequence)));
+    return true;
+  }
+
+  private boolean create(long scale, long sequence) throws Exception {
+    send(
+        HttpRequest.newBuilder(URI.create(warehouseUrl.toString()))
+            .POST(json("PERF.C." + scale + "." + sequence, sequence)));
+    return true;
+  }
+
+  /** Archives each seeded warehouse at most once, newest first, and stops when none are left. */
+  private boolean archive(long scale, long sequence) throws Exception {
+    if (sequence >= scale) {
+      return false;
+    }
+    long id = SEED_ID_OFFSET + scale - sequence;
+    send(HttpRequest.newBuilder(URI.create(warehouseUrl + "/" + id)).DELETE());
+    return true;
+  }
+
+  private void send(HttpRequest.Builder request) throws Exception {
+    HttpResponse<Void> response =
+        client.send(
+            request
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() >= 300) {
+      throw new IllegalStateException(request.build().uri() + " -> " + response.statusCode());
+    }
+  }
+
+  // every location allows a capacity of at least 40
+  private static HttpRequest.BodyPublisher json(String businessUnitCode, long seed) {
+    String code =
+        businessUnitCode == null ? "" : "\"businessUnitCode\":\"" + businessUnitCode + "\",";
+    return HttpRequest.BodyPublishers.ofString(
+        "{" + code + "\"location\":\"" + LOCATIONS.get((int) (seed % LOCATIONS.size()))
+            + "\",\"capacity\":" + (10 + seed % 31) + ",\"stock\":" + (seed % 10) + "}");
+  }
+
+  /** Replaces the synthetic warehouses of the previous scale with {@code scale} new ones. */
+  private void seed(long scale) {
+    clean();
+    long start = System.nanoTime();
+    for (long chunk = 1; chunk <= scale; chunk += SEED_CHUNK) {
+      long from = chunk;
+      long to = Math.min(scale, from + SEED_CHUNK - 1);
+      QuarkusTransaction.requiringNew()
+          .run(
+              () ->
+                  entityManager
+                      .createNativeQuery(
+                          "INSERT INTO warehouse (id, version, businessUnitCode, location,"
+                              + " capacity, stock, createdAt, archivedAt)"
+                              + " SELECT ?1 + X, 0, 'PERF.' || X, CASE MOD(X, 8)"
+                              + locationCases()
+                              + " END, 10 + MOD(X, 31), MOD(X, 10),"
+                              + " DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00'), NULL"
+                              + " FROM SYSTEM_RANGE(?2, ?3)")
+                      .setParameter(1, SEED_ID_OFFSET)
+                      .setParameter(2, from)
+                      .setParameter(3, to)
+                      .executeUpdate());
+    }
+    sessionFactory.getCache().evictAllRegions();
+    LOGGER.infof(
+        "Seeded %,d warehouses in %d ms", scale, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private void clean() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                entityManager
+                    .createNativeQuery("DELETE FROM warehouse WHERE businessUnitCode LIKE 'PERF.%'")
+                    .executeUpdate());
+    sessionFactory.getCache().evictAllRegions();
+  }
+
+  private static String locationCases() {
+    StringBuilder cases = new StringBuilder();
+    for (int i = 0; i < LOCATIONS.size(); i++) {
+      cases.append(" WHEN ").append(i).append(" THEN '").append(LOCATIONS.get(i)).append('\'');
+    }
+    return cases.toString();
+  }
+}
@@ -0,0 +1,15 @@
+package com.fulfilment.application.monolith.perf;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Tag;
+
+/** The burst of {@link ExecutionModePerformanceTest} with the endpoints on the worker pool. */
+@QuarkusTest
+@Tag("perf")
+public class WorkerPoolPerformanceTest extends ExecutionModePerformanceTest {
+
+  @Override
+  String mode() {
+    return "worker-pool";
+  }
+}
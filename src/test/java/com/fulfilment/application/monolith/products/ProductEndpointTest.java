@@ -2,14 +2,24 @@ package com.fulfilment.application.monolith.products;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
 public class ProductEndpointTest {
 
+  // without content decoders Rest Assured sends no Accept-Encoding of its own
+  private static final RestAssuredConfig IDENTITY =
+      RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
   @Test
   public void testCrudProduct() {
     final String path = "product";
@@ -33,4 +43,202 @@ public class ProductEndpointTest {
         .statusCode(200)
         .body(not(containsString("TONSTAD")), containsString("KALLAX"), containsString("BESTÅ"));
   }
+
+  @Test
+  public void testCatalogIsRevalidatedWithETag() {
+    String etag = given().when().get("product").then().statusCode(200).extract().header("ETag");
+    assertNotNull(etag);
+
+    given().header("If-None-Match", etag).when().get("product").then().statusCode(304);
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"GLADOM-ETAG\", \"stock\": 1}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201);
+
+    // the write changes the catalog, so the old version no longer matches
+    String newEtag =
+        given()
+            .header("If-None-Match", etag)
+            .when()
+            .get("product")
+            .then()
+            .statusCode(200)
+            .body(containsString("GLADOM-ETAG"))
+            .extract()
+            .header("ETag");
+    assertNotEquals(etag, newEtag);
+  }
+
+  @Test
+  public void testCatalogIsServedGzipped() {
+    given()
+        .header("Accept-Encoding", "gzip")
+        .when()
+        .get("product")
+        .then()
+        .statusCode(200)
+        .header("Content-Encoding", "gzip")
+        .body(containsString("KALLAX"));
+  }
+
+  @Test
+  public void testGzipAndIdentityBodiesHaveTheirOwnETags() {
+    String gzipEtag =
+        given()
+            .header("Accept-Encoding", "gzip")
+            .when()
+            .get("product")
+            .then()
+            .statusCode(200)
+            .header("Content-Encoding", "gzip")
+            .extract()
+            .header("ETag");
+    String identityEtag =
+        given()
+            .config(IDENTITY)
+            .when()
+            .get("product")
+            .then()
+            .statusCode(200)
+            .header("Content-Encoding", nullValue())
+            .extract()
+            .header("ETag");
+    assertNotEquals(gzipEtag, identityEtag);
+
+    // a cached gzip body is no answer to a request for the plain one
+    given()
+        .config(IDENTITY)
+        .header("If-None-Match", gzipEtag)
+        .when()
+        .get("product")
+        .then()
+        .statusCode(200);
+    given()
+        .header("Accept-Encoding", "gzip")
+        .header("If-None-Match", gzipEtag)
+        .when()
+        .get("product")
+        .then()
+        .statusCode(304);
+  }
+
+  @Test
+  public void testSearchFollowsCreateUpdateAndDelete() {
+    Integer id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"HEMNES-SEARCH\", \"description\": \"Glass-door cabinet\", \"stock\": 2}")
+            .when()
+            .post("product")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+
+    given()
+        .queryParam("q", "cabin")
+        .when()
+        .get("product/search")
+        .then()
+        .statusCode(200)
+        .body(containsString("HEMNES-SEARCH"));
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"HEMNES-SEARCH\", \"description\": \"Bookcase\", \"stock\": 2}")
+        .when()
+        .put("product/" + id)
+        .then()
+        .statusCode(200);
+
+    given()
+        .queryParam("q", "cabinet")
+        .when()
+        .get("product/search")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("HEMNES-SEARCH")));
+    given()
+        .queryParam("q", "hemnes book")
+        .when()
+        .get("product/search")
+        .then()
+        .statusCode(200)
+        .body(containsString("HEMNES-SEARCH"));
+
+    given().when().delete("product/" + id).then().statusCode(204);
+
+    given()
+        .queryParam("q", "hemnes")
+        .when()
+        .get("product/search")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("HEMNES-SEARCH")));
+    given().when().get("product/search").then().statusCode(400);
+  }
+
+  @Test
+  public void testRangeFollowsPriceAndStockChanges() {
+    Integer id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"MALM-RANGE\", \"price\": 1234.50, \"stock\": 1}")
+            .when()
+            .post("product")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+
+    given()
+        .queryParam("minPrice", "1234.50")
+        .queryParam("maxPrice", "1300")
+        .queryParam("maxStock", "1")
+        .when()
+        .get("product/range")
+        .then()
+        .statusCode(200)
+        .body("count", is(1), "products[0].name", is("MALM-RANGE"));
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"MALM-RANGE\", \"price\": 1234.50, \"stock\": 9}")
+        .when()
+        .put("product/" + id)
+        .then()
+        .statusCode(200);
+
+    given()
+        .queryParam("minPrice", "1234.50")
+        .queryParam("maxPrice", "1300")
+        .queryParam("maxStock", "1")
+        .when()
+        .get("product/range")
+        .then()
+        .statusCode(200)
+        .body("count", is(0));
+
+    given().when().delete("product/" + id).then().statusCode(204);
+
+    given()
+        .queryParam("minPrice", "1234.50")
+        .queryParam("maxPrice", "1300")
+        .when()
+        .get("product/range")
+        .then()
+        .statusCode(200)
+        .body("count", is(0));
+    given()
+        .queryParam("minPrice", "20")
+        .queryParam("maxPrice", "10")
+        .when()
+        .get("product/range")
+        .then()
+        .statusCode(400);
+  }
 }
@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.products;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductRangeIndexTest {
+
+  // five buckets of 10.00: [0, 10), [10, 20), [20, 30), [30, 40), [40, ...)
+  private final ProductRangeIndex index = new ProductRangeIndex(BigDecimal.TEN, 5);
+
+  @Test
+  public void testPriceBandIsInclusiveAndOrderedByPrice() {
+    index.put(1L, new BigDecimal("25.00"), 4);
+    index.put(2L, new BigDecimal("9.99"), 1);
+    index.put(3L, new BigDecimal("10.00"), 7);
+    index.put(4L, new BigDecimal("30.00"), 2);
+
+    ProductRangeIndex.Matches matches =
+        index.find(new BigDecimal("10.00"), new BigDecimal("25.00"), null, 10);
+
+    assertEquals(List.of(3L, 1L), matches.ids());
+    assertEquals(2, matches.count());
+  }
+
+  @Test
+  public void testStockFilterAndLimit() {
+    for (long id = 1; id <= 6; id++) {
+      index.put(id, BigDecimal.valueOf(id), (int) id);
+    }
+
+    ProductRangeIndex.Matches matches = index.find(null, null, 4, 2);
+
+    assertEquals(List.of(1L, 2L), matches.ids());
+    assertEquals(4, matches.count());
+  }
+
+  @Test
+  public void testUpdateMovesAndRemoveDropsProduct() {
+    index.put(1L, new BigDecimal("5.00"), 1);
+    index.put(1L, new BigDecimal("35.00"), 1);
+
+    assertEquals(1, index.size());
+    assertEquals(0, index.find(null, BigDecimal.TEN, null, 10).count());
+    assertEquals(List.of(1L), index.find(new BigDecimal("30"), null, null, 10).ids());
+
+    index.remove(1L);
+
+    assertEquals(0, index.size());
+    assertEquals(0, index.find(null, null, null, 10).count());
+  }
+
+  @Test
+  public void testProductsWithoutPriceOnlyMatchUnboundedQueries() {
+    index.put(1L, null, 3);
+    index.put(2L, BigDecimal.ONE, 3);
+
+    assertEquals(List.of(1L, 2L), index.find(null, null, null, 10).ids());
+    assertEquals(List.of(2L), index.find(null, BigDecimal.TEN, null, 10).ids());
+    assertEquals(List.of(2L), index.find(BigDecimal.ZERO, null, null, 10).ids());
+  }
+
+  @Test
+  public void testHistogramCountsPricesPerBucket() {
+    index.put(1L, new BigDecimal("1.00"), 1);
+    index.put(2L, new BigDecimal("12.50"), 1);
+    index.put(3L, new BigDecimal("19.99"), 1);
+    index.put(4L, new BigDecimal("400.00"), 1);
+    index.put(5L, null, 1);
+
+    List<ProductRangeIndex.PriceBucket> all = index.histogram(null, null);
+    assertEquals(List.of(1, 2, 0, 0, 1), all.stream().map(ProductRangeIndex.PriceBucket::count).toList());
+    assertNull(all.get(4).to());
+
+    List<ProductRangeIndex.PriceBucket> band =
+        index.histogram(new BigDecimal("15.00"), new BigDecimal("25.00"));
+    assertEquals(2, band.size());
+    assertEquals(0, new BigDecimal("10.00").compareTo(band.get(0).from()));
+    assertEquals(2, band.get(0).count());
+
+    index.remove(2L);
+    assertEquals(1, index.histogram(null, null).get(1).count());
+  }
+
+  @Test
+  public void testBatchedWritesMatchTheWritesAppliedOneByOne() {
+    Random random = new Random(42);
+    // product id -> price in cents, in the order of the last write to each product
+    Map<Long, Long> expected = new LinkedHashMap<>();
+    for (int step = 0; step < 5000; step++) {
+      long id = random.nextInt(800);
+      if (random.nextInt(5) == 0) {
+        index.remove(id);
+        expected.remove(id);
+      } else {
+        long cents = random.nextInt(50) * 100L;
+        index.put(id, BigDecimal.valueOf(cents, 2), 1);
+        expected.remove(id);
+        expected.put(id, cents);
+      }
+      // reads merge whatever is staged, so merges happen at random points
+      if (random.nextInt(ProductRangeIndex.MAX_PENDING / 4) == 0) {
+        assertEquals(expected.size(), index.size());
+      }
+    }
+
+    List<Map.Entry<Long, Long>> byPrice = new ArrayList<>(expected.entrySet());
+    byPrice.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+    assertEquals(
+        byPrice.stream().map(Map.Entry::getKey).toList(),
+        index.find(null, null, null, Integer.MAX_VALUE).ids());
+    assertEquals(
+        byPrice.stream().filter(e -> e.getValue() < 1000).count(),
+        index.histogram(null, null).get(0).count());
+  }
+}
@@ -9,7 +9,6 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,9 +29,10 @@ public class ProductResourceTest {
 
     @Test
     public void testGet() {
-        List<Product> result = productResource.get();
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        Response response = productResource.catalog(null, null);
+        assertEquals(200, response.getStatus());
+        assertNotNull(response.getEntity());
+        assertNotNull(response.getHeaderString("ETag"));
     }
 
     @Test
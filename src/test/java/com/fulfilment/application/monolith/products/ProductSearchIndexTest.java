@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.products;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchIndexTest {
+
+  private final ProductSearchIndex index = new ProductSearchIndex();
+
+  @Test
+  public void testTokenizeFoldsCaseAndAccents() {
+    assertEquals(List.of("besta", "tv", "bench"), ProductSearchIndex.tokenize("BESTÅ TV-bench, tv"));
+    assertEquals(List.of(), ProductSearchIndex.tokenize("  -- "));
+  }
+
+  @Test
+  public void testNameMatchesRankAboveDescriptionMatches() {
+    index.index(1L, "KALLAX", "Shelf unit, fits the DRONA box");
+    index.index(2L, "DRONA", "Box for KALLAX");
+    index.index(3L, "TONSTAD", "Sideboard");
+
+    assertEquals(List.of(1L, 2L), ids(index.search("kallax", 10)));
+    assertEquals(List.of(2L, 1L), ids(index.search("drona", 10)));
+  }
+
+  @Test
+  public void testPrefixMatchesRankBelowExactMatches() {
+    index.index(1L, "Lamp", null);
+    index.index(2L, "Lampshade", null);
+
+    assertEquals(List.of(1L, 2L), ids(index.search("lamp", 10)));
+    assertEquals(List.of(2L), ids(index.search("lamps", 10)));
+  }
+
+  @Test
+  public void testEveryTokenMustMatch() {
+    index.index(1L, "Oak desk", "Solid oak");
+    index.index(2L, "Pine desk", null);
+
+    assertEquals(List.of(1L), ids(index.search("desk oak", 10)));
+    assertEquals(List.of(), ids(index.search("desk walnut", 10)));
+  }
+
+  @Test
+  public void testReindexAndRemove() {
+    index.index(1L, "Chair", null);
+    index.index(1L, "Stool", null);
+
+    assertEquals(List.of(), ids(index.search("chair", 10)));
+    assertEquals(List.of(1L), ids(index.search("stool", 10)));
+
+    index.remove(1L);
+    assertEquals(List.of(), ids(index.search("stool", 10)));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void testLimit() {
+    for (long id = 1; id <= 5; id++) {
+      index.index(id, "Mug " + id, null);
+    }
+    assertEquals(List.of(1L, 2L), ids(index.search("mug", 2)));
+  }
+
+  private static List<Long> ids(List<ProductSearchIndex.Hit> hits) {
+    return hits.stream().map(ProductSearchIndex.Hit::id).toList();
+  }
+}
@@ -0,0 +1,164 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StockReservationResourceTest {
+
+  @Inject StockReservations stockReservations;
+
+  @Inject ProductRepository productRepository;
+
+  @Test
+  public void testReserveCommitAndReconcile() {
+    Integer productId = createProduct("POANG-RESERVE", 5);
+
+    String first = reserve(productId, 3, 201);
+    reserve(productId, 3, 409);
+    String second = reserve(productId, 2, 201);
+
+    given().when().post("reservation/" + first + "/commit").then().statusCode(200);
+    given().when().delete("reservation/" + second).then().statusCode(204);
+    given().when().post("reservation/" + first + "/commit").then().statusCode(404);
+
+    // the table only changes once the commit is reconciled
+    given().when().get("product/" + productId).then().body("stock", is(5));
+    stockReservations.reconcile();
+    given().when().get("product/" + productId).then().body("stock", is(2));
+    assertEquals(2, stockReservations.available((long) productId));
+  }
+
+  @Test
+  public void testConcurrentReservationsNeverOversell() throws Exception {
+    Integer productId = createProduct("EKTORP-RESERVE", 10);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Integer>> calls = new ArrayList<>();
+      for (int i = 0; i < 25; i++) {
+        calls.add(
+            () ->
+                given()
+                    .contentType("application/json")
+                    .body("{\"productId\": " + productId + ", \"quantity\": 1}")
+                    .when()
+                    .post("reservation")
+                    .then()
+                    .extract()
+                    .statusCode());
+      }
+      int reserved = 0;
+      for (Future<Integer> status : executor.invokeAll(calls)) {
+        if (status.get() == 201) {
+          reserved++;
+        }
+      }
+      assertEquals(10, reserved);
+      assertEquals(0, stockReservations.available((long) productId));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testExpiredReservationsReturnTheirStock() {
+    Integer productId = createProduct("LACK-RESERVE", 4);
+    String id = reserve(productId, 4, 201);
+    assertEquals(0, stockReservations.available((long) productId));
+
+    stockReservations.expire(Instant.now().plusSeconds(3600));
+
+    assertEquals(4, stockReservations.available((long) productId));
+    given().when().get("reservation/" + id).then().statusCode(404);
+    given().when().post("reservation/" + id + "/commit").then().statusCode(404);
+  }
+
+  @Test
+  public void testStockChangedThroughTheProductApiIsReconciled() {
+    Integer productId = createProduct("BILLY-RESERVE", 2);
+    reserve(productId, 1, 201);
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"BILLY-RESERVE\", \"stock\": 7}")
+        .when()
+        .put("product/" + productId)
+        .then()
+        .statusCode(200);
+    stockReservations.reconcile();
+
+    // five more on hand, one still held by the open reservation
+    assertEquals(6, stockReservations.available((long) productId));
+  }
+
+  @Test
+  public void testReconcileLeavesOtherProductsInTheSecondLevelCache() {
+    Integer reserved = createProduct("MALM-RESERVE", 4);
+    Integer other = createProduct("HEMNES-RESERVE", 4);
+    given().when().get("product/" + other).then().statusCode(200);
+    Cache cache = productRepository.getEntityManager().getEntityManagerFactory().getCache();
+    assertTrue(cache.contains(Product.class, other.longValue()));
+
+    String id = reserve(reserved, 3, 201);
+    given().when().post("reservation/" + id + "/commit").then().statusCode(200);
+    stockReservations.reconcile();
+
+    assertTrue(cache.contains(Product.class, other.longValue()));
+    given().when().get("product/" + reserved).then().body("stock", is(1));
+  }
+
+  @Test
+  public void testInvalidReservations() {
+    Integer productId = createProduct("INGO-RESERVE", 1);
+
+    reserve(productId, 0, 422);
+    given()
+        .contentType("application/json")
+        .body("{\"productId\": " + productId + ", \"quantity\": 1, \"ttlSeconds\": 0}")
+        .when()
+        .post("reservation")
+        .then()
+        .statusCode(422);
+    reserve(999999, 1, 404);
+    given().when().delete("reservation/unknown").then().statusCode(404);
+  }
+
+  private static Integer createProduct(String name, int stock) {
+    return given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"stock\": " + stock + "}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201)
+        .extract()
+        .path("id");
+  }
+
+  private static String reserve(Integer productId, int quantity, int expectedStatus) {
+    return given()
+        .contentType("application/json")
+        .body("{\"productId\": " + productId + ", \"quantity\": " + quantity + "}")
+        .when()
+        .post("reservation")
+        .then()
+        .statusCode(expectedStatus)
+        .extract()
+        .path("id");
+  }
+}
@@ -0,0 +1,65 @@
+package com.fulfilment.application.monolith.products;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+  private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, START);
+  private final List<String> expired = new ArrayList<>();
+
+  @Test
+  public void testEntriesExpireOnceTheirDeadlinePasses() {
+    wheel.schedule("a", START.plusMillis(1500));
+    wheel.schedule("b", START.plusSeconds(3));
+
+    assertEquals(0, wheel.advance(START.plusSeconds(1), expired::add));
+    assertEquals(1, wheel.advance(START.plusSeconds(2), expired::add));
+    assertEquals(List.of("a"), expired);
+
+    wheel.advance(START.plusSeconds(3), expired::add);
+    assertEquals(List.of("a", "b"), expired);
+  }
+
+  @Test
+  public void testDeadlinesBeyondOneRotationWaitForTheirRound() {
+    // 8 slots of one second: 3s and 11s share a slot
+    wheel.schedule("near", START.plusSeconds(3));
+    wheel.schedule("far", START.plusSeconds(11));
+
+    wheel.advance(START.plusSeconds(4), expired::add);
+    assertEquals(List.of("near"), expired);
+
+    wheel.advance(START.plusSeconds(10), expired::add);
+    assertEquals(List.of("near"), expired);
+
+    wheel.advance(START.plusSeconds(11), expired::add);
+    assertEquals(List.of("near", "far"), expired);
+  }
+
+  @Test
+  public void testLongPauseExpiresEverythingDue() {
+    for (int i = 1; i <= 20; i++) {
+      wheel.schedule("e" + i, START.plusSeconds(i));
+    }
+
+    assertEquals(20, wheel.advance(START.plusSeconds(60), expired::add));
+  }
+
+  @Test
+  public void testPastDeadlineExpiresOnNextAdvance() {
+    wheel.advance(START.plusSeconds(5), expired::add);
+    wheel.schedule("late", START.plusSeconds(2));
+
+    wheel.advance(START.plusSeconds(6), expired::add);
+    assertEquals(List.of("late"), expired);
+  }
+}
@@ -0,0 +1,61 @@
+package com.fulfilment.application.monolith.replica;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.PersistenceException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ConsistencyTokenFilterTest {
+
+  private static final long WINDOW = 5_000;
+
+  @Test
+  void testReadsWithoutATokenMayUseTheReplica() {
+    assertFalse(ConsistencyTokenFilter.requiresPrimary(null, 10_000, WINDOW));
+    assertFalse(ConsistencyTokenFilter.requiresPrimary(" ", 10_000, WINDOW));
+  }
+
+  @Test
+  void testATokenKeepsReadsOnThePrimaryForTheWindow() {
+    assertTrue(ConsistencyTokenFilter.requiresPrimary("10000", 10_000, WINDOW));
+    assertTrue(ConsistencyTokenFilter.requiresPrimary("10000", 14_999, WINDOW));
+    assertFalse(ConsistencyTokenFilter.requiresPrimary("10000", 15_000, WINDOW));
+  }
+
+  @Test
+  void testAnUnreadableTokenKeepsReadsOnThePrimary() {
+    assertTrue(ConsistencyTokenFilter.requiresPrimary("yesterday", 10_000, WINDOW));
+  }
+
+  @Test
+  void testLogPositionTokensWaitForTheReplicaToReplayThem() {
+    ConsistencyTokenFilter filter = filter();
+    when(filter.position.replayedUpTo("0/16B3748")).thenReturn(false);
+    when(filter.position.replayedUpTo("0/16B3700")).thenReturn(true);
+
+    assertTrue(filter.requiresPrimary("0/16B3748"));
+    assertFalse(filter.requiresPrimary(" 0/16B3700 "));
+    assertFalse(filter.requiresPrimary(null));
+  }
+
+  @Test
+  void testLogPositionsTheReplicaCannotCompareKeepReadsOnThePrimary() {
+    ConsistencyTokenFilter filter = filter();
+    when(filter.position.replayedUpTo("0/xyz")).thenThrow(new NumberFormatException("xyz"));
+    when(filter.position.replayedUpTo("1/0"))
+        .thenThrow(new PersistenceException("replica unavailable"));
+
+    assertTrue(filter.requiresPrimary("0/xyz"));
+    assertTrue(filter.requiresPrimary("1/0"));
+  }
+
+  private static ConsistencyTokenFilter filter() {
+    ConsistencyTokenFilter filter = new ConsistencyTokenFilter();
+    filter.position = mock(ReplicationPosition.class);
+    filter.window = Duration.ofMillis(WINDOW);
+    return filter;
+  }
+}
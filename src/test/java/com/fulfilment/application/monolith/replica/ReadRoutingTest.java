@@ -0,0 +1,175 @@
+package com.fulfilment.application.monolith.replica;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reads against a second H2 database standing in for the replica. It only catches up with the
+ * primary when the test copies the primary over, so a read that sees a fresh write was served by
+ * the primary.
+ */
+@QuarkusTest
+@TestProfile(ReadRoutingTest.Replica.class)
+public class ReadRoutingTest {
+
+  public static class Replica implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("replica.enabled", "true");
+    }
+  }
+
+  @Inject AgroalDataSource primary;
+
+  @Inject
+  @DataSource("replica")
+  AgroalDataSource replica;
+
+  @BeforeEach
+  void catchUp() throws Exception {
+    replicate();
+  }
+
+  @AfterEach
+  void cleanUp() throws Exception {
+    try (Connection connection = primary.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate("DELETE FROM store WHERE name LIKE 'REPLICA-%'");
+      statement.executeUpdate("DELETE FROM warehouse WHERE businessUnitCode LIKE 'REPLICA.%'");
+    }
+  }
+
+  @Test
+  public void testReadsUseTheReplicaUnlessTheClientWroteRecently() throws Exception {
+    String token = createStore("REPLICA-1");
+
+    given().when().get("store").then().statusCode(200).body(not(containsString("REPLICA-1")));
+    given()
+        .header(ConsistencyTokenFilter.HEADER, token)
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body(containsString("REPLICA-1"));
+
+    replicate();
+    given().when().get("store").then().statusCode(200).body(containsString("REPLICA-1"));
+  }
+
+  @Test
+  public void testPagesStreamsAndSearchesAreRouted() throws Exception {
+    createStore("REPLICA-2");
+    String token =
+        given()
+            .contentType("application/json")
+            .body(
+                "{\"businessUnitCode\":\"REPLICA.001\",\"location\":\"VETSBY-001\","
+                    + "\"capacity\":20,\"stock\":1}")
+            .when()
+            .post("warehouse")
+            .then()
+            .statusCode(200)
+            .header(ConsistencyTokenFilter.HEADER, notNullValue())
+            .extract()
+            .header(ConsistencyTokenFilter.HEADER);
+
+    for (String path : new String[] {"store/page?limit=200", "store/stream"}) {
+      given().when().get(path).then().statusCode(200).body(not(containsString("REPLICA-2")));
+      given()
+          .header(ConsistencyTokenFilter.HEADER, token)
+          .when()
+          .get(path)
+          .then()
+          .statusCode(200)
+          .body(containsString("REPLICA-2"));
+    }
+    String search = "warehouse/search?location=VETSBY-001";
+    given().when().get(search).then().statusCode(200).body(not(containsString("REPLICA.001")));
+    given()
+        .header(ConsistencyTokenFilter.HEADER, token)
+        .when()
+        .get(search)
+        .then()
+        .statusCode(200)
+        .body(containsString("REPLICA.001"));
+  }
+
+  @Test
+  public void testLookupsAnswerFromTheReplica() {
+    given().when().get("store/1").then().statusCode(200).body(containsString("TONSTAD"));
+    given().when().get("product/2").then().statusCode(200).body(containsString("KALLAX"));
+    given().when().get("product/search?q=besta").then().statusCode(200);
+    given().when().get("warehouse/MWH.012").then().statusCode(200).body(containsString("MWH.012"));
+    given().when().get("warehouse/REPLICA.404").then().statusCode(404);
+  }
+
+  @Test
+  public void testExpiredTokensReadFromTheReplicaAndUnreadableOnesFromThePrimary()
+      throws Exception {
+    createStore("REPLICA-3");
+    String expired = Long.toString(System.currentTimeMillis() - 60_000);
+
+    given()
+        .header(ConsistencyTokenFilter.HEADER, expired)
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("REPLICA-3")));
+    given()
+        .header(ConsistencyTokenFilter.HEADER, "not-a-token")
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body(containsString("REPLICA-3"));
+  }
+
+  private static String createStore(String name) {
+    Response response =
+        given()
+            .contentType("application/json")
+            .body("{\"name\":\"" + name + "\",\"quantityProductsInStock\":1}")
+            .when()
+            .post("store");
+    response.then().statusCode(201).header(ConsistencyTokenFilter.HEADER, notNullValue());
+    return response.header(ConsistencyTokenFilter.HEADER);
+  }
+
+  /** Replaces the replica with a copy of the primary. */
+  private void replicate() throws Exception {
+    Path script = Files.createTempFile("replica-", ".sql");
+    try {
+      try (Connection connection = primary.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.execute("SCRIPT TO '" + script + "'");
+      }
+      try (Connection connection = replica.getConnection();
+          Statement statement = connection.createStatement()) {
+        connection.setReadOnly(false);
+        statement.execute("DROP ALL OBJECTS");
+        statement.execute("RUNSCRIPT FROM '" + script + "'");
+      }
+    } finally {
+      Files.deleteIfExists(script);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.replica;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ReplicationPositionTest {
+
+  @Test
+  void testPositionsCompareInLogOrder() {
+    assertEquals(0x16B3748L, ReplicationPosition.parse("0/16B3748"));
+    assertEquals(0x1_00000000L, ReplicationPosition.parse("1/0"));
+    assertTrue(ReplicationPosition.parse("0/FFFFFFFF") < ReplicationPosition.parse("1/0"));
+    assertTrue(ReplicationPosition.parse("0/9") < ReplicationPosition.parse("0/10"));
+  }
+
+  @Test
+  void testFormatWritesWhatPostgreSqlWrites() {
+    for (String position : new String[] {"0/0", "0/16B3748", "1/0", "A3/FFFFFFFF"}) {
+      assertEquals(position, ReplicationPosition.format(ReplicationPosition.parse(position)));
+    }
+  }
+
+  @Test
+  void testOtherTokensAreNotPositions() {
+    assertThrows(NumberFormatException.class, () -> ReplicationPosition.parse("1718000000000"));
+    assertThrows(NumberFormatException.class, () -> ReplicationPosition.parse("0/xyz"));
+  }
+}
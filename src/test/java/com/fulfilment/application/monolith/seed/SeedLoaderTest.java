@@ -0,0 +1,130 @@
+package com.fulfilment.application.monolith.seed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.seed.SeedLoader.SeedResult;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class SeedLoaderTest {
+
+  @Inject SeedLoader loader;
+
+  @Inject EntityManager entityManager;
+
+  @Inject LocationGateway locationGateway;
+
+  @AfterEach
+  public void cleanUp() {
+    loader.load(0, 0, 0, 0);
+    QuarkusTransaction.requiringNew().run(() -> Store.delete("name like ?1", "LOADER-TEST-%"));
+  }
+
+  @Test
+  public void testTheSameSeedLoadsTheSameRows() {
+    SeedResult first = loader.load(11, 300, 200, 200);
+    List<?> warehouses = seededWarehouses();
+    List<?> products = seeded("SELECT name, description, price, stock FROM product");
+
+    SeedResult second = loader.load(11, 300, 200, 200);
+
+    assertEquals(first, second);
+    assertEquals(300, warehouses.size());
+    assertEquals(200, products.size());
+    assertEquals(200, seeded("SELECT name, quantityProductsInStock FROM store").size());
+    assertEquals(rows(warehouses), rows(seededWarehouses()));
+    assertEquals(
+        rows(products), rows(seeded("SELECT name, description, price, stock FROM product")));
+  }
+
+  @Test
+  public void testSeededWarehousesRespectTheLocationsNextToExistingOnes() {
+    SeedResult result = loader.load(12, 500, 0, 0);
+
+    assertEquals(500, result.warehouses());
+    for (Location location : locationGateway.locations()) {
+      long active =
+          count(
+              "SELECT COUNT(*) FROM warehouse WHERE archivedAt IS NULL AND location = ?1",
+              location.identifier());
+      assertTrue(active <= location.maxNumberOfWarehouses(), location.identifier());
+      assertEquals(
+          0,
+          count(
+              "SELECT COUNT(*) FROM warehouse WHERE location = ?1"
+                  + " AND businessUnitCode LIKE 'SEED-%'"
+                  + " AND (capacity > " + location.maxCapacity() + " OR stock > capacity)",
+              location.identifier()));
+    }
+    assertEquals(
+        result.activeWarehouses(),
+        count(
+            "SELECT COUNT(*) FROM warehouse WHERE archivedAt IS NULL"
+                + " AND businessUnitCode LIKE ?1",
+            "SEED-%"));
+  }
+
+  @Test
+  public void testEntitiesCreatedAfterALoadDoNotCollideWithSeededRows() {
+    loader.load(13, 0, 100, 0);
+
+    // more stores than one block of ids Hibernate takes from the sequence
+    List<Store> created = new ArrayList<>();
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              for (int i = 0; i < 60; i++) {
+                Store store = new Store("LOADER-TEST-" + i);
+                store.persist();
+                created.add(store);
+              }
+            });
+
+    assertEquals(60, created.stream().map(store -> store.id).distinct().count());
+    assertEquals(100, count("SELECT COUNT(*) FROM store WHERE name LIKE ?1", "SEED-%"));
+    assertEquals(60, count("SELECT COUNT(*) FROM store WHERE name LIKE ?1", "LOADER-TEST-%"));
+  }
+
+  private List<?> seededWarehouses() {
+    return seeded(
+        "SELECT businessUnitCode, location, capacity, stock, createdAt, archivedAt FROM warehouse");
+  }
+
+  private List<?> seeded(String select) {
+    String column = select.contains("warehouse") ? "businessUnitCode" : "name";
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () ->
+                entityManager
+                    .createNativeQuery(
+                        select + " WHERE " + column + " LIKE 'SEED-%' ORDER BY " + column)
+                    .getResultList());
+  }
+
+  private long count(String sql, String parameter) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () ->
+                ((Number)
+                        entityManager
+                            .createNativeQuery(sql)
+                            .setParameter(1, parameter)
+                            .getSingleResult())
+                    .longValue());
+  }
+
+  private static List<List<Object>> rows(List<?> result) {
+    return result.stream().map(row -> Arrays.asList((Object[]) row)).toList();
+  }
+}
@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.seed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SyntheticDatasetTest {
+
+  private final List<Location> locations = new LocationGateway().locations();
+
+  @Test
+  void testTheSameSeedWritesTheSameRows() throws IOException {
+    assertEquals(warehouses(7, 500), warehouses(7, 500));
+    assertNotEquals(warehouses(7, 500), warehouses(8, 500));
+    assertEquals(products(7, 100), products(7, 100));
+  }
+
+  @Test
+  void testTablesDoNotDependOnEachOthersSize() throws IOException {
+    StringWriter stores = new StringWriter();
+    new SyntheticDataset(7, locations).writeStores(stores, 1, 100);
+
+    StringWriter afterMoreWarehouses = new StringWriter();
+    SyntheticDataset dataset = new SyntheticDataset(7, locations);
+    dataset.writeWarehouses(new StringWriter(), 1, 1000, slots());
+    dataset.writeStores(afterMoreWarehouses, 1, 100);
+
+    assertEquals(stores.toString(), afterMoreWarehouses.toString());
+  }
+
+  @Test
+  void testWarehousesFollowTheLocationRules() throws IOException {
+    Map<String, Integer> slots = slots();
+    StringWriter out = new StringWriter();
+    int active = new SyntheticDataset(7, locations).writeWarehouses(out, 100, 1000, slots);
+
+    Map<String, Integer> activeByLocation = new HashMap<>();
+    String[] rows = out.toString().split("\n");
+    assertEquals(1000, rows.length);
+    for (String row : rows) {
+      String[] fields = row.split(",", -1);
+      Location location = location(fields[3]);
+      int capacity = Integer.parseInt(fields[4]);
+      int stock = Integer.parseInt(fields[5]);
+      assertTrue(capacity >= 1 && capacity <= location.maxCapacity(), row);
+      assertTrue(stock >= 0 && stock <= capacity, row);
+      if (fields[7].isEmpty()) {
+        activeByLocation.merge(location.identifier(), 1, Integer::sum);
+      } else {
+        assertTrue(fields[7].compareTo(fields[6]) > 0, row);
+      }
+    }
+    assertTrue(rows[0].startsWith("100,0,SEED-WH.0,"));
+    assertEquals(locations.stream().mapToInt(Location::maxNumberOfWarehouses).sum(), active);
+    for (Location location : locations) {
+      assertEquals(
+          location.maxNumberOfWarehouses(),
+          activeByLocation.getOrDefault(location.identifier(), 0),
+          location.identifier());
+      assertEquals(0, slots.get(location.identifier()));
+    }
+  }
+
+  private String warehouses(long seed, int count) throws IOException {
+    StringWriter out = new StringWriter();
+    new SyntheticDataset(seed, locations).writeWarehouses(out, 1, count, slots());
+    return out.toString();
+  }
+
+  private String products(long seed, int count) throws IOException {
+    StringWriter out = new StringWriter();
+    new SyntheticDataset(seed, locations).writeProducts(out, 1, count);
+    return out.toString();
+  }
+
+  private Map<String, Integer> slots() {
+    Map<String, Integer> slots = new HashMap<>();
+    for (Location location : locations) {
+      slots.put(location.identifier(), location.maxNumberOfWarehouses());
+    }
+    return slots;
+  }
+
+  private Location location(String identifier) {
+    return locations.stream().filter(l -> l.identifier().equals(identifier)).findFirst().get();
+  }
+}
@@ -0,0 +1,69 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.stores.legacy.LegacyStoreChange;
+import com.fulfilment.application.monolith.stores.legacy.LegacyStoreTransport;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LegacyStoreManagerGatewayTest {
+
+  private final List<LegacyStoreChange> changes = new ArrayList<>();
+  private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+  private LegacyStoreManagerGateway gateway;
+
+  @BeforeEach
+  void setUp() {
+    gateway = new LegacyStoreManagerGateway();
+    gateway.transport =
+        new LegacyStoreTransport() {
+          @Override
+          public CompletableFuture<Void> send(LegacyStoreChange change) {
+            CompletableFuture<Void> sent = new CompletableFuture<>();
+            changes.add(change);
+            pending.add(sent);
+            return sent;
+          }
+        };
+  }
+
+  @Test
+  void testChangesAreHandedOverWithoutWaitingForTheLegacySystem() {
+    List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+    for (long id = 1; id <= 10; id++) {
+      deliveries.add(gateway.updateStoreOnLegacySystem(store(id)));
+    }
+
+    // all ten are with the transport at once, so it can write them as one batch
+    assertEquals(10, changes.size());
+    assertTrue(deliveries.stream().noneMatch(CompletableFuture::isDone));
+
+    pending.forEach(sent -> sent.complete(null));
+    assertTrue(deliveries.stream().allMatch(d -> d.isDone() && !d.isCompletedExceptionally()));
+  }
+
+  @Test
+  void testTransportFailuresFailTheDelivery() {
+    CompletableFuture<Void> delivery = gateway.createStoreOnLegacySystem(store(7L));
+    assertEquals("CREATED", changes.get(0).event());
+
+    pending.get(0).completeExceptionally(new IllegalStateException("journal unavailable"));
+
+    CompletionException failure = assertThrows(CompletionException.class, delivery::join);
+    assertInstanceOf(IllegalStateException.class, failure.getCause());
+    assertEquals("journal unavailable", failure.getCause().getCause().getMessage());
+  }
+
+  private static Store store(long id) {
+    Store store = new Store();
+    store.id = id;
+    store.name = "Store " + id;
+    store.quantityProductsInStock = 1;
+    return store;
+  }
+}
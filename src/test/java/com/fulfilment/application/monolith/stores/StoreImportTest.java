@@ -0,0 +1,154 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+public class StoreImportTest {
+
+  @InjectMock
+  LegacyStoreManagerGateway legacyGateway;
+
+  @Inject
+  StoreOutboxRepository outboxRepository;
+
+  @BeforeEach
+  @Transactional
+  public void setup() {
+    outboxRepository.deleteAll();
+    Mockito.reset(legacyGateway);
+    Store existing = new Store("Import-Existing");
+    existing.quantityProductsInStock = 1;
+    existing.persist();
+  }
+
+  @AfterEach
+  @Transactional
+  public void tearDown() {
+    Store.delete("name LIKE ?1", "Import-%");
+    outboxRepository.deleteAll();
+  }
+
+  @Test
+  public void testJsonArrayIsUpsertedByName() {
+    given()
+        .contentType("application/json")
+        .body("["
+            + "{\"name\": \"Import-A\", \"quantityProductsInStock\": 1},"
+            + "{\"name\": \"Import-Existing\", \"quantityProductsInStock\": 42},"
+            + "{\"name\": \"Import-A\", \"quantityProductsInStock\": 3}"
+            + "]")
+        .when().post("/store/import")
+        .then()
+        .statusCode(200)
+        .body("received", is(3))
+        .body("created", is(1))
+        .body("updated", is(1));
+
+    Store imported = Store.find("name", "Import-A").firstResult();
+    assertEquals(3, imported.quantityProductsInStock);
+    Store updated = Store.find("name", "Import-Existing").firstResult();
+    assertEquals(42, updated.quantityProductsInStock);
+
+    given().when().get("/store/" + updated.id).then().statusCode(200)
+        .body("quantityProductsInStock", is(42));
+
+    // the whole import goes to the legacy system as one batch
+    verify(legacyGateway, timeout(5000)).importStoresOnLegacySystem(
+        argThat(created -> created.size() == 1 && created.get(0).id.equals(imported.id)
+            && created.get(0).quantityProductsInStock == 3),
+        argThat(changed -> changed.size() == 1 && changed.get(0).id.equals(updated.id)
+            && changed.get(0).quantityProductsInStock == 42));
+    verify(legacyGateway, never()).createStoreOnLegacySystem(any(Store.class));
+    verify(legacyGateway, never()).updateStoreOnLegacySystem(any(Store.class));
+  }
+
+  @Test
+  public void testOnlyTheUpdatedStoresLeaveTheSecondLevelCache() {
+    Store other = QuarkusTransaction.requiringNew().call(() -> {
+      Store store = new Store("Import-Other");
+      store.quantityProductsInStock = 7;
+      store.persist();
+      return store;
+    });
+    Store existing = Store.find("name", "Import-Existing").firstResult();
+    given().when().get("/store/" + existing.id).then().statusCode(200);
+    given().when().get("/store/" + other.id).then().statusCode(200);
+    Cache cache = Store.getEntityManager().getEntityManagerFactory().getCache();
+    assertTrue(cache.contains(Store.class, existing.id));
+
+    given()
+        .contentType("application/json")
+        .body("[{\"name\": \"Import-Existing\", \"quantityProductsInStock\": 9}]")
+        .when().post("/store/import")
+        .then()
+        .statusCode(200)
+        .body("updated", is(1));
+
+    assertFalse(cache.contains(Store.class, existing.id));
+    assertTrue(cache.contains(Store.class, other.id));
+    given().when().get("/store/" + existing.id).then().statusCode(200)
+        .body("quantityProductsInStock", is(9));
+  }
+
+  @Test
+  public void testNdjsonImport() {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < 1200; i++) {
+      body.append("{\"name\": \"Import-").append(i).append("\", \"quantityProductsInStock\": ")
+          .append(i).append("}\n");
+    }
+
+    given()
+        .contentType("application/x-ndjson")
+        .body(body.toString().getBytes(StandardCharsets.UTF_8))
+        .when().post("/store/import")
+        .then()
+        .statusCode(200)
+        .body("created", is(1200));
+
+    // one outbox batch, and one legacy batch, per chunk
+    verify(legacyGateway, timeout(5000).times(3)).importStoresOnLegacySystem(
+        argThat(created -> created.size() <= StoreImporter.JDBC_BATCH_SIZE), any());
+
+    assertEquals(1200, Store.count("name LIKE ?1 AND name <> ?2", "Import-%", "Import-Existing"));
+    assertEquals(1199, ((Store) Store.find("name", "Import-1199").firstResult())
+        .quantityProductsInStock);
+  }
+
+  @Test
+  public void testInvalidRecordsRejectTheWholeImport() {
+    given()
+        .contentType("application/json")
+        .body("[{\"name\": \"Import-B\", \"quantityProductsInStock\": 1}, {\"quantityProductsInStock\": 2}]")
+        .when().post("/store/import")
+        .then()
+        .statusCode(422);
+
+    given()
+        .contentType("application/json")
+        .body("[{\"name\": \"Import-B\"")
+        .when().post("/store/import")
+        .then()
+        .statusCode(400);
+
+    assertEquals(0, Store.count("name", "Import-B"));
+  }
+}
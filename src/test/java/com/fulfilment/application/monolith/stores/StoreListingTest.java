@@ -0,0 +1,102 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class StoreListingTest {
+
+  // quantities far above the seeded stores so the filter isolates this test's data
+  private static final int BASE_QUANTITY = 100_000;
+  private static final int STORES = 25;
+
+  @BeforeEach
+  @Transactional
+  public void setup() {
+    for (int i = 0; i < STORES; i++) {
+      Store store = new Store(String.format("Listing-%02d", i));
+      store.quantityProductsInStock = BASE_QUANTITY + i;
+      store.persist();
+    }
+  }
+
+  @AfterEach
+  @Transactional
+  public void tearDown() {
+    Store.delete("quantityProductsInStock >= ?1", BASE_QUANTITY);
+  }
+
+  @Test
+  public void testPagesWalkAllStoresInNameOrder() {
+    List<String> names = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      Response response = given()
+          .queryParam("limit", 10)
+          .queryParam("minQuantity", BASE_QUANTITY)
+          .queryParam("after", cursor == null ? "" : cursor)
+          .when().get("/store/page")
+          .then()
+          .statusCode(200)
+          .extract().response();
+      names.addAll(response.jsonPath().getList("stores.name", String.class));
+      cursor = response.jsonPath().getString("nextCursor");
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(3, pages);
+    assertEquals(STORES, names.size());
+    for (int i = 0; i < STORES; i++) {
+      assertEquals(String.format("Listing-%02d", i), names.get(i));
+    }
+  }
+
+  @Test
+  public void testQuantityRangeFilter() {
+    List<Integer> quantities = given()
+        .queryParam("minQuantity", BASE_QUANTITY + 5)
+        .queryParam("maxQuantity", BASE_QUANTITY + 7)
+        .when().get("/store/page")
+        .then()
+        .statusCode(200)
+        .extract().jsonPath().getList("stores.quantityProductsInStock", Integer.class);
+
+    assertEquals(List.of(BASE_QUANTITY + 5, BASE_QUANTITY + 6, BASE_QUANTITY + 7), quantities);
+  }
+
+  @Test
+  public void testInvalidCursorAndRangeAreRejected() {
+    given().queryParam("after", "not a cursor!").when().get("/store/page").then().statusCode(400);
+    given()
+        .queryParam("minQuantity", 10)
+        .queryParam("maxQuantity", 5)
+        .when().get("/store/page")
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  public void testStreamWritesEveryMatchingStore() {
+    List<String> names = given()
+        .queryParam("minQuantity", BASE_QUANTITY)
+        .when().get("/store/stream")
+        .then()
+        .statusCode(200)
+        .extract().jsonPath().getList("name", String.class);
+
+    assertEquals(STORES, names.size());
+    assertEquals("Listing-00", names.get(0));
+    assertEquals(String.format("Listing-%02d", STORES - 1), names.get(STORES - 1));
+  }
+}
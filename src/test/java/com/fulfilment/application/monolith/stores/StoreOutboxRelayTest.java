@@ -0,0 +1,156 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies that store changes reach the legacy system through the outbox only after commit,
+ * coalesced into the latest state per store, and that failed deliveries are retried.
+ */
+@QuarkusTest
+public class StoreOutboxRelayTest {
+
+  @InjectMock
+  LegacyStoreManagerGateway legacyGateway;
+
+  @Inject
+  StoreOutboxRepository outboxRepository;
+
+  @Inject
+  StoreOutboxRelay relay;
+
+  @BeforeEach
+  @Transactional
+  public void setup() {
+    outboxRepository.deleteAll();
+    Mockito.reset(legacyGateway);
+  }
+
+  @Test
+  public void testRapidUpdatesAreCoalescedIntoTheLatestState() {
+    String name = "Outbox_" + System.nanoTime();
+    Integer id = given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 5}")
+        .when().post("/store")
+        .then()
+        .statusCode(201)
+        .extract().path("id");
+
+    for (int quantity = 6; quantity <= 9; quantity++) {
+      given()
+          .contentType("application/json")
+          .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": " + quantity + "}")
+          .when().put("/store/" + id)
+          .then()
+          .statusCode(200);
+    }
+
+    awaitOutboxDrained();
+
+    // depending on when the relay polls, the create goes out on its own or already carries the
+    // latest state, but the intermediate updates are never sent
+    verify(legacyGateway, timeout(5000)).createStoreOnLegacySystem(
+        argThat(store -> store.id == id.longValue()));
+    verify(legacyGateway, atMost(1)).updateStoreOnLegacySystem(any(Store.class));
+    verify(legacyGateway, never()).updateStoreOnLegacySystem(
+        argThat(store -> store.quantityProductsInStock < 9));
+  }
+
+  @Test
+  public void testUpdatesWaitForTheCoalescingWindow() {
+    String name = "Window_" + System.nanoTime();
+    Integer id = given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+        .when().post("/store")
+        .then()
+        .statusCode(201)
+        .extract().path("id");
+    verify(legacyGateway, timeout(5000)).createStoreOnLegacySystem(
+        argThat(store -> store.id == id.longValue()));
+    awaitOutboxDrained();
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 2}")
+        .when().patch("/store/" + id)
+        .then()
+        .statusCode(200);
+
+    verify(legacyGateway, timeout(5000)).updateStoreOnLegacySystem(
+        argThat(store -> store.id == id.longValue() && store.quantityProductsInStock == 2));
+    awaitOutboxDrained();
+  }
+
+  @Test
+  public void testFailedDeliveryIsRetried() {
+    doThrow(new IllegalStateException("legacy system unavailable"))
+        .doReturn(CompletableFuture.completedFuture(null))
+        .when(legacyGateway).createStoreOnLegacySystem(any(Store.class));
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"Retry_" + System.nanoTime() + "\", \"quantityProductsInStock\": 1}")
+        .when().post("/store")
+        .then()
+        .statusCode(201);
+
+    verify(legacyGateway, timeout(5000).times(2)).createStoreOnLegacySystem(any(Store.class));
+    awaitOutboxDrained();
+  }
+
+  @Test
+  public void testRowsAreLeasedNotLockedWhileTheLegacySystemIsCalled() {
+    CompletableFuture<Void> accepted = new CompletableFuture<>();
+    doReturn(accepted).when(legacyGateway).createStoreOnLegacySystem(any(Store.class));
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"Lease_" + System.nanoTime() + "\", \"quantityProductsInStock\": 1}")
+        .when().post("/store")
+        .then()
+        .statusCode(201);
+    verify(legacyGateway, timeout(5000)).createStoreOnLegacySystem(any(Store.class));
+
+    // the claim has committed: the row is free to update, and no other relay takes it
+    QuarkusTransaction.requiringNew().run(() -> {
+      StoreOutboxEvent event = outboxRepository.findAll().firstResult();
+      assertTrue(event.nextAttemptAt.isAfter(Instant.now()), "The claimed row should be leased");
+      event.lastError = "touched while the delivery is pending";
+    });
+    assertEquals(0, relay.relayBatch());
+
+    accepted.complete(null);
+    awaitOutboxDrained();
+    verify(legacyGateway, times(1)).createStoreOnLegacySystem(any(Store.class));
+  }
+
+  private void awaitOutboxDrained() {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (outboxRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    assertEquals(0, outboxRepository.count(), "Delivered events should be removed from the outbox");
+  }
+}
@@ -0,0 +1,142 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreSyncExecutorTest {
+
+  private StoreSyncExecutor executor;
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testTasksForTheSameStoreRunInSubmissionOrder() throws InterruptedException {
+    executor = newExecutor(4, 10_000, StoreSyncExecutor.OverflowPolicy.BLOCK);
+
+    int stores = 5;
+    int tasksPerStore = 500;
+    Map<Long, List<Integer>> observed = new ConcurrentHashMap<>();
+    CountDownLatch done = new CountDownLatch(stores * tasksPerStore);
+
+    for (int i = 0; i < tasksPerStore; i++) {
+      for (long store = 0; store < stores; store++) {
+        final int sequence = i;
+        final long storeId = store;
+        executor.execute(storeId, () -> {
+          observed.computeIfAbsent(storeId, id -> Collections.synchronizedList(new ArrayList<>()))
+              .add(sequence);
+          done.countDown();
+        });
+      }
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    for (List<Integer> sequence : observed.values()) {
+      for (int i = 0; i < tasksPerStore; i++) {
+        assertEquals(i, sequence.get(i));
+      }
+    }
+    // a slot is freed only after its task returns, so the last ones may still be finishing
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (executor.queueDepth() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, executor.queueDepth());
+  }
+
+  @Test
+  public void testDifferentStoresRunInParallel() throws InterruptedException {
+    executor = newExecutor(2, 100, StoreSyncExecutor.OverflowPolicy.REJECT);
+
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocking = () -> {
+      bothRunning.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    executor.execute(1L, blocking);
+    executor.execute(2L, blocking);
+
+    assertTrue(bothRunning.await(5, TimeUnit.SECONDS), "Stores 1 and 2 should be synced concurrently");
+    release.countDown();
+  }
+
+  @Test
+  public void testRejectsWhenQueueIsFull() throws InterruptedException {
+    executor = newExecutor(1, 2, StoreSyncExecutor.OverflowPolicy.REJECT);
+
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocking = () -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    executor.execute(1L, blocking);
+    executor.execute(1L, blocking);
+
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(1L, blocking));
+    assertEquals(2, executor.queueDepth());
+    release.countDown();
+  }
+
+  @Test
+  public void testBlockingPolicyWaitsForRoom() throws InterruptedException {
+    executor = newExecutor(1, 1, StoreSyncExecutor.OverflowPolicy.BLOCK);
+
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch secondRan = new CountDownLatch(1);
+    executor.execute(1L, () -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    new Thread(() -> {
+      sleep(200);
+      release.countDown();
+    }).start();
+
+    // blocks until the first task finishes and frees its slot
+    executor.execute(1L, secondRan::countDown);
+    assertTrue(secondRan.await(5, TimeUnit.SECONDS));
+  }
+
+  private static StoreSyncExecutor newExecutor(
+      int threads, int capacity, StoreSyncExecutor.OverflowPolicy policy) {
+    return new StoreSyncExecutor(threads, capacity, policy, Duration.ofSeconds(2), new SimpleMeterRegistry());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -6,6 +6,9 @@ import static org.mockito.Mockito.*;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -21,6 +24,16 @@ public class StoreTransactionIntegrationTest {
   @InjectMock
   LegacyStoreManagerGateway legacyGateway;
 
+  @Inject
+  StoreOutboxRepository outboxRepository;
+
+  @BeforeEach
+  @Transactional
+  public void setup() {
+    // Discard events left behind by other test classes so only this test's changes are relayed
+    outboxRepository.deleteAll();
+  }
+
   @Test
   public void testLegacySystemNotNotifiedOnFailedStoreCreation() throws InterruptedException {
     Mockito.reset(legacyGateway);
@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.stores;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreUpdateCoalescerTest {
+
+  @Test
+  public void testEventsOfOneStoreCollapseIntoTheLatestState() {
+    List<StoreUpdateCoalescer.CoalescedStoreEvent> result = StoreUpdateCoalescer.coalesce(List.of(
+        event(3, StoreOutboxEvent.Type.UPDATED, 1L, 30),
+        event(1, StoreOutboxEvent.Type.UPDATED, 1L, 10),
+        event(2, StoreOutboxEvent.Type.UPDATED, 1L, 20)));
+
+    assertEquals(1, result.size());
+    StoreUpdateCoalescer.CoalescedStoreEvent sync = result.get(0);
+    assertEquals(StoreOutboxEvent.Type.UPDATED, sync.type());
+    assertEquals(30, sync.latest().quantityProductsInStock);
+    assertEquals(List.of(1L, 2L, 3L), sync.sources().stream().map(e -> e.id).toList());
+  }
+
+  @Test
+  public void testPendingCreateIsSentWithTheLatestState() {
+    List<StoreUpdateCoalescer.CoalescedStoreEvent> result = StoreUpdateCoalescer.coalesce(List.of(
+        event(1, StoreOutboxEvent.Type.CREATED, 1L, 10),
+        event(2, StoreOutboxEvent.Type.UPDATED, 1L, 20)));
+
+    assertEquals(1, result.size());
+    assertEquals(StoreOutboxEvent.Type.CREATED, result.get(0).type());
+    assertEquals(20, result.get(0).latest().quantityProductsInStock);
+  }
+
+  @Test
+  public void testStoresAreKeptApartInFirstSeenOrder() {
+    List<StoreUpdateCoalescer.CoalescedStoreEvent> result = StoreUpdateCoalescer.coalesce(List.of(
+        event(1, StoreOutboxEvent.Type.UPDATED, 2L, 10),
+        event(2, StoreOutboxEvent.Type.CREATED, 1L, 5),
+        event(3, StoreOutboxEvent.Type.UPDATED, 2L, 11)));
+
+    assertEquals(2, result.size());
+    assertEquals(2L, result.get(0).latest().id);
+    assertEquals(11, result.get(0).latest().quantityProductsInStock);
+    assertEquals(1L, result.get(1).latest().id);
+    assertEquals(1, result.get(1).sources().size());
+  }
+
+  private static StoreOutboxEvent event(long id, StoreOutboxEvent.Type type, Long storeId, int qty) {
+    StoreOutboxEvent event = new StoreOutboxEvent();
+    event.id = id;
+    event.type = type;
+    event.storeId = storeId;
+    event.storeName = "Store " + storeId;
+    event.quantityProductsInStock = qty;
+    return event;
+  }
+}
@@ -0,0 +1,123 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpLegacyStoreTransportTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private LegacyStoreStubServer stub;
+  private HttpLegacyStoreTransport transport;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    stub = LegacyStoreStubServer.start(0, 4, objectMapper);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (transport != null) {
+      transport.close();
+    }
+    stub.close();
+  }
+
+  @Test
+  public void testChangesAreSentInBatches() throws Exception {
+    transport = newTransport(50, Duration.ofMillis(50), 5, Duration.ofSeconds(5));
+
+    List<CompletableFuture<Void>> sends = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      sends.add(transport.send(change(i)));
+    }
+    CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+    assertEquals(500, stub.received().size());
+    assertTrue(stub.batchCount() < 500, "Changes should share requests, got " + stub.batchCount());
+    assertEquals(
+        List.of(0L, 1L, 2L),
+        stub.received().stream().map(LegacyStoreChange::id).sorted().limit(3).toList());
+  }
+
+  @Test
+  public void testSendAllGoesOutInBatchSizedRequests() throws Exception {
+    transport = newTransport(50, Duration.ofMillis(50), 5, Duration.ofSeconds(5));
+
+    List<LegacyStoreChange> changes = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      changes.add(change(i));
+    }
+    transport.sendAll(changes).get(10, TimeUnit.SECONDS);
+
+    assertEquals(120, stub.received().size());
+    assertEquals(3, stub.batchCount());
+  }
+
+  @Test
+  public void testFailedBatchFailsItsChanges() throws Exception {
+    transport = newTransport(10, Duration.ZERO, 5, Duration.ofSeconds(5));
+    stub.failNext(1);
+
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> transport.send(change(1)).get(5, TimeUnit.SECONDS));
+    assertTrue(failure.getCause().getMessage().contains("503"));
+
+    transport.send(change(2)).get(5, TimeUnit.SECONDS);
+    assertEquals(List.of(2L), stub.received().stream().map(LegacyStoreChange::id).toList());
+  }
+
+  @Test
+  public void testOpenCircuitFailsFastWithoutCallingTheService() throws Exception {
+    transport = newTransport(10, Duration.ZERO, 2, Duration.ofSeconds(5));
+    stub.failNext(2);
+
+    for (int i = 0; i < 2; i++) {
+      final int id = i;
+      assertThrows(ExecutionException.class, () -> transport.send(change(id)).get(5, TimeUnit.SECONDS));
+    }
+
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> transport.send(change(3)).get(5, TimeUnit.SECONDS));
+    assertTrue(failure.getCause().getMessage().contains("circuit is open"));
+    assertEquals(0, stub.batchCount());
+  }
+
+  @Test
+  public void testRequestTimesOutOnSlowService() {
+    transport = newTransport(10, Duration.ZERO, 5, Duration.ofMillis(300));
+    stub.setLatency(Duration.ofSeconds(2));
+
+    assertThrows(ExecutionException.class, () -> transport.send(change(1)).get(5, TimeUnit.SECONDS));
+    stub.setLatency(Duration.ZERO);
+  }
+
+  private HttpLegacyStoreTransport newTransport(
+      int batchSize, Duration linger, int failureThreshold, Duration requestTimeout) {
+    return new HttpLegacyStoreTransport(
+        stub.batchEndpoint(),
+        batchSize,
+        linger,
+        4,
+        Duration.ofSeconds(1),
+        requestTimeout,
+        new LegacyCircuitBreaker(failureThreshold, Duration.ofMinutes(1), Clock.systemUTC()),
+        objectMapper);
+  }
+
+  private static LegacyStoreChange change(long id) {
+    return new LegacyStoreChange("UPDATED", id, "Store " + id, (int) id, "2024-07-01T10:00:00Z");
+  }
+}
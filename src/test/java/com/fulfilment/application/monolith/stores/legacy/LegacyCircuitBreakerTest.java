@@ -0,0 +1,102 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LegacyCircuitBreakerTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2024-07-01T10:00:00Z"));
+  private final LegacyCircuitBreaker breaker =
+      new LegacyCircuitBreaker(3, Duration.ofSeconds(30), clock);
+
+  @Test
+  public void testOpensAfterConsecutiveFailures() {
+    fail(2);
+    breaker.recordSuccess();
+    fail(2);
+    assertEquals(LegacyCircuitBreaker.State.CLOSED, breaker.state());
+
+    fail(1);
+    assertEquals(LegacyCircuitBreaker.State.OPEN, breaker.state());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testHalfOpenLetsOneTrialThrough() {
+    fail(3);
+    clock.now = clock.now.plusSeconds(31);
+
+    assertTrue(breaker.tryAcquire());
+    assertEquals(LegacyCircuitBreaker.State.HALF_OPEN, breaker.state());
+    assertFalse(breaker.tryAcquire(), "Only one trial call while half-open");
+
+    breaker.recordSuccess();
+    assertEquals(LegacyCircuitBreaker.State.CLOSED, breaker.state());
+    assertTrue(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testFailedTrialReopens() {
+    fail(3);
+    clock.now = clock.now.plusSeconds(31);
+
+    assertTrue(breaker.tryAcquire());
+    breaker.recordFailure();
+
+    assertEquals(LegacyCircuitBreaker.State.OPEN, breaker.state());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testReleaseRecordsNoOutcome() {
+    fail(2);
+    assertTrue(breaker.tryAcquire());
+    breaker.release();
+    fail(1);
+    assertEquals(LegacyCircuitBreaker.State.OPEN, breaker.state(), "Release must not reset failures");
+
+    clock.now = clock.now.plusSeconds(31);
+    assertTrue(breaker.tryAcquire());
+    breaker.release();
+    assertEquals(LegacyCircuitBreaker.State.HALF_OPEN, breaker.state());
+    assertTrue(breaker.tryAcquire(), "The next call is the trial");
+    assertFalse(breaker.tryAcquire());
+  }
+
+  private void fail(int times) {
+    for (int i = 0; i < times; i++) {
+      assertTrue(breaker.tryAcquire());
+      breaker.recordFailure();
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
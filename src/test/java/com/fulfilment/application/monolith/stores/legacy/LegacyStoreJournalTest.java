@@ -0,0 +1,126 @@
+package com.fulfilment.application.monolith.stores.legacy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LegacyStoreJournalTest {
+
+  @TempDir
+  Path directory;
+
+  private LegacyStoreJournal journal;
+
+  @AfterEach
+  public void tearDown() {
+    if (journal != null) {
+      journal.close();
+    }
+  }
+
+  @Test
+  public void testConcurrentAppendsAreAllDurable() throws Exception {
+    journal = new LegacyStoreJournal(directory, 1024 * 1024, Duration.ofHours(1), 64, Clock.systemUTC());
+
+    int threads = 8;
+    int recordsPerThread = 250;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<CompletableFuture<Void>> writes = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int thread = t;
+      executor.submit(() -> {
+        for (int i = 0; i < recordsPerThread; i++) {
+          synchronized (writes) {
+            writes.add(journal.append(line("store-" + thread + "-" + i)));
+          }
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+    List<String> lines = readAll();
+    assertEquals(threads * recordsPerThread, lines.size());
+    assertTrue(lines.contains("store-3-42"));
+  }
+
+  @Test
+  public void testRotatesWhenSegmentIsFull() throws Exception {
+    journal = new LegacyStoreJournal(directory, 64, Duration.ofHours(1), 1, Clock.systemUTC());
+
+    for (int i = 0; i < 10; i++) {
+      journal.append(line("0123456789-" + i)).get(5, TimeUnit.SECONDS);
+    }
+
+    assertTrue(journal.segments().size() > 1, "Expected the journal to roll over to new segments");
+    for (Path segment : journal.segments()) {
+      assertTrue(Files.size(segment) <= 64);
+    }
+    assertEquals(10, readAll().size());
+  }
+
+  @Test
+  public void testRotatesWhenSegmentIsTooOld() throws Exception {
+    MutableClock clock = new MutableClock(Instant.parse("2024-07-01T10:00:00Z"));
+    journal = new LegacyStoreJournal(directory, 1024 * 1024, Duration.ofMinutes(5), 16, clock);
+
+    journal.append(line("first")).get(5, TimeUnit.SECONDS);
+    clock.now = clock.now.plus(Duration.ofMinutes(6));
+    journal.append(line("second")).get(5, TimeUnit.SECONDS);
+
+    assertEquals(2, journal.segments().size());
+  }
+
+  private List<String> readAll() throws Exception {
+    List<String> lines = new ArrayList<>();
+    for (Path segment : journal.segments()) {
+      lines.addAll(Files.readAllLines(segment, StandardCharsets.UTF_8));
+    }
+    return lines;
+  }
+
+  private static byte[] line(String content) {
+    return (content + "\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static class MutableClock extends Clock {
+    private volatile Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.fulfilment.application.monolith.warehouses.adapters;
 import com.fulfilment.application.monolith.location.LocationGateway;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -47,7 +48,9 @@ public class WarehouseConcurrencyIT {
   @BeforeEach
   @Transactional
   public void setup() {
-    createWarehouseUseCase = new CreateWarehouseUseCase(warehouseRepository, locationResolver);
+    createWarehouseUseCase =
+        new CreateWarehouseUseCase(
+            warehouseRepository, locationResolver, ValidationRejectionListener.NONE);
   }
 
   /**
@@ -4,6 +4,7 @@ import com.fulfilment.application.monolith.location.LocationGateway;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
 import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -45,7 +46,9 @@ public class WarehouseTestcontainersIT {
     // Clean database
     em.createQuery("DELETE FROM DbWarehouse").executeUpdate();
     
-    createWarehouseUseCase = new CreateWarehouseUseCase(warehouseRepository, locationResolver);
+    createWarehouseUseCase =
+        new CreateWarehouseUseCase(
+            warehouseRepository, locationResolver, ValidationRejectionListener.NONE);
   }
 
   /**
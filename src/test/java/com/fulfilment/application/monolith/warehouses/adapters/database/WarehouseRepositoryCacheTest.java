@@ -0,0 +1,110 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that warehouse writes only invalidate the touched second-level cache entry, that
+ * lookups by business unit code go through the natural-id cache, and that cache region statistics
+ * are published.
+ */
+@QuarkusTest
+public class WarehouseRepositoryCacheTest {
+
+  @Inject
+  WarehouseRepository warehouseRepository;
+
+  @Inject
+  EntityManager em;
+
+  @Inject
+  SessionFactory sessionFactory;
+
+  @BeforeEach
+  public void setup() {
+    QuarkusTransaction.requiringNew().run(() -> em.createQuery("DELETE FROM DbWarehouse").executeUpdate());
+  }
+
+  @Test
+  public void testUpdateKeepsOtherWarehousesCached() {
+    Long updatedId = create("CACHE-001");
+    Long otherId = create("CACHE-002");
+    QuarkusTransaction.requiringNew().run(() -> {
+      em.find(DbWarehouse.class, updatedId);
+      em.find(DbWarehouse.class, otherId);
+    });
+    assertTrue(sessionFactory.getCache().containsEntity(DbWarehouse.class, otherId));
+
+    QuarkusTransaction.requiringNew().run(() -> {
+      Warehouse warehouse = warehouseRepository.findByBusinessUnitCode("CACHE-001");
+      warehouse.stock = 7;
+      warehouseRepository.update(warehouse);
+    });
+
+    assertTrue(sessionFactory.getCache().containsEntity(DbWarehouse.class, otherId),
+        "Updating one warehouse must not evict the others");
+    DbWarehouse updated = QuarkusTransaction.requiringNew()
+        .call(() -> em.find(DbWarehouse.class, updatedId));
+    assertEquals(7, updated.stock);
+    assertEquals(1L, updated.version);
+  }
+
+  @Test
+  public void testBusinessUnitCodeLookupsAreServedFromTheNaturalIdCache() {
+    create("CACHE-003");
+    warehouseRepository.findByBusinessUnitCode("CACHE-003");
+
+    NaturalIdStatistics stats =
+        sessionFactory.getStatistics().getNaturalIdStatistics(DbWarehouse.class.getName());
+    long executions = stats.getExecutionCount();
+    long hits = stats.getCacheHitCount();
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals("CACHE-003", warehouseRepository.findByBusinessUnitCode("CACHE-003").businessUnitCode);
+    }
+
+    assertEquals(executions, stats.getExecutionCount(), "Lookups should not query the database");
+    assertEquals(hits + 5, stats.getCacheHitCount());
+    assertNull(warehouseRepository.findByBusinessUnitCode("CACHE-MISSING"));
+  }
+
+  @Test
+  public void testNaturalIdRegionsAreConfiguredAndPublished() {
+    assertTrue(List.of(sessionFactory.getStatistics().getSecondLevelCacheRegionNames())
+        .contains(DbWarehouse.class.getName() + "##NaturalId"));
+
+    given()
+        .when().get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("hibernate_cache_region_size"))
+        .body(containsString("region=\"" + DbWarehouse.class.getName() + "\""));
+  }
+
+  private Long create(String businessUnitCode) {
+    return QuarkusTransaction.requiringNew().call(() -> {
+      DbWarehouse warehouse = new DbWarehouse();
+      warehouse.businessUnitCode = businessUnitCode;
+      warehouse.location = "AMSTERDAM-001";
+      warehouse.capacity = 100;
+      warehouse.stock = 10;
+      warehouse.createdAt = LocalDateTime.now();
+      warehouseRepository.persist(warehouse);
+      return warehouse.id;
+    });
+  }
+}
@@ -0,0 +1,148 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseRowPage;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** The JDBC row search returns what the entity search does, and the endpoint writes it as JSON. */
+@QuarkusTest
+public class WarehouseRowSearchTest {
+
+  // not a real location, so no other test's warehouses match
+  private static final String LOCATION = "ROWS-001";
+  private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Inject EntityManager em;
+
+  @BeforeEach
+  public void setup() {
+    clean();
+    create("ROWS.1", 40, 5, null);
+    create("ROWS.2", 20, null, null);
+    create("ROWS.3", null, 3, null);
+    create("ROWS.4", 30, 1, null);
+    create("ROWS.5", 50, 2, EPOCH);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    clean();
+  }
+
+  @Test
+  public void testRowsMatchTheEntitySearch() {
+    for (SearchWarehouseQuery query :
+        List.of(
+            query(null, null, "createdAt", "asc", 0, 10),
+            query(null, null, "createdAt", "desc", 0, 2),
+            query(null, null, "createdAt", "asc", 1, 2),
+            query(25, null, "capacity", "desc", 0, 10),
+            query(null, 30, "capacity", "asc", 0, 10),
+            query(100, null, "createdAt", "asc", 0, 10))) {
+      SearchWarehouseResult expected =
+          QuarkusTransaction.requiringNew().call(() -> warehouseRepository.search(query));
+      WarehouseRowPage rows =
+          QuarkusTransaction.requiringNew().call(() -> warehouseRepository.searchRows(query));
+
+      assertEquals(expected.getTotalCount(), rows.totalCount());
+      assertEquals(columns(expected), columns(rows));
+    }
+  }
+
+  @Test
+  public void testSearchEndpointWritesTheRows() {
+    given()
+        .queryParam("location", LOCATION)
+        .queryParam("sortBy", "createdAt")
+        .when()
+        .get("warehouse/search")
+        .then()
+        .statusCode(200)
+        .body("totalCount", equalTo(4))
+        .body("page", equalTo(0))
+        .body("pageSize", equalTo(10))
+        .body("$", not(hasKey("totalPages")))
+        .body("data.businessUnitCode", contains("ROWS.1", "ROWS.2", "ROWS.3", "ROWS.4"))
+        .body("data[0].capacity", equalTo(40))
+        .body("data[0].stock", equalTo(5))
+        .body("data[1]", not(hasKey("stock")))
+        .body("data[2]", not(hasKey("capacity")))
+        .body("data[0].id", nullValue());
+  }
+
+  private void create(String code, Integer capacity, Integer stock, LocalDateTime archivedAt) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = LOCATION;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    warehouse.createdAt = EPOCH.plusMinutes(Integer.parseInt(code.substring(5)));
+    warehouse.archivedAt = archivedAt;
+    QuarkusTransaction.requiringNew().run(() -> warehouseRepository.create(warehouse));
+  }
+
+  private void clean() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                em.createQuery("DELETE FROM DbWarehouse WHERE location = :location")
+                    .setParameter("location", LOCATION)
+                    .executeUpdate());
+  }
+
+  private static SearchWarehouseQuery query(
+      Integer minCapacity, Integer maxCapacity, String sortBy, String sortOrder, int page,
+      int pageSize) {
+    return new SearchWarehouseQuery(
+        LOCATION, minCapacity, maxCapacity, sortBy, sortOrder, page, pageSize);
+  }
+
+  private static List<List<Object>> columns(SearchWarehouseResult result) {
+    List<List<Object>> columns = new ArrayList<>();
+    for (Warehouse warehouse : result.getWarehouses()) {
+      columns.add(
+          row(warehouse.businessUnitCode, warehouse.location, warehouse.capacity, warehouse.stock));
+    }
+    return columns;
+  }
+
+  private static List<List<Object>> columns(WarehouseRowPage rows) {
+    List<List<Object>> columns = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      columns.add(
+          row(
+              rows.businessUnitCode(i),
+              rows.location(i),
+              rows.hasCapacity(i) ? rows.capacity(i) : null,
+              rows.hasStock(i) ? rows.stock(i) : null));
+    }
+    return columns;
+  }
+
+  // List.of rejects nulls
+  private static List<Object> row(Object... values) {
+    return Arrays.asList(values);
+  }
+}
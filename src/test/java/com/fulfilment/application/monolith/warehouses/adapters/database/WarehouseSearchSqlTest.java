@@ -0,0 +1,60 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WarehouseSearchSqlTest {
+
+  @Test
+  void testPlaceholdersFollowTheFiltersThatAreSet() {
+    SearchWarehouseQuery query =
+        new SearchWarehouseQuery("ZWOLLE-001", null, 50, "capacity", "desc", 2, 20);
+    WarehouseSearchSql sql = WarehouseSearchSql.postgres(query);
+
+    assertEquals(" WHERE archivedAt IS NULL AND location = $1 AND capacity <= $2", sql.where());
+    assertEquals(" ORDER BY capacity DESC", sql.orderBy());
+    assertEquals(" LIMIT $3 OFFSET $4", sql.page());
+    assertEquals(List.of("ZWOLLE-001", 50), sql.parameters());
+    assertEquals(List.of("ZWOLLE-001", 50, 20, 40), sql.pageParameters());
+  }
+
+  @Test
+  void testEachLanguageGetsTheSameTextWithItsOwnPlaceholders() {
+    SearchWarehouseQuery query =
+        new SearchWarehouseQuery("ZWOLLE-001", 10, 50, "createdAt", "asc", 0, 10);
+
+    assertEquals(
+        " WHERE archivedAt IS NULL AND location = ?1 AND capacity >= ?2 AND capacity <= ?3",
+        WarehouseSearchSql.hql(query).where());
+    assertEquals(
+        " WHERE archivedAt IS NULL AND location = ? AND capacity >= ? AND capacity <= ?",
+        WarehouseSearchSql.jdbc(query).where());
+    assertEquals(" LIMIT ? OFFSET ?", WarehouseSearchSql.jdbc(query).page());
+    assertEquals(
+        WarehouseSearchSql.hql(query).parameters(), WarehouseSearchSql.jdbc(query).parameters());
+  }
+
+  @Test
+  void testWithoutFiltersOnlyActiveWarehousesAreSearched() {
+    SearchWarehouseQuery query = new SearchWarehouseQuery("", null, null, null, null, 0, 10);
+    WarehouseSearchSql sql = WarehouseSearchSql.postgres(query);
+
+    assertEquals(" WHERE archivedAt IS NULL", sql.where());
+    assertTrue(sql.parameters().isEmpty());
+    assertEquals(" ORDER BY createdAt ASC", sql.orderBy());
+    assertEquals(" LIMIT $1 OFFSET $2", sql.page());
+  }
+
+  @Test
+  void testUnknownSortFieldsFallBackToCreationTime() {
+    SearchWarehouseQuery query =
+        new SearchWarehouseQuery(null, 10, 90, "stock; DROP TABLE warehouse", "up", 0, 10);
+    WarehouseSearchSql sql = WarehouseSearchSql.postgres(query);
+
+    assertEquals(" WHERE archivedAt IS NULL AND capacity >= $1 AND capacity <= $2", sql.where());
+    assertEquals(" ORDER BY createdAt ASC", sql.orderBy());
+  }
+}
@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.warehouses.adapters.memory;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** The warehouse endpoints read, search and write the in-memory store when it is the store. */
+@QuarkusTest
+@TestProfile(InMemoryWarehouseEndpointTest.MemoryStore.class)
+public class InMemoryWarehouseEndpointTest {
+
+  public static class MemoryStore implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of("warehouse.store", "memory");
+    }
+  }
+
+  @Test
+  public void testCreateReadReplaceAndArchive() {
+    given()
+        .contentType("application/json")
+        .body(
+            "{\"businessUnitCode\":\"MEM.001\",\"location\":\"AMSTERDAM-001\","
+                + "\"capacity\":50,\"stock\":10}")
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(200);
+
+    given()
+        .when()
+        .get("warehouse/MEM.001")
+        .then()
+        .statusCode(200)
+        .body("location", equalTo("AMSTERDAM-001"))
+        .body("capacity", equalTo(50));
+    given()
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", hasItem("MEM.001"));
+    given()
+        .queryParam("location", "AMSTERDAM-001")
+        .when()
+        .get("warehouse/search")
+        .then()
+        .statusCode(200)
+        .body("totalCount", equalTo(1))
+        .body("data[0].businessUnitCode", equalTo("MEM.001"))
+        .body("data[0].stock", equalTo(10));
+
+    given()
+        .contentType("application/json")
+        .body("{\"location\":\"ZWOLLE-001\",\"capacity\":30,\"stock\":10}")
+        .when()
+        .post("warehouse/MEM.001/replacement")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", equalTo("MEM.001"))
+        .body("location", equalTo("ZWOLLE-001"))
+        .body("capacity", equalTo(30));
+
+    // the store is empty at startup, so the first warehouse created has id 1
+    given().when().delete("warehouse/1").then().statusCode(204);
+    given().when().delete("warehouse/2").then().statusCode(404);
+    given()
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", not(hasItem("MEM.001")));
+  }
+}
@@ -0,0 +1,184 @@
+package com.fulfilment.application.monolith.warehouses.adapters.memory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.SearchWarehouseUseCase;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryWarehouseStoreTest {
+
+  private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private InMemoryWarehouseStore store;
+  private CreateWarehouseUseCase create;
+  private ReplaceWarehouseUseCase replace;
+  private ArchiveWarehouseUseCase archive;
+  private SearchWarehouseUseCase search;
+
+  @BeforeEach
+  void setUp() {
+    store = new InMemoryWarehouseStore();
+    LocationGateway locations = new LocationGateway();
+    create = new CreateWarehouseUseCase(store, locations, ValidationRejectionListener.NONE);
+    replace = new ReplaceWarehouseUseCase(store, locations, ValidationRejectionListener.NONE);
+    archive = new ArchiveWarehouseUseCase(store, ValidationRejectionListener.NONE);
+    search = new SearchWarehouseUseCase(store);
+  }
+
+  @Test
+  void testUseCasesRunAgainstTheStore() {
+    create.create(warehouse("MWH.1", "AMSTERDAM-001", 80, 10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> create.create(warehouse("MWH.1", "ZWOLLE-001", 30, 10)));
+
+    replace.replace(warehouse("MWH.1", "AMSTERDAM-002", 60, 20));
+    Warehouse replaced = store.findByBusinessUnitCode("MWH.1");
+    assertEquals("AMSTERDAM-002", replaced.location);
+    assertEquals(60, replaced.capacity);
+    assertNotNull(replaced.createdAt);
+
+    archive.archive(warehouse("MWH.1", null, null, null));
+    assertNotNull(store.findByBusinessUnitCode("MWH.1").archivedAt);
+    assertTrue(store.getAll().isEmpty());
+    assertEquals(0, total(query(null, null, null, "createdAt", "asc")));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> archive.archive(warehouse("MWH.1", null, null, null)));
+  }
+
+  @Test
+  void testCallersDoNotShareInstancesWithTheStore() {
+    Warehouse warehouse = created("MWH.1", "ZWOLLE-001", 30, 1);
+    warehouse.capacity = 5;
+    store.findByBusinessUnitCode("MWH.1").capacity = 6;
+
+    assertEquals(30, store.findByBusinessUnitCode("MWH.1").capacity);
+  }
+
+  @Test
+  void testSearchFiltersSortsAndPages() {
+    created("MWH.1", "ZWOLLE-001", 30, 1);
+    created("MWH.2", "AMSTERDAM-001", 90, 1);
+    created("MWH.3", "AMSTERDAM-001", 50, 1);
+    created("MWH.4", "AMSTERDAM-001", 70, 1);
+    created("MWH.5", "TILBURG-001", 40, 1);
+
+    assertEquals(
+        List.of("MWH.1", "MWH.2", "MWH.3", "MWH.4", "MWH.5"),
+        codes(search.search(query(null, null, null, "createdAt", "asc"))));
+    assertEquals(
+        List.of("MWH.2", "MWH.4", "MWH.3", "MWH.5", "MWH.1"),
+        codes(search.search(query(null, null, null, "capacity", "DESC"))));
+    assertEquals(
+        List.of("MWH.5", "MWH.3", "MWH.4"),
+        codes(search.search(query(null, 40, 70, "capacity", "asc"))));
+    assertEquals(
+        List.of("MWH.4", "MWH.3"),
+        codes(search.search(query("AMSTERDAM-001", null, 70, "createdAt", "desc"))));
+    assertEquals(
+        List.of("MWH.2", "MWH.4"),
+        codes(search.search(query("AMSTERDAM-001", 60, null, "createdAt", "asc"))));
+    assertEquals(0, total(query("VETSBY-001", null, null, "createdAt", "asc")));
+
+    SearchWarehouseResult secondPage =
+        search.search(new SearchWarehouseQuery(null, null, null, "capacity", "asc", 1, 2));
+    assertEquals(List.of("MWH.3", "MWH.4"), codes(secondPage));
+    assertEquals(5, secondPage.getTotalCount());
+  }
+
+  @Test
+  void testReplaceMovesTheWarehouseBetweenIndexes() {
+    created("MWH.1", "ZWOLLE-001", 30, 1);
+
+    replace.replace(warehouse("MWH.1", "AMSTERDAM-001", 95, 1));
+
+    assertEquals(0, total(query("ZWOLLE-001", null, null, "capacity", "asc")));
+    assertEquals(0, total(query(null, null, 40, "capacity", "asc")));
+    assertEquals(
+        List.of("MWH.1"), codes(search.search(query("AMSTERDAM-001", 90, 100, "capacity", "asc"))));
+  }
+
+  @Test
+  void testConcurrentWritersKeepTheIndexesConsistent() throws Exception {
+    int writers = 4;
+    int perWriter = 250;
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < writers; w++) {
+        int writer = w;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < perWriter; i++) {
+                    String code = "MWH." + writer + "." + i;
+                    create.create(warehouse(code, "AMSTERDAM-001", 10 + i % 90, 1));
+                    replace.replace(warehouse(code, "AMSTERDAM-002", 10 + i % 60, 1));
+                    if (i % 5 == 0) {
+                      archive.archive(warehouse(code, null, null, null));
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    int active = writers * perWriter * 4 / 5;
+    assertEquals(writers * perWriter, store.size());
+    assertEquals(active, store.getAll().size());
+    assertEquals(active, total(query(null, 10, 100, "capacity", "asc")));
+    assertEquals(active, total(query("AMSTERDAM-002", null, null, "createdAt", "asc")));
+    assertEquals(0, total(query("AMSTERDAM-001", null, null, "capacity", "asc")));
+  }
+
+  private Warehouse created(String code, String location, int capacity, int stock) {
+    Warehouse warehouse = warehouse(code, location, capacity, stock);
+    warehouse.createdAt = EPOCH.plusMinutes(store.size());
+    store.create(warehouse);
+    return warehouse;
+  }
+
+  private long total(SearchWarehouseQuery query) {
+    return search.search(query).getTotalCount();
+  }
+
+  private static Warehouse warehouse(
+      String code, String location, Integer capacity, Integer stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+
+  private static SearchWarehouseQuery query(
+      String location, Integer minCapacity, Integer maxCapacity, String sortBy, String sortOrder) {
+    return new SearchWarehouseQuery(location, minCapacity, maxCapacity, sortBy, sortOrder, 0, 100);
+  }
+
+  private static List<String> codes(SearchWarehouseResult result) {
+    return result.getWarehouses().stream().map(w -> w.businessUnitCode).toList();
+  }
+}
@@ -0,0 +1,155 @@
+package com.fulfilment.application.monolith.warehouses.adapters.reactive;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.path.json.JsonPath;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The reactive warehouse reads against PostgreSQL answer what the blocking endpoints do. Needs
+ * Docker for the dev service: {@code mvn test -Ppostgres}.
+ */
+@QuarkusTest
+@Tag("postgres")
+@TestProfile(PgWarehouseStoreEndpointTest.ReactivePostgres.class)
+public class PgWarehouseStoreEndpointTest {
+
+  public static class ReactivePostgres implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      // an empty URL unsets the H2 one, so the dev service starts and serves JDBC and the pool
+      return Map.of(
+          "warehouse.reactive", "true",
+          "quarkus.datasource.db-kind", "postgresql",
+          "quarkus.datasource.jdbc.url", "",
+          "quarkus.datasource.devservices.enabled", "true");
+    }
+  }
+
+  private static final String LOCATION = "EINDHOVEN-001";
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Inject EntityManager em;
+
+  @BeforeEach
+  public void setup() {
+    clean();
+    create("PGR.1", 40, 5, null);
+    create("PGR.2", 20, null, null);
+    create("PGR.3", 60, 3, null);
+    create("PGR.4", 30, 1, LocalDateTime.of(2024, 6, 1, 0, 0));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    clean();
+  }
+
+  @Test
+  public void testSearchMatchesTheBlockingSearch() {
+    for (Map<String, Object> parameters :
+        List.of(
+            Map.<String, Object>of(),
+            Map.<String, Object>of("location", LOCATION),
+            Map.<String, Object>of("location", LOCATION, "sortBy", "capacity", "sortOrder", "desc"),
+            Map.<String, Object>of("minCapacity", 25, "maxCapacity", 60, "sortBy", "capacity"),
+            Map.<String, Object>of("sortOrder", "desc", "page", 1, "pageSize", 2),
+            Map.<String, Object>of("sortBy", "stock; DROP TABLE warehouse", "pageSize", 3))) {
+      JsonPath expected = search("warehouse/search", parameters);
+      JsonPath actual = search("reactive/warehouse/search", parameters);
+
+      assertEquals(expected.getInt("totalCount"), actual.getInt("totalCount"), parameters::toString);
+      assertEquals(
+          expected.getList("data.businessUnitCode"),
+          actual.getList("data.businessUnitCode"),
+          parameters::toString);
+      assertEquals(
+          expected.getList("data.capacity"), actual.getList("data.capacity"), parameters::toString);
+      assertEquals(
+          expected.getList("data.stock"), actual.getList("data.stock"), parameters::toString);
+    }
+  }
+
+  @Test
+  public void testListHasTheActiveWarehouses() {
+    List<String> expected =
+        given().when().get("warehouse").then().statusCode(200).extract().path("businessUnitCode");
+    List<String> actual =
+        given()
+            .when()
+            .get("reactive/warehouse")
+            .then()
+            .statusCode(200)
+            .body("businessUnitCode", hasItem("PGR.1"))
+            .body("businessUnitCode", not(hasItem("PGR.4")))
+            .extract()
+            .path("businessUnitCode");
+
+    assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+  }
+
+  @Test
+  public void testGetByBusinessUnitCode() {
+    given()
+        .when()
+        .get("reactive/warehouse/PGR.1")
+        .then()
+        .statusCode(200)
+        .body("location", equalTo(LOCATION))
+        .body("capacity", equalTo(40))
+        .body("stock", equalTo(5));
+
+    given().when().get("reactive/warehouse/PGR.404").then().statusCode(404);
+  }
+
+  private static JsonPath search(String path, Map<String, Object> parameters) {
+    return given()
+        .queryParams(parameters)
+        .when()
+        .get(path)
+        .then()
+        .statusCode(200)
+        .extract()
+        .jsonPath();
+  }
+
+  private void create(String code, Integer capacity, Integer stock, LocalDateTime archivedAt) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = LOCATION;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    warehouse.createdAt = LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(code.charAt(4) - '0');
+    warehouse.archivedAt = archivedAt;
+    QuarkusTransaction.requiringNew().run(() -> warehouseRepository.create(warehouse));
+  }
+
+  private void clean() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                em.createQuery("DELETE FROM DbWarehouse WHERE location = :location")
+                    .setParameter("location", LOCATION)
+                    .executeUpdate());
+  }
+}
@@ -0,0 +1,116 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseQuery;
+import com.fulfilment.application.monolith.warehouses.domain.ports.SearchWarehouseResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class WarehouseReadCoalescerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final WarehouseReadCoalescer coalescer =
+      new WarehouseReadCoalescer(Duration.ofSeconds(10), new ReadRouting(), meterRegistry);
+
+  @Test
+  void testAGetJoiningAnInFlightLoadIsCounted() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = "MWH.001";
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Warehouse> leader =
+          executor.submit(
+              () ->
+                  coalescer.findByBusinessUnitCode(
+                      "MWH.001",
+                      () -> {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        await(release);
+                        return warehouse;
+                      }));
+      assertTrue(loading.await(10, TimeUnit.SECONDS));
+      AtomicReference<Thread> followerThread = new AtomicReference<>();
+      Future<Warehouse> follower =
+          executor.submit(
+              () -> {
+                followerThread.set(Thread.currentThread());
+                return coalescer.findByBusinessUnitCode(
+                    "MWH.001",
+                    () -> {
+                      loads.incrementAndGet();
+                      return new Warehouse();
+                    });
+              });
+      // parked on the leader's load
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (followerThread.get() == null
+          || followerThread.get().getState() != Thread.State.TIMED_WAITING) {
+        assertTrue(System.nanoTime() < deadline, "the second get did not wait");
+        Thread.sleep(5);
+      }
+      release.countDown();
+
+      assertSame(warehouse, leader.get(10, TimeUnit.SECONDS));
+      assertSame(warehouse, follower.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, loads.get());
+    assertEquals(1.0, coalesced("get"));
+  }
+
+  @Test
+  void testSearchesWithDifferentParametersLoadSeparately() {
+    AtomicInteger loads = new AtomicInteger();
+    SearchWarehouseResult result = new SearchWarehouseResult(List.of(), 0, 0, 10);
+
+    coalescer.search(query("ZWOLLE-001"), () -> count(loads, result));
+    coalescer.search(query("ZWOLLE-002"), () -> count(loads, result));
+
+    assertEquals(2, loads.get());
+    assertEquals(0.0, coalesced("search"));
+  }
+
+  private double coalesced(String operation) {
+    return meterRegistry
+        .get("warehouse.reads.coalesced")
+        .tag("operation", operation)
+        .counter()
+        .count();
+  }
+
+  private static SearchWarehouseResult count(AtomicInteger loads, SearchWarehouseResult result) {
+    loads.incrementAndGet();
+    return result;
+  }
+
+  private static SearchWarehouseQuery query(String location) {
+    return new SearchWarehouseQuery(location, null, null, "capacity", "asc", 0, 10);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
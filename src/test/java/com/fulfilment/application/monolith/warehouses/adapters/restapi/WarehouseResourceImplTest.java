@@ -1,18 +1,21 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
-import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
-import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseArchivedEvent;
 import com.fulfilment.application.monolith.warehouses.domain.ports.*;
 import com.warehouse.api.beans.SearchWarehouseResponse;
 import com.warehouse.api.beans.Warehouse;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.enterprise.event.Event;
 import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
@@ -24,7 +27,7 @@ import static org.mockito.Mockito.*;
 class WarehouseResourceImplTest {
 
     @Mock
-    private WarehouseRepository warehouseRepository;
+    private WarehouseStore warehouseStore;
 
     @Mock
     private CreateWarehouseOperation createWarehouseOperation;
@@ -38,6 +41,13 @@ class WarehouseResourceImplTest {
     @Mock
     private SearchWarehouseOperation searchWarehouseOperation;
 
+    @Mock
+    private Event<WarehouseArchivedEvent> warehouseArchived;
+
+    @Spy
+    private WarehouseReadCoalescer readCoalescer =
+            new WarehouseReadCoalescer(Duration.ofSeconds(1), new ReadRouting(), new SimpleMeterRegistry());
+
     @InjectMocks
     private WarehouseResourceImpl warehouseResource;
 
@@ -49,7 +59,7 @@ class WarehouseResourceImplTest {
         domainWarehouse.capacity = 100;
         domainWarehouse.stock = 50;
 
-        when(warehouseRepository.getAll()).thenReturn(List.of(domainWarehouse));
+        when(warehouseStore.getAll()).thenReturn(List.of(domainWarehouse));
 
         List<Warehouse> result = warehouseResource.listAllWarehousesUnits();
 
@@ -94,7 +104,7 @@ class WarehouseResourceImplTest {
         com.fulfilment.application.monolith.warehouses.domain.models.Warehouse domainWarehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
         domainWarehouse.businessUnitCode = id;
 
-        when(warehouseRepository.findByBusinessUnitCode(id)).thenReturn(domainWarehouse);
+        when(warehouseStore.findByBusinessUnitCode(id)).thenReturn(domainWarehouse);
 
         Warehouse result = warehouseResource.getAWarehouseUnitByID(id);
 
@@ -105,7 +115,7 @@ class WarehouseResourceImplTest {
     @Test
     void testGetAWarehouseUnitByID_NotFound() {
         String id = "UNKNOWN";
-        when(warehouseRepository.findByBusinessUnitCode(id)).thenReturn(null);
+        when(warehouseStore.findByBusinessUnitCode(id)).thenReturn(null);
 
         WebApplicationException exception = assertThrows(WebApplicationException.class, () -> {
             warehouseResource.getAWarehouseUnitByID(id);
@@ -119,19 +129,15 @@ class WarehouseResourceImplTest {
         String idStr = "123";
         Long id = 123L;
 
-        DbWarehouse dbWarehouse = mock(DbWarehouse.class);
         com.fulfilment.application.monolith.warehouses.domain.models.Warehouse domainWarehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
-        when(dbWarehouse.toWarehouse()).thenReturn(domainWarehouse);
-
-        PanacheQuery<DbWarehouse> query = mock(PanacheQuery.class);
-        when(warehouseRepository.find("id", id)).thenReturn(query);
-        when(query.firstResult()).thenReturn(dbWarehouse);
+        when(warehouseStore.findByWarehouseId(id)).thenReturn(domainWarehouse);
 
         doNothing().when(archiveWarehouseOperation).archive(any(com.fulfilment.application.monolith.warehouses.domain.models.Warehouse.class));
 
         warehouseResource.archiveAWarehouseUnitByID(idStr);
 
         verify(archiveWarehouseOperation, times(1)).archive(any(com.fulfilment.application.monolith.warehouses.domain.models.Warehouse.class));
+        verify(warehouseArchived).fire(any(WarehouseArchivedEvent.class));
     }
 
     @Test
@@ -150,10 +156,7 @@ class WarehouseResourceImplTest {
         String idStr = "123";
         Long id = 123L;
 
-        @SuppressWarnings("unchecked")
-        PanacheQuery<DbWarehouse> query = mock(PanacheQuery.class);
-        when(warehouseRepository.find("id", id)).thenReturn(query);
-        when(query.firstResult()).thenReturn(null);
+        when(warehouseStore.findByWarehouseId(id)).thenReturn(null);
 
         WebApplicationException exception = assertThrows(WebApplicationException.class, () ->
             warehouseResource.archiveAWarehouseUnitByID(idStr)
@@ -167,14 +170,8 @@ class WarehouseResourceImplTest {
         String idStr = "123";
         Long id = 123L;
 
-        DbWarehouse dbWarehouse = mock(DbWarehouse.class);
         com.fulfilment.application.monolith.warehouses.domain.models.Warehouse domainWarehouse = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
-        when(dbWarehouse.toWarehouse()).thenReturn(domainWarehouse);
-
-        @SuppressWarnings("unchecked")
-        PanacheQuery<DbWarehouse> query = mock(PanacheQuery.class);
-        when(warehouseRepository.find("id", id)).thenReturn(query);
-        when(query.firstResult()).thenReturn(dbWarehouse);
+        when(warehouseStore.findByWarehouseId(id)).thenReturn(domainWarehouse);
 
         doThrow(new IllegalArgumentException("Cannot archive")).when(archiveWarehouseOperation).archive(any(com.fulfilment.application.monolith.warehouses.domain.models.Warehouse.class));
 
@@ -200,7 +197,7 @@ class WarehouseResourceImplTest {
         updatedWarehouse.location = "Updated Location";
 
         doNothing().when(replaceWarehouseOperation).replace(any(com.fulfilment.application.monolith.warehouses.domain.models.Warehouse.class));
-        when(warehouseRepository.findByBusinessUnitCode(businessUnitCode)).thenReturn(updatedWarehouse);
+        when(warehouseStore.findByBusinessUnitCode(businessUnitCode)).thenReturn(updatedWarehouse);
 
         Warehouse result = warehouseResource.replaceTheCurrentActiveWarehouse(businessUnitCode, input);
 
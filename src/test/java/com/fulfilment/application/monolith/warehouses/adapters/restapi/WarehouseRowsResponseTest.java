@@ -0,0 +1,90 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseRowPage;
+import com.warehouse.api.beans.SearchWarehouseResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WarehouseRowsResponseTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void testJsonIsTheJsonOfTheMappedResponse() throws Exception {
+    List<Warehouse> warehouses =
+        List.of(
+            warehouse("MWH.1", "ZWOLLE-001", 30, 5),
+            warehouse("MWH.\"2\"", "AMSTERDAM-001", null, 0),
+            warehouse("MWH.3", null, 0, null),
+            warehouse(null, "TILBURG-001", -1, Integer.MAX_VALUE));
+    WarehouseRowPage rows = new WarehouseRowPage(10, 1234);
+    List<com.warehouse.api.beans.Warehouse> mapped = new ArrayList<>();
+    for (Warehouse warehouse : warehouses) {
+      add(rows, warehouse);
+      mapped.add(WarehouseApiMapper.toResponse(warehouse));
+    }
+
+    SearchWarehouseResponse expected = WarehouseApiMapper.toSearchResponse(mapped, 1234, 3, 10);
+    WarehouseRowsResponse response = new WarehouseRowsResponse(rows, 3, 10);
+
+    assertEquals(
+        objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(response));
+
+    expected.setTotalPages(124);
+    response.setTotalPages(124);
+    assertEquals(
+        objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(response));
+  }
+
+  @Test
+  void testEmptyPage() throws Exception {
+    SearchWarehouseResponse expected = WarehouseApiMapper.toSearchResponse(List.of(), 0, 0, 10);
+    WarehouseRowsResponse response = new WarehouseRowsResponse(new WarehouseRowPage(10, 0), 0, 10);
+
+    assertEquals(
+        objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(response));
+  }
+
+  @Test
+  void testDataBuildsTheBeans() {
+    WarehouseRowPage rows = new WarehouseRowPage(2, 2);
+    add(rows, warehouse("MWH.1", "ZWOLLE-001", 30, 5));
+    add(rows, warehouse("MWH.2", "AMSTERDAM-001", null, null));
+
+    List<com.warehouse.api.beans.Warehouse> data = new WarehouseRowsResponse(rows, 0, 2).getData();
+
+    assertEquals(2, data.size());
+    assertEquals("MWH.1", data.get(0).getBusinessUnitCode());
+    assertEquals(30, data.get(0).getCapacity());
+    assertEquals(5, data.get(0).getStock());
+    assertEquals("AMSTERDAM-001", data.get(1).getLocation());
+    assertNull(data.get(1).getCapacity());
+    assertNull(data.get(1).getStock());
+  }
+
+  private static void add(WarehouseRowPage rows, Warehouse warehouse) {
+    rows.add(
+        warehouse.businessUnitCode,
+        warehouse.location,
+        warehouse.capacity == null ? 0 : warehouse.capacity,
+        warehouse.capacity != null,
+        warehouse.stock == null ? 0 : warehouse.stock,
+        warehouse.stock != null);
+  }
+
+  private static Warehouse warehouse(
+      String code, String location, Integer capacity, Integer stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = location;
+    warehouse.capacity = capacity;
+    warehouse.stock = stock;
+    return warehouse;
+  }
+}
@@ -0,0 +1,161 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.LineAllocation;
+import com.fulfilment.application.monolith.warehouses.domain.models.OrderLine;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationCandidates.StoreProduct;
+import com.fulfilment.application.monolith.warehouses.domain.ports.AllocationResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AllocateOrdersUseCaseTest {
+
+  private final WarehouseStore warehouseStore = mock(WarehouseStore.class);
+  private final Map<StoreProduct, List<String>> assignments = new HashMap<>();
+  private final AllocateOrdersUseCase useCase =
+      new AllocateOrdersUseCase(
+          warehouseStore, lines -> assignments, ValidationRejectionListener.NONE);
+
+  @Test
+  public void testLinesOfAStoreShareOneWarehouseWhenPossible() {
+    warehouses(warehouse("W1", 10), warehouse("W2", 100), warehouse("W3", 10));
+
+    AllocationResult result =
+        useCase.allocate(List.of(line(1, 5, 1), line(2, 5, 1), line(3, 5, 1)));
+
+    // W2 is the only warehouse that holds all three lines
+    assertEquals(1, result.shipments());
+    result.allocations().forEach(a -> assertEquals(Map.of("W2", 5), a.shipments()));
+  }
+
+  @Test
+  public void testLineIsSplitOnlyWhenNoWarehouseHoldsIt() {
+    warehouses(warehouse("W1", 6), warehouse("W2", 4));
+
+    LineAllocation allocation = useCase.allocate(List.of(line(1, 9, 1))).allocations().get(0);
+
+    assertEquals(Map.of("W1", 6, "W2", 3), allocation.shipments());
+    assertEquals(0, allocation.unallocated());
+  }
+
+  @Test
+  public void testShortageIsReportedAndArchivedWarehousesAreSkipped() {
+    Warehouse archived = warehouse("W2", 100);
+    archived.archivedAt = LocalDateTime.now();
+    warehouses(warehouse("W1", 3), archived);
+
+    LineAllocation allocation = useCase.allocate(List.of(line(1, 5, 1))).allocations().get(0);
+
+    assertEquals(Map.of("W1", 3), allocation.shipments());
+    assertEquals(2, allocation.unallocated());
+  }
+
+  @Test
+  public void testAssignedWarehousesRestrictTheCandidates() {
+    warehouses(warehouse("W1", 100), warehouse("W2", 100));
+    assignments.put(new StoreProduct(1L, 1L), List.of("W2"));
+
+    AllocationResult result = useCase.allocate(List.of(line(1, 5, 1), line(2, 5, 1)));
+
+    assertEquals(Map.of("W2", 5), result.allocations().get(0).shipments());
+    // the unrestricted line follows into the same shipment
+    assertEquals(Map.of("W2", 5), result.allocations().get(1).shipments());
+    assertEquals(1, result.shipments());
+  }
+
+  @Test
+  public void testParallelBatchNeverOverAllocatesStock() {
+    warehouses(warehouse("W1", 500), warehouse("W2", 300), warehouse("W3", 200));
+    List<OrderLine> lines = new ArrayList<>();
+    for (long store = 1; store <= 400; store++) {
+      lines.add(line(1, 2, store));
+      lines.add(line(2, 1, store));
+    }
+
+    AllocationResult result = useCase.allocate(lines);
+
+    Map<String, Integer> shipped = new HashMap<>();
+    int unallocated = 0;
+    for (LineAllocation allocation : result.allocations()) {
+      allocation.shipments().forEach((code, quantity) -> shipped.merge(code, quantity, Integer::sum));
+      unallocated += allocation.unallocated();
+    }
+    assertTrue(shipped.get("W1") <= 500);
+    assertTrue(shipped.get("W2") <= 300);
+    assertTrue(shipped.get("W3") <= 200);
+    // 1200 units requested, 1000 in stock
+    assertEquals(1000, shipped.values().stream().mapToInt(Integer::intValue).sum());
+    assertEquals(200, unallocated);
+    assertEquals(lines.size(), result.allocations().size());
+  }
+
+  @Test
+  public void testCompetingStoresAreAllocatedInStoreOrder() {
+    warehouses(warehouse("W1", 100), warehouse("W2", 50));
+    List<OrderLine> lines = new ArrayList<>();
+    for (long store = 1; store <= 400; store++) {
+      // the first 300 stores compete for W1, the others for W2
+      assignments.put(new StoreProduct(store, 1L), List.of(store <= 300 ? "W1" : "W2"));
+      lines.add(line(1, 1, store));
+    }
+
+    for (int run = 0; run < 5; run++) {
+      List<LineAllocation> allocations = useCase.allocate(lines).allocations();
+
+      // the stock goes to the first stores of each group, whatever the task scheduling
+      for (int i = 0; i < lines.size(); i++) {
+        Map<String, Integer> expected =
+            i < 100 ? Map.of("W1", 1) : i >= 300 && i < 350 ? Map.of("W2", 1) : Map.of();
+        assertEquals(expected, allocations.get(i).shipments(), "line " + i);
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidLineIsRejected() {
+    warehouses(warehouse("W1", 10));
+
+    assertThrows(IllegalArgumentException.class, () -> useCase.allocate(List.of(line(1, 0, 1))));
+  }
+
+  @Test
+  public void testRejectionsAreReportedToTheListener() {
+    List<String> rejections = new ArrayList<>();
+    AllocateOrdersUseCase reporting =
+        new AllocateOrdersUseCase(
+            warehouseStore,
+            lines -> assignments,
+            (operation, rule) -> rejections.add(operation + "/" + rule));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> reporting.allocate(List.of(line(1, -1, 1))));
+    assertEquals(List.of("allocate/invalid-line"), rejections);
+  }
+
+  private void warehouses(Warehouse... warehouses) {
+    when(warehouseStore.getAll()).thenReturn(List.of(warehouses));
+  }
+
+  private static Warehouse warehouse(String code, int stock) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = code;
+    warehouse.location = "AMSTERDAM-001";
+    warehouse.capacity = Math.max(stock, 1);
+    warehouse.stock = stock;
+    return warehouse;
+  }
+
+  private static OrderLine line(long product, int quantity, long store) {
+    return new OrderLine(product, quantity, store);
+  }
+}
@@ -4,6 +4,7 @@ import com.fulfilment.application.monolith.location.LocationGateway;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ValidationRejectionListener;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
@@ -51,7 +52,9 @@ public class ReplaceWarehouseUseCaseTest {
     em.createQuery("DELETE FROM DbWarehouse").executeUpdate();
 
     // Initialize use case
-    replaceWarehouseUseCase = new ReplaceWarehouseUseCase(warehouseRepository, locationResolver);
+    replaceWarehouseUseCase =
+        new ReplaceWarehouseUseCase(
+            warehouseRepository, locationResolver, ValidationRejectionListener.NONE);
   }
 
   /**